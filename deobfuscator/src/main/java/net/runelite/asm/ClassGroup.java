@@ -26,20 +26,25 @@ package net.runelite.asm;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import net.runelite.asm.attributes.Code;
 
 public class ClassGroup
 {
 	private final List<ClassFile> classes = new ArrayList<>(); // to keep order
 	private final Map<String, ClassFile> classMap = new HashMap<>();
+	private Set<Analysis> preserved = EnumSet.noneOf(Analysis.class); // analyses which are not invalidated by the running pass
+	private final Set<Analysis> valid = EnumSet.noneOf(Analysis.class); // preserved analyses which are up to date
 
 	public void addClass(ClassFile cf)
 	{
 		assert cf.getGroup() == this || cf.getGroup() == null;
 		cf.setGroup(this);
+		valid.clear();
 
 		classes.add(cf);
 		classMap.put(cf.getName(), cf);
@@ -47,6 +52,7 @@ public class ClassGroup
 
 	public void removeClass(ClassFile cf)
 	{
+		valid.clear();
 		classes.remove(cf);
 		classMap.remove(cf.getName());
 	}
@@ -56,6 +62,7 @@ public class ClassGroup
 		assert classes.contains(cf);
 		assert classMap.get(cf.getName()) == cf;
 
+		valid.clear();
 		classMap.remove(cf.getName());
 		cf.setName(newName);
 		classMap.put(cf.getName(), cf);
@@ -77,8 +84,28 @@ public class ClassGroup
 		lookup();
 	}
 
+	/**
+	 * Set which analyses the passes about to run do not invalidate. These
+	 * are only computed once, and reused until they are no longer
+	 * preserved. By default nothing is preserved, and every analysis is
+	 * recomputed each time it is requested.
+	 *
+	 * @param analyses
+	 */
+	public void preserveAnalyses(Set<Analysis> analyses)
+	{
+		preserved = EnumSet.noneOf(Analysis.class);
+		preserved.addAll(analyses);
+		valid.retainAll(preserved);
+	}
+
 	public void buildClassGraph()
 	{
+		if (valid.contains(Analysis.CLASS_GRAPH))
+		{
+			return;
+		}
+
 		for (ClassFile c : classes)
 		{
 			c.clearClassGraph();
@@ -88,10 +115,22 @@ public class ClassGroup
 		{
 			c.buildClassGraph();
 		}
+
+		// lookups resolve members through the class graph
+		valid.remove(Analysis.LOOKUP);
+		if (preserved.contains(Analysis.CLASS_GRAPH))
+		{
+			valid.add(Analysis.CLASS_GRAPH);
+		}
 	}
 
 	public void lookup()
 	{
+		if (valid.contains(Analysis.LOOKUP))
+		{
+			return;
+		}
+
 		for (ClassFile cf : this.getClasses())
 		{
 			for (Method m : cf.getMethods())
@@ -106,5 +145,10 @@ public class ClassGroup
 				code.getInstructions().lookup();
 			}
 		}
+
+		if (preserved.contains(Analysis.LOOKUP))
+		{
+			valid.add(Analysis.LOOKUP);
+		}
 	}
 }
@@ -24,14 +24,18 @@
  */
 package net.runelite.asm.execution;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 import net.runelite.asm.ClassFile;
 import net.runelite.asm.ClassGroup;
 import net.runelite.asm.Field;
@@ -48,7 +52,8 @@ public class Execution
 	private static final Logger logger = LoggerFactory.getLogger(Execution.class);
 
 	private final ClassGroup group;
-	public List<Frame> frames = new ArrayList<>(), framesOther = new ArrayList<>();
+	public List<Frame> frames = new LinkedList<>(); // frames of the method being executed
+	private final Map<Method, Deque<Frame>> framesOther = new LinkedHashMap<>(); // pending frames grouped by method, in the order the methods were first seen
 	public Set<Instruction> executed = new HashSet<>(); // executed instructions
 	private MultiValueMap<WeakInstructionContext, Method> stepInvokes = new MultiValueMap<>();
 	private Set<Method> invokes = new HashSet<>();
@@ -164,7 +169,7 @@ public class Execution
 		}
 		else
 		{
-			framesOther.add(frame);
+			framesOther.computeIfAbsent(frame.getMethod(), k -> new ArrayDeque<>()).add(frame);
 		}
 	}
 
@@ -240,12 +245,10 @@ public class Execution
 					break;
 				}
 
-				Frame begin = framesOther.remove(0);
-				frames.add(begin);
-
-				List<Frame> toMove = framesOther.stream().filter(f -> f.getMethod() == begin.getMethod()).collect(Collectors.toList());
-				frames.addAll(toMove);
-				framesOther.removeAll(toMove);
+				// move the pending frames of the next method over
+				Iterator<Deque<Frame>> it = framesOther.values().iterator();
+				frames.addAll(it.next());
+				it.remove();
 			}
 		}
 
@@ -34,7 +34,8 @@ import net.runelite.asm.Method;
 public class Stack
 {
 	private int size;
-	private final StackContext[] stack;
+	private StackContext[] stack;
+	private boolean shared; // whether stack is shared with a copy, and must be copied before writing
 
 	public Stack(int sz)
 	{
@@ -43,8 +44,10 @@ public class Stack
 	
 	public Stack(Stack other)
 	{
+		// copy on write, most copies are snapshots which are never modified
 		this.size = other.size;
-		this.stack = other.stack.clone();
+		this.stack = other.stack;
+		this.shared = other.shared = true;
 	}
 	
 	private void printStack(StackContext ctx, int level)
@@ -69,6 +72,12 @@ public class Stack
 		
 		assert !i.getType().equals(Type.VOID);
 
+		if (shared)
+		{
+			stack = stack.clone();
+			shared = false;
+		}
+
 		stack[size] = i;
 		++size;
 	}
@@ -27,21 +27,50 @@ package net.runelite.asm.objectwebasm;
 
 import net.runelite.asm.ClassFile;
 import net.runelite.asm.ClassGroup;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.objectweb.asm.ClassWriter;
 
 public class NonloadingClassWriter extends ClassWriter
 {
 	private final ClassGroup group;
+	private final ConcurrentMap<String, String> commonSuperClasses; // type1 + ' ' + type2 -> common super class
 
 	public NonloadingClassWriter(ClassGroup group, int flags)
+	{
+		this(group, flags, new ConcurrentHashMap<>());
+	}
+
+	/**
+	 * @param group
+	 * @param flags
+	 * @param commonSuperClasses cache of common super classes, which may be
+	 * shared between writers of the same group on different threads
+	 */
+	public NonloadingClassWriter(ClassGroup group, int flags, ConcurrentMap<String, String> commonSuperClasses)
 	{
 		super(flags);
 
 		this.group = group;
+		this.commonSuperClasses = commonSuperClasses;
 	}
 
 	@Override
 	protected String getCommonSuperClass(String type1, String type2)
+	{
+		String key = type1 + ' ' + type2;
+		String superClass = commonSuperClasses.get(key);
+
+		if (superClass == null)
+		{
+			superClass = findCommonSuperClass(type1, type2);
+			commonSuperClasses.put(key, superClass);
+		}
+
+		return superClass;
+	}
+
+	private String findCommonSuperClass(String type1, String type2)
 	{
 		ClassFile cf1 = group.findClass(type1),
 			cf2 = group.findClass(type2);
@@ -51,6 +51,8 @@ import net.runelite.deob.deobfuscators.arithmetic.MultiplyZeroDeobfuscator;
 import net.runelite.deob.deobfuscators.cfg.ControlFlowDeobfuscator;
 import net.runelite.deob.deobfuscators.exprargorder.ExprArgOrder;
 import net.runelite.deob.deobfuscators.menuaction.MenuActionDeobfuscator;
+import net.runelite.deob.deobfuscators.packethandler.PacketLengthFinder;
+import net.runelite.deob.deobfuscators.packethandler.PacketTypeFinder;
 import net.runelite.deob.deobfuscators.transformers.ClientErrorTransformer;
 import net.runelite.deob.deobfuscators.transformers.MaxMemoryTransformer;
 import net.runelite.deob.deobfuscators.transformers.OpcodesTransformer;
@@ -70,7 +72,7 @@ public class Deob
 	{
 		if (args == null || args.length < 2)
 		{
-			System.err.println("Syntax: input_jar output_jar");
+			System.err.println("Syntax: input_jar output_jar [packet_lengths_file]");
 			System.exit(-1);
 		}
 
@@ -79,91 +81,117 @@ public class Deob
 		Stopwatch stopwatch = Stopwatch.createStarted();
 
 		ClassGroup group = JarUtil.loadJar(new File(args[0]));
+		PassManager passes = new PassManager(group);
 
-		run(group, new ControlFlowDeobfuscator());
+		run(passes, new ControlFlowDeobfuscator());
 
-		run(group, new RenameUnique());
+		run(passes, new RenameUnique());
 
 		// remove except RuntimeException
-		run(group, new RuntimeExceptions());
+		run(passes, new RuntimeExceptions());
 
 		// remove unused methods - this leaves Code with no instructions,
 		// which is not valid, so unused methods is run after
-		run(group, new UnreachedCode());
-		run(group, new UnusedMethods());
+		run(passes, new UnreachedCode());
+		run(passes, new UnusedMethods());
 
 		// remove illegal state exceptions, frees up some parameters
-		run(group, new IllegalStateExceptions());
+		run(passes, new IllegalStateExceptions());
 
 		// remove constant logically dead parameters
-		run(group, new ConstantParameter());
+		run(passes, new ConstantParameter());
 
 		// remove unhit blocks
-		run(group, new UnreachedCode());
-		run(group, new UnusedMethods());
+		run(passes, new UnreachedCode());
+		run(passes, new UnusedMethods());
 
 		// remove unused parameters
-		run(group, new UnusedParameters());
+		run(passes, new UnusedParameters());
 
 		// remove unused fields
-		run(group, new UnusedFields());
+		run(passes, new UnusedFields());
 
-		run(group, new FieldInliner());
+		run(passes, new FieldInliner());
 
 		// order uses class name order for sorting fields/methods,
 		// so run it before removing classes below
-		run(group, new Order());
+		run(passes, new Order());
 
-		run(group, new UnusedClass());
+		run(passes, new UnusedClass());
 
-		runMath(group);
+		runMath(passes);
 
-		run(group, new ExprArgOrder());
+		run(passes, new ExprArgOrder());
 
-		run(group, new Lvt());
+		run(passes, new Lvt());
 
-		run(group, new CastNull());
+		run(passes, new CastNull());
 
-		run(group, new EnumDeobfuscator());
+		run(passes, new EnumDeobfuscator());
 
-		new OpcodesTransformer().transform(group);
-		//run(group, new PacketHandlerOrder());
-		//run(group, new PacketWriteDeobfuscator());
+		passes.run(new OpcodesTransformer());
+		//run(passes, new PacketHandlerOrder());
+		//run(passes, new PacketWriteDeobfuscator());
 
-		run(group, new MenuActionDeobfuscator());
+		run(passes, new MenuActionDeobfuscator());
 
-		new GetPathTransformer().transform(group);
-		new ClientErrorTransformer().transform(group);
-		new ReflectionTransformer().transform(group);
-		new MaxMemoryTransformer().transform(group);
-		//new RuneliteBufferTransformer().transform(group);
+		passes.run(new GetPathTransformer());
+		passes.run(new ClientErrorTransformer());
+		passes.run(new ReflectionTransformer());
+		passes.run(new MaxMemoryTransformer());
+		//passes.run(new RuneliteBufferTransformer());
+
+		passes.finish();
 
 		JarUtil.saveJar(group, new File(args[1]));
 
+		if (args.length > 2)
+		{
+			writePacketLengths(group, new File(args[2]));
+		}
+
 		stopwatch.stop();
 		logger.info("Done in {}", stopwatch);
 	}
 
+	private static void writePacketLengths(ClassGroup group, File file) throws IOException
+	{
+		PacketTypeFinder packetType = new PacketTypeFinder(group);
+		packetType.find();
+
+		PacketLengthFinder packetLength = new PacketLengthFinder(group, packetType);
+		packetLength.find();
+
+		if (packetLength.getPacketLengths() == null)
+		{
+			logger.warn("Unable to find packet lengths, not writing {}", file);
+			return;
+		}
+
+		packetLength.writePacketLengths(file);
+		logger.info("Wrote packet lengths to {}", file);
+	}
+
 	public static boolean isObfuscated(String name)
 	{
 		return name.length() <= OBFUSCATED_NAME_MAX_LEN || name.startsWith("method") || name.startsWith("vmethod") || name.startsWith("field") || name.startsWith("class");
 	}
 
-	private static void runMath(ClassGroup group)
+	private static void runMath(PassManager passes)
 	{
 		ModArith mod = new ModArith();
-		mod.run(group);
+		passes.run(mod);
 
 		int last = -1, cur;
-		while ((cur = mod.runOnce()) > 0)
+		while ((cur = passes.run(mod, mod::runOnce)) > 0)
 		{
-			new MultiplicationDeobfuscator().run(group);
+			passes.run(new MultiplicationDeobfuscator());
 
 			// do not remove 1 * field so that ModArith can detect
 			// the change in guessDecreasesConstants()
-			new MultiplyOneDeobfuscator(true).run(group);
+			passes.run(new MultiplyOneDeobfuscator(true));
 
-			new MultiplyZeroDeobfuscator().run(group);
+			passes.run(new MultiplyZeroDeobfuscator());
 
 			if (last == cur)
 			{
@@ -174,23 +202,19 @@ public class Deob
 		}
 
 		// now that modarith is done, remove field * 1
-		new MultiplyOneDeobfuscator(false).run(group);
+		passes.run(new MultiplyOneDeobfuscator(false));
 
 		mod.annotateEncryption();
 	}
 
-	private static void run(ClassGroup group, Deobfuscator deob)
+	private static void run(PassManager passes, Deobfuscator deob)
 	{
-		Stopwatch stopwatch = Stopwatch.createStarted();
-		deob.run(group);
-		stopwatch.stop();
-
-		logger.info("{} took {}", deob.getClass().getSimpleName(), stopwatch);
+		passes.run(deob);
 
 		// check code is still correct
 		if (CHECK_EXEC)
 		{
-			Execution execution = new Execution(group);
+			Execution execution = new Execution(passes.getGroup());
 			execution.populateInitialMethods();
 			execution.run();
 		}
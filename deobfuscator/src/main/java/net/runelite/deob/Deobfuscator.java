@@ -25,9 +25,34 @@
 
 package net.runelite.deob;
 
+import java.util.EnumSet;
+import java.util.Set;
+import net.runelite.asm.Analysis;
 import net.runelite.asm.ClassGroup;
 
 public interface Deobfuscator
 {
 	void run(ClassGroup group);
+
+	/**
+	 * Analyses which are computed before running this deobfuscator
+	 *
+	 * @return
+	 */
+	default Set<Analysis> requires()
+	{
+		return EnumSet.noneOf(Analysis.class);
+	}
+
+	/**
+	 * Analyses which are still valid after running this deobfuscator. This
+	 * must only include analyses that are not affected by anything the
+	 * deobfuscator changes.
+	 *
+	 * @return
+	 */
+	default Set<Analysis> preserves()
+	{
+		return EnumSet.noneOf(Analysis.class);
+	}
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.deob;
+
+import com.google.common.base.Stopwatch;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import net.runelite.asm.Analysis;
+import net.runelite.asm.ClassGroup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs deobfuscators and transformers over a class group. Analyses which a
+ * pass declares it preserves are cached on the group and reused by later
+ * passes, until a pass which does not preserve them runs. While the pass
+ * manager is in use, all changes to the group must be made through it.
+ */
+public class PassManager
+{
+	private static final Logger logger = LoggerFactory.getLogger(PassManager.class);
+
+	private final ClassGroup group;
+	private final Map<String, PassStats> stats = new LinkedHashMap<>();
+
+	private static class PassStats
+	{
+		private int runs;
+		private long nanos;
+		private long allocated;
+	}
+
+	public PassManager(ClassGroup group)
+	{
+		this.group = group;
+	}
+
+	public ClassGroup getGroup()
+	{
+		return group;
+	}
+
+	public void run(Deobfuscator deob)
+	{
+		run(deob, () ->
+		{
+			deob.run(group);
+			return 0;
+		});
+	}
+
+	/**
+	 * Run part of a deobfuscator with the analyses it declares
+	 *
+	 * @param deob
+	 * @param pass
+	 * @return the result of pass
+	 */
+	public int run(Deobfuscator deob, IntSupplier pass)
+	{
+		return run(deob.getClass().getSimpleName(), deob.requires(), deob.preserves(), pass);
+	}
+
+	public void run(Transformer transformer)
+	{
+		run(transformer.getClass().getSimpleName(), EnumSet.noneOf(Analysis.class), EnumSet.noneOf(Analysis.class), () ->
+		{
+			transformer.transform(group);
+			return 0;
+		});
+	}
+
+	private int run(String name, Set<Analysis> requires, Set<Analysis> preserves, IntSupplier pass)
+	{
+		group.preserveAnalyses(preserves);
+
+		long allocated = getAllocatedBytes();
+		Stopwatch stopwatch = Stopwatch.createStarted();
+
+		if (requires.contains(Analysis.CLASS_GRAPH))
+		{
+			group.buildClassGraph();
+		}
+		if (requires.contains(Analysis.LOOKUP))
+		{
+			group.lookup();
+		}
+
+		int result = pass.getAsInt();
+
+		stopwatch.stop();
+		allocated = getAllocatedBytes() - allocated;
+
+		logger.info("{} took {}", name, stopwatch);
+
+		PassStats s = stats.computeIfAbsent(name, k -> new PassStats());
+		++s.runs;
+		s.nanos += stopwatch.elapsed(TimeUnit.NANOSECONDS);
+		s.allocated += allocated;
+
+		return result;
+	}
+
+	/**
+	 * Stop caching analyses, and log the time and memory allocated by each
+	 * pass. Allocations are only counted on the thread running the pass.
+	 */
+	public void finish()
+	{
+		group.preserveAnalyses(EnumSet.noneOf(Analysis.class));
+
+		for (Map.Entry<String, PassStats> entry : stats.entrySet())
+		{
+			PassStats s = entry.getValue();
+			logger.info("{}: {} run(s), {} ms, {} MB allocated", entry.getKey(), s.runs,
+				TimeUnit.NANOSECONDS.toMillis(s.nanos), s.allocated / 1024 / 1024);
+		}
+	}
+
+	private static long getAllocatedBytes()
+	{
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+		if (threadMXBean instanceof com.sun.management.ThreadMXBean)
+		{
+			return ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+
+		return 0L;
+	}
+}
@@ -26,7 +26,10 @@
 package net.runelite.deob.deobfuscators;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import net.runelite.asm.Analysis;
 import net.runelite.asm.ClassGroup;
 import net.runelite.asm.attributes.code.Instruction;
 import net.runelite.asm.attributes.code.Instructions;
@@ -78,6 +81,19 @@ public class CastNull implements Deobfuscator
 		notInteresting.clear();
 	}
 	
+	@Override
+	public Set<Analysis> requires()
+	{
+		return EnumSet.of(Analysis.CLASS_GRAPH, Analysis.LOOKUP);
+	}
+
+	@Override
+	public Set<Analysis> preserves()
+	{
+		// only casts are removed
+		return EnumSet.of(Analysis.CLASS_GRAPH, Analysis.LOOKUP);
+	}
+
 	@Override
 	public void run(ClassGroup group)
 	{
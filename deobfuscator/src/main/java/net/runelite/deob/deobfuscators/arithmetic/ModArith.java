@@ -27,12 +27,14 @@ package net.runelite.deob.deobfuscators.arithmetic;
 import com.google.common.collect.ImmutableSet;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import net.runelite.asm.Analysis;
 import net.runelite.asm.ClassFile;
 import net.runelite.asm.ClassGroup;
 import net.runelite.asm.Field;
@@ -628,6 +630,19 @@ public class ModArith implements Deobfuscator
 		}
 	}
 
+	@Override
+	public Set<Analysis> requires()
+	{
+		return EnumSet.of(Analysis.CLASS_GRAPH, Analysis.LOOKUP);
+	}
+
+	@Override
+	public Set<Analysis> preserves()
+	{
+		// constants are changed, and multiplications inserted
+		return EnumSet.of(Analysis.CLASS_GRAPH, Analysis.LOOKUP);
+	}
+
 	@Override
 	public void run(ClassGroup group)
 	{
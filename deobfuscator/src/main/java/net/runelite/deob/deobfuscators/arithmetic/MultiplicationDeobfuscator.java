@@ -26,8 +26,10 @@
 package net.runelite.deob.deobfuscators.arithmetic;
 
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
+import net.runelite.asm.Analysis;
 import net.runelite.asm.ClassGroup;
 import net.runelite.asm.attributes.code.Instruction;
 import net.runelite.asm.attributes.code.instruction.types.DupInstruction;
@@ -61,6 +63,19 @@ public class MultiplicationDeobfuscator implements Deobfuscator
 	
 	private ClassGroup group;
 	
+	@Override
+	public Set<Analysis> requires()
+	{
+		return EnumSet.of(Analysis.CLASS_GRAPH, Analysis.LOOKUP);
+	}
+
+	@Override
+	public Set<Analysis> preserves()
+	{
+		// only constants and multiplications are changed
+		return EnumSet.of(Analysis.CLASS_GRAPH, Analysis.LOOKUP);
+	}
+
 	@Override
 	public void run(ClassGroup group)
 	{
@@ -24,7 +24,10 @@
  */
 package net.runelite.deob.deobfuscators.arithmetic;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import net.runelite.asm.Analysis;
 import net.runelite.asm.ClassGroup;
 import net.runelite.asm.attributes.code.Instruction;
 import net.runelite.asm.attributes.code.Instructions;
@@ -115,6 +118,19 @@ public class MultiplyOneDeobfuscator implements Deobfuscator
 		}
 	}
 
+	@Override
+	public Set<Analysis> requires()
+	{
+		return EnumSet.of(Analysis.CLASS_GRAPH, Analysis.LOOKUP);
+	}
+
+	@Override
+	public Set<Analysis> preserves()
+	{
+		// only multiplications are removed
+		return EnumSet.of(Analysis.CLASS_GRAPH, Analysis.LOOKUP);
+	}
+
 	@Override
 	public void run(ClassGroup group)
 	{
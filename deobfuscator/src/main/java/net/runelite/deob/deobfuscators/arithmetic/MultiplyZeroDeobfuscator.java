@@ -25,7 +25,10 @@
 
 package net.runelite.deob.deobfuscators.arithmetic;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import net.runelite.asm.Analysis;
 import net.runelite.asm.ClassGroup;
 import net.runelite.asm.attributes.code.Instruction;
 import net.runelite.asm.attributes.code.Instructions;
@@ -129,6 +132,19 @@ public class MultiplyZeroDeobfuscator implements Deobfuscator
 		}
 	}
 	
+	@Override
+	public Set<Analysis> requires()
+	{
+		return EnumSet.of(Analysis.CLASS_GRAPH, Analysis.LOOKUP);
+	}
+
+	@Override
+	public Set<Analysis> preserves()
+	{
+		// only multiplications are replaced with constants
+		return EnumSet.of(Analysis.CLASS_GRAPH, Analysis.LOOKUP);
+	}
+
 	@Override
 	public void run(ClassGroup group)
 	{
@@ -24,8 +24,9 @@
  */
 package net.runelite.deob.deobfuscators.mapping;
 
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.Multimap;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 import net.runelite.asm.ClassFile;
@@ -56,25 +57,49 @@ public class Mapper
 	{
 		ParallelExecutorMapping finalm = new ParallelExecutorMapping(source, target);
 
+		Stopwatch stopwatch = Stopwatch.createStarted();
 		finalm.merge(mapStaticMethods());
+		logger.info("Mapping static methods took {}", stopwatch);
+
+		stopwatch.reset().start();
 		finalm.merge(mapMethods());
+		logger.info("Mapping methods took {}", stopwatch);
 
 		finalm.reduce();
 		
 		// map unexecuted methods
+		stopwatch.reset().start();
 		mapUnexecutedMethods(finalm);
+		logger.info("Mapping unexecuted methods took {}", stopwatch);
 
 		finalm.buildClasses();
 
+		stopwatch.reset().start();
 		mapMemberMethods(finalm);
+		logger.info("Mapping member methods took {}", stopwatch);
 
+		stopwatch.reset().start();
 		new ConstructorMapper(source, target, finalm).mapConstructors();
+		logger.info("Mapping constructors took {}", stopwatch);
 		
 		finalm.reduce();
 
 		mapping = finalm;
 	}
 
+	/**
+	 * Run an execution mapper for each method against its candidates.
+	 * Each execution is independent and confined to the thread running
+	 * it, so they are run in parallel. The results are in the same order
+	 * as methods.
+	 */
+	private static List<ParallelExecutorMapping> runExecutionMappers(List<Method> methods, Multimap<Method, Method> candidates)
+	{
+		return methods.parallelStream()
+			.map(m -> new ExecutionMapper(m, candidates.get(m)).run())
+			.collect(Collectors.toList());
+	}
+
 	private ParallelExecutorMapping mapMethods()
 	{
 		MethodSignatureMapper msm = new MethodSignatureMapper();
@@ -82,13 +107,10 @@ public class Mapper
 
 		List<ParallelExecutorMapping> pmes = new ArrayList<>();
 
-		for (Method m : msm.getMap().keySet())
+		// merge in the order the methods were submitted, so the result
+		// does not depend on which execution finishes first
+		for (ParallelExecutorMapping mapping : runExecutionMappers(new ArrayList<>(msm.getMap().keySet()), msm.getMap()))
 		{
-			Collection<Method> methods = msm.getMap().get(m);
-
-			ExecutionMapper em = new ExecutionMapper(m, methods);
-
-			ParallelExecutorMapping mapping = em.run();
 			if (mapping == null)
 			{
 				continue;
@@ -117,13 +139,8 @@ public class Mapper
 
 		List<ParallelExecutorMapping> pmes = new ArrayList<>();
 
-		for (Method m : smsm.getMap().keySet())
+		for (ParallelExecutorMapping mapping : runExecutionMappers(new ArrayList<>(smsm.getMap().keySet()), smsm.getMap()))
 		{
-			Collection<Method> methods = smsm.getMap().get(m);
-
-			ExecutionMapper em = new ExecutionMapper(m, methods);
-
-			ParallelExecutorMapping mapping = em.run();
 			if (mapping == null)
 			{
 				continue;
@@ -24,6 +24,13 @@
  */
 package net.runelite.deob.deobfuscators.packethandler;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 import net.runelite.asm.ClassFile;
 import net.runelite.asm.ClassGroup;
 import net.runelite.asm.Field;
@@ -31,8 +38,12 @@ import net.runelite.asm.Method;
 import net.runelite.asm.attributes.Code;
 import net.runelite.asm.attributes.code.Instruction;
 import net.runelite.asm.attributes.code.Instructions;
+import net.runelite.asm.attributes.code.instruction.types.PushConstantInstruction;
+import net.runelite.asm.attributes.code.instructions.Dup;
 import net.runelite.asm.attributes.code.instructions.GetStatic;
 import net.runelite.asm.attributes.code.instructions.IALoad;
+import net.runelite.asm.attributes.code.instructions.IAStore;
+import net.runelite.asm.attributes.code.instructions.NewArray;
 import net.runelite.asm.attributes.code.instructions.PutStatic;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +60,7 @@ public class PacketLengthFinder
 	private GetStatic getType;
 	private IALoad load;
 	private PutStatic store;
+	private int[] packetLengths;
 
 	public PacketLengthFinder(ClassGroup group, PacketTypeFinder packetType)
 	{
@@ -81,6 +93,32 @@ public class PacketLengthFinder
 		return store;
 	}
 
+	/**
+	 * The values the packet length array is initialized with, indexed by
+	 * packet opcode. -1 is a byte sized packet and -2 a short sized packet.
+	 *
+	 * @return the packet lengths, or null if the initializer was not found
+	 */
+	public int[] getPacketLengths()
+	{
+		return packetLengths;
+	}
+
+	/**
+	 * Write the packet lengths as a single line of comma separated values,
+	 * the format the proxy reads its packet length table from
+	 *
+	 * @param file
+	 * @throws IOException
+	 */
+	public void writePacketLengths(File file) throws IOException
+	{
+		String line = Arrays.stream(packetLengths)
+			.mapToObj(Integer::toString)
+			.collect(Collectors.joining(", "));
+		Files.write(file.toPath(), Arrays.asList(line), StandardCharsets.UTF_8);
+	}
+
 	public void find()
 	{
 		for (ClassFile cf : group.getClasses())
@@ -92,6 +130,30 @@ public class PacketLengthFinder
 		}
 
 		logger.info("Found packet length: {}", packetLength);
+
+		if (getArray == null)
+		{
+			return;
+		}
+
+		for (ClassFile cf : group.getClasses())
+		{
+			for (Method method : cf.getMethods())
+			{
+				if (method.getCode() == null)
+				{
+					continue;
+				}
+
+				int[] lengths = findLengths(method.getCode().getInstructions(), getArray.getMyField());
+				if (lengths != null)
+				{
+					packetLengths = lengths;
+					logger.info("Found packet lengths: {}", Arrays.toString(lengths));
+					return;
+				}
+			}
+		}
 	}
 
 	//   getstatic             class272/field3690 [I
@@ -152,4 +214,63 @@ public class PacketLengthFinder
 			return;
 		}
 	}
+
+	//   sipush                256
+	//   newarray              int
+	//   dup
+	//   iconst_0
+	//   iconst_4
+	//   iastore
+	//   ...
+	//   putstatic             class272/field3690 [I
+	static int[] findLengths(Instructions instructions, Field array)
+	{
+		List<Instruction> ins = instructions.getInstructions();
+
+		for (int i = 1; i < ins.size(); ++i)
+		{
+			if (!(ins.get(i) instanceof NewArray) || !(ins.get(i - 1) instanceof PushConstantInstruction))
+			{
+				continue;
+			}
+
+			Object size = ((PushConstantInstruction) ins.get(i - 1)).getConstant();
+			if (!(size instanceof Number))
+			{
+				continue;
+			}
+
+			int[] lengths = new int[((Number) size).intValue()];
+			int j = i + 1;
+
+			for (; j + 3 < ins.size(); j += 4)
+			{
+				if (!(ins.get(j) instanceof Dup)
+					|| !(ins.get(j + 1) instanceof PushConstantInstruction)
+					|| !(ins.get(j + 2) instanceof PushConstantInstruction)
+					|| !(ins.get(j + 3) instanceof IAStore))
+				{
+					break;
+				}
+
+				Object index = ((PushConstantInstruction) ins.get(j + 1)).getConstant();
+				Object value = ((PushConstantInstruction) ins.get(j + 2)).getConstant();
+				if (!(index instanceof Number) || !(value instanceof Number)
+					|| ((Number) index).intValue() < 0 || ((Number) index).intValue() >= lengths.length)
+				{
+					break;
+				}
+
+				lengths[((Number) index).intValue()] = ((Number) value).intValue();
+			}
+
+			if (j < ins.size() && ins.get(j) instanceof PutStatic
+				&& ((PutStatic) ins.get(j)).getMyField() == array)
+			{
+				return lengths;
+			}
+		}
+
+		return null;
+	}
 }
@@ -24,15 +24,21 @@
  */
 package net.runelite.deob.util;
 
+import com.google.common.io.ByteStreams;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
+import java.util.stream.Collectors;
 import net.runelite.asm.ClassFile;
 import net.runelite.asm.ClassGroup;
 import net.runelite.asm.objectwebasm.NonloadingClassWriter;
@@ -51,6 +57,7 @@ public class JarUtil
 	public static ClassGroup loadJar(File jarfile) throws IOException
 	{
 		ClassGroup group = new ClassGroup();
+		List<byte[]> classes = new ArrayList<>();
 
 		try (JarFile jar = new JarFile(jarfile))
 		{
@@ -63,15 +70,22 @@ public class JarUtil
 					continue;
 				}
 
-				InputStream is = jar.getInputStream(entry);
-
-				ClassReader reader = new ClassReader(is);
-				ClassFileVisitor cv = new ClassFileVisitor();
+				try (InputStream is = jar.getInputStream(entry))
+				{
+					classes.add(ByteStreams.toByteArray(is));
+				}
+			}
+		}
 
-				reader.accept(cv, ClassReader.SKIP_FRAMES);
+		// classes are parsed independently of each other, and are added to
+		// the group in jar order
+		List<ClassFile> classFiles = classes.parallelStream()
+			.map(JarUtil::readClass)
+			.collect(Collectors.toList());
 
-				group.addClass(cv.getClassFile());
-			}
+		for (ClassFile cf : classFiles)
+		{
+			group.addClass(cf);
 		}
 
 		group.initialize();
@@ -79,18 +93,46 @@ public class JarUtil
 		return group;
 	}
 
+	private static ClassFile readClass(byte[] data)
+	{
+		ClassReader reader = new ClassReader(data);
+		ClassFileVisitor cv = new ClassFileVisitor();
+
+		reader.accept(cv, ClassReader.SKIP_FRAMES);
+
+		return cv.getClassFile();
+	}
+
 	public static void saveJar(ClassGroup group, File jarfile) throws IOException
 	{
+		saveJar(group, jarfile, true);
+	}
+
+	/**
+	 * Write a class group to a jar. Classes are written in parallel, and
+	 * stored in the jar in the order of the group.
+	 *
+	 * @param group
+	 * @param jarfile
+	 * @param validate whether to verify the data flow of each written class
+	 * @throws IOException
+	 */
+	public static void saveJar(ClassGroup group, File jarfile, boolean validate) throws IOException
+	{
+		ConcurrentMap<String, String> commonSuperClasses = new ConcurrentHashMap<>();
+
+		List<ClassFile> classFiles = group.getClasses();
+		List<byte[]> classes = classFiles.parallelStream()
+			.map(cf -> writeClass(group, cf, commonSuperClasses, validate))
+			.collect(Collectors.toList());
+
 		try (JarOutputStream jout = new JarOutputStream(new FileOutputStream(jarfile), new Manifest()))
 		{
-			for (ClassFile cf : group.getClasses())
+			for (int i = 0; i < classFiles.size(); ++i)
 			{
-				JarEntry entry = new JarEntry(cf.getName() + ".class");
+				JarEntry entry = new JarEntry(classFiles.get(i).getName() + ".class");
 				jout.putNextEntry(entry);
-
-				byte[] data = writeClass(group, cf);
-
-				jout.write(data);
+				jout.write(classes.get(i));
 				jout.closeEntry();
 			}
 		}
@@ -98,14 +140,22 @@ public class JarUtil
 
 	public static byte[] writeClass(ClassGroup group, ClassFile cf)
 	{
-		ClassWriter writer = new NonloadingClassWriter(group, ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+		return writeClass(group, cf, new ConcurrentHashMap<>(), true);
+	}
+
+	private static byte[] writeClass(ClassGroup group, ClassFile cf, ConcurrentMap<String, String> commonSuperClasses, boolean validate)
+	{
+		ClassWriter writer = new NonloadingClassWriter(group, ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS, commonSuperClasses);
 		CheckClassAdapter cca = new CheckClassAdapter(writer, false);
 
 		cf.accept(cca);
 
 		byte[] data = writer.toByteArray();
 
-		validateDataFlow(cf.getName(), data);
+		if (validate)
+		{
+			validateDataFlow(cf.getName(), data);
+		}
 
 		return data;
 	}
@@ -24,15 +24,23 @@
  */
 package net.runelite.asm.execution;
 
+import com.google.common.base.Stopwatch;
 import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
 import net.runelite.asm.ClassGroup;
 import net.runelite.deob.DeobTestProperties;
 import net.runelite.deob.util.JarUtil;
+import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class ExecutionTest
 {
+	private static final Logger logger = LoggerFactory.getLogger(ExecutionTest.class);
+
 	@Rule
 	public DeobTestProperties properties = new DeobTestProperties();
 
@@ -44,4 +52,28 @@ public class ExecutionTest
 		e.populateInitialMethods();
 		e.run();
 	}
+
+	@Test
+	@Ignore
+	public void benchmark() throws Exception
+	{
+		ClassGroup group1 = JarUtil.loadJar(new File(properties.getVanillaClient()));
+
+		for (int i = 0; i < 5; ++i)
+		{
+			System.gc();
+			MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+			long before = memory.getHeapMemoryUsage().getUsed();
+
+			Stopwatch stopwatch = Stopwatch.createStarted();
+			Execution e = new Execution(group1);
+			e.populateInitialMethods();
+			e.run();
+			stopwatch.stop();
+
+			long after = memory.getHeapMemoryUsage().getUsed();
+
+			logger.info("Execution took {}, heap grew by {} MB", stopwatch, (after - before) / 1024 / 1024);
+		}
+	}
 }
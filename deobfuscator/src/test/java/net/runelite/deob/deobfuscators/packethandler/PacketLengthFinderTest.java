@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.deob.deobfuscators.packethandler;
+
+import net.runelite.asm.ClassFile;
+import net.runelite.asm.ClassGroup;
+import net.runelite.asm.Field;
+import net.runelite.asm.Type;
+import net.runelite.asm.attributes.Code;
+import net.runelite.asm.attributes.code.Instruction;
+import net.runelite.asm.attributes.code.InstructionType;
+import net.runelite.asm.attributes.code.Instructions;
+import net.runelite.asm.attributes.code.instructions.Dup;
+import net.runelite.asm.attributes.code.instructions.IAStore;
+import net.runelite.asm.attributes.code.instructions.LDC;
+import net.runelite.asm.attributes.code.instructions.NewArray;
+import net.runelite.asm.attributes.code.instructions.PutStatic;
+import net.runelite.asm.attributes.code.instructions.SiPush;
+import net.runelite.asm.attributes.code.instructions.VReturn;
+import net.runelite.deob.ClassGroupFactory;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PacketLengthFinderTest
+{
+	private ClassGroup group;
+	private Field lengths;
+	private Field other;
+
+	@Before
+	public void before()
+	{
+		group = ClassGroupFactory.generateGroup();
+		ClassFile cf = group.findClass("test");
+
+		lengths = new Field(cf, "lengths", new Type("[I"));
+		lengths.setStatic();
+		cf.addField(lengths);
+
+		other = new Field(cf, "other", new Type("[I"));
+		other.setStatic();
+		cf.addField(other);
+	}
+
+	//   sipush 5
+	//   newarray int
+	//   dup, ldc 0, ldc 4, iastore
+	//   dup, ldc 2, ldc -1, iastore
+	//   dup, ldc 4, ldc -2, iastore
+	//   putstatic field
+	private Instructions initializer(Field field)
+	{
+		Code code = group.findClass("test").findMethod("func").getCode();
+		Instructions ins = code.getInstructions();
+
+		NewArray newArray = new NewArray(ins, InstructionType.NEWARRAY);
+		newArray.setOperand(10); // int
+
+		Instruction[] body =
+		{
+			new SiPush(ins, (short) 5),
+			newArray,
+
+			new Dup(ins),
+			new LDC(ins, 0),
+			new LDC(ins, 4),
+			new IAStore(ins, InstructionType.IASTORE),
+
+			new Dup(ins),
+			new LDC(ins, 2),
+			new LDC(ins, -1),
+			new IAStore(ins, InstructionType.IASTORE),
+
+			new Dup(ins),
+			new LDC(ins, 4),
+			new LDC(ins, -2),
+			new IAStore(ins, InstructionType.IASTORE),
+
+			new PutStatic(ins, field),
+			new VReturn(ins)
+		};
+
+		for (Instruction i : body)
+		{
+			ins.addInstruction(i);
+		}
+
+		return ins;
+	}
+
+	@Test
+	public void testFindLengths()
+	{
+		Instructions ins = initializer(lengths);
+
+		int[] found = PacketLengthFinder.findLengths(ins, lengths);
+		Assert.assertArrayEquals(new int[]
+		{
+			4, 0, -1, 0, -2
+		}, found);
+	}
+
+	@Test
+	public void testOtherArray()
+	{
+		Instructions ins = initializer(other);
+
+		Assert.assertNull(PacketLengthFinder.findLengths(ins, lengths));
+	}
+}
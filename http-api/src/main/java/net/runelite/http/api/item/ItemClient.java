@@ -73,6 +73,53 @@ public class ItemClient
 		}
 	}
 
+	/**
+	 * Look up the prices of many items in one request
+	 *
+	 * @param itemIds
+	 * @return the prices of the items which have one, or null if the
+	 * request failed
+	 * @throws IOException
+	 */
+	public ItemPrice[] lookupItemPrices(int[] itemIds) throws IOException
+	{
+		HttpUrl.Builder urlBuilder = RuneliteAPI.getApiBase().newBuilder()
+			.addPathSegment("item")
+			.addPathSegment("price");
+
+		for (int itemId : itemIds)
+		{
+			urlBuilder.addQueryParameter("id", "" + itemId);
+		}
+
+		HttpUrl url = urlBuilder.build();
+
+		logger.debug("Built URI: {}", url);
+
+		Request request = new Request.Builder()
+			.url(url)
+			.build();
+
+		Response response = RuneliteAPI.CLIENT.newCall(request).execute();
+
+		if (!response.isSuccessful())
+		{
+			logger.debug("Error looking up {} items: {}", itemIds.length, response.message());
+			response.close();
+			return null;
+		}
+
+		try (ResponseBody body = response.body())
+		{
+			InputStream in = body.byteStream();
+			return RuneliteAPI.GSON.fromJson(new InputStreamReader(in), ItemPrice[].class);
+		}
+		catch (JsonParseException ex)
+		{
+			throw new IOException(ex);
+		}
+	}
+
 	public SearchResult search(String itemName) throws IOException
 	{
 		HttpUrl url = RuneliteAPI.getApiBase().newBuilder()
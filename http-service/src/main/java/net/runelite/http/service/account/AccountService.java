@@ -35,6 +35,7 @@ import com.github.scribejava.core.model.Verb;
 import com.github.scribejava.core.oauth.OAuth20Service;
 import com.google.gson.Gson;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import javax.servlet.http.HttpServletRequest;
@@ -233,19 +234,21 @@ public class AccountService
 
 	private void notifySession(UUID uuid, String username)
 	{
-		WSSession session = SessionManager.findSession(uuid);
-		if (session == null)
+		Collection<WSSession> sessions = SessionManager.findSessions(uuid);
+		if (sessions.isEmpty())
 		{
 			logger.info("Session {} logged in - but no websocket session", uuid);
 			return;
 		}
 
-		WSService service = session.getServlet();
-
 		LoginResponse response = new LoginResponse();
 		response.setUsername(username);
 
-		service.send(response);
+		for (WSSession session : sessions)
+		{
+			WSService service = session.getServlet();
+			service.send(response);
+		}
 	}
 
 	@RequestMapping("/logout")
@@ -264,6 +267,8 @@ public class AccountService
 				.addParameter("uuid", session.getUuid().toString())
 				.executeUpdate();
 		}
+
+		auth.invalidate(session.getUuid());
 	}
 
 	@RequestMapping("/session-check")
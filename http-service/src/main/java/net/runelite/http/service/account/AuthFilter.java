@@ -24,31 +24,102 @@
  */
 package net.runelite.http.service.account;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.io.IOException;
 import net.runelite.http.service.account.beans.SessionEntry;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import net.runelite.http.api.RuneliteAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.sql2o.Connection;
+import org.sql2o.Query;
 import org.sql2o.Sql2o;
+import org.sql2o.Sql2oException;
 
 @Service
 public class AuthFilter
 {
+	private static final Logger logger = LoggerFactory.getLogger(AuthFilter.class);
+
+	/**
+	 * how long an authenticated session is trusted without checking the database
+	 */
+	private static final long SESSION_CACHE_SECONDS = 30;
+	private static final int SESSION_CACHE_SIZE = 65536;
+
+	/**
+	 * how often session last used times are written to the database
+	 */
+	private static final long FLUSH_INTERVAL_SECONDS = 60;
+
 	private final Sql2o sql2o;
 
+	private final Cache<UUID, SessionEntry> sessionCache = CacheBuilder.newBuilder()
+		.expireAfterWrite(SESSION_CACHE_SECONDS, TimeUnit.SECONDS)
+		.maximumSize(SESSION_CACHE_SIZE)
+		.build();
+
+	/**
+	 * last used times not yet written to the database
+	 */
+	private final Map<UUID, Instant> lastUsed = new ConcurrentHashMap<>();
+
+	private ScheduledExecutorService executor;
+
 	@Autowired
 	public AuthFilter(@Qualifier("Runelite SQL2O") Sql2o sql2o)
 	{
 		this.sql2o = sql2o;
 	}
 
+	@PostConstruct
+	public void start()
+	{
+		executor = Executors.newSingleThreadScheduledExecutor(r ->
+		{
+			Thread thread = new Thread(r, "Session last used flusher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.scheduleWithFixedDelay(() ->
+		{
+			try
+			{
+				flush();
+			}
+			catch (RuntimeException ex)
+			{
+				logger.warn("unable to flush session last used times", ex);
+			}
+		}, FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+	}
+
+	@PreDestroy
+	public void stop()
+	{
+		if (executor != null)
+		{
+			executor.shutdownNow();
+		}
+		flush();
+	}
+
 	public SessionEntry handle(HttpServletRequest request, HttpServletResponse response) throws IOException
 	{
 		String runeliteAuth = request.getHeader(RuneliteAPI.RUNELITE_AUTH);
@@ -60,28 +131,86 @@ public class AuthFilter
 
 		UUID uuid = UUID.fromString(runeliteAuth);
 
-		try (Connection con = sql2o.open())
+		SessionEntry cached = sessionCache.getIfPresent(uuid);
+		if (cached == null)
 		{
-			SessionEntry sessionEntry = con.createQuery("select user, uuid, created from sessions where uuid = :uuid")
-				.addParameter("uuid", uuid.toString())
-				.executeAndFetchFirst(SessionEntry.class);
+			try (Connection con = sql2o.open())
+			{
+				cached = con.createQuery("select user, uuid, created from sessions where uuid = :uuid")
+					.addParameter("uuid", uuid.toString())
+					.executeAndFetchFirst(SessionEntry.class);
+			}
 
-			if (sessionEntry == null)
+			if (cached == null)
 			{
 				response.sendError(401, "Access denied");
 				return null;
 			}
 
-			Instant now = Instant.now();
+			sessionCache.put(uuid, cached);
+		}
+
+		Instant now = Instant.now();
+		lastUsed.put(uuid, now);
 
-			con.createQuery("update sessions set last_used = :last_used where uuid = :uuid")
-				.addParameter("last_used", Timestamp.from(now))
-				.addParameter("uuid", uuid.toString())
-				.executeUpdate();
+		SessionEntry sessionEntry = new SessionEntry();
+		sessionEntry.setUser(cached.getUser());
+		sessionEntry.setUuid(cached.getUuid());
+		sessionEntry.setCreated(cached.getCreated());
+		sessionEntry.setLastUsed(now);
+		return sessionEntry;
+	}
 
-			sessionEntry.setLastUsed(now);
+	/**
+	 * Forget a session, after it has been deleted
+	 * @param uuid
+	 */
+	public void invalidate(UUID uuid)
+	{
+		sessionCache.invalidate(uuid);
+		lastUsed.remove(uuid);
+	}
 
-			return sessionEntry;
+	/**
+	 * Write pending last used times to the database in one batch
+	 */
+	void flush()
+	{
+		if (lastUsed.isEmpty())
+		{
+			return;
+		}
+
+		Map<UUID, Instant> flushing = new HashMap<>();
+		for (UUID uuid : lastUsed.keySet())
+		{
+			Instant time = lastUsed.remove(uuid);
+			if (time != null)
+			{
+				flushing.put(uuid, time);
+			}
+		}
+
+		try (Connection con = sql2o.beginTransaction())
+		{
+			Query query = con.createQuery("update sessions set last_used = :last_used where uuid = :uuid");
+
+			for (Map.Entry<UUID, Instant> entry : flushing.entrySet())
+			{
+				query
+					.addParameter("last_used", Timestamp.from(entry.getValue()))
+					.addParameter("uuid", entry.getKey().toString())
+					.addToBatch();
+			}
+
+			query.executeBatch();
+			con.commit();
+		}
+		catch (Sql2oException ex)
+		{
+			// keep the times for the next flush, unless the session was used again since
+			flushing.forEach((uuid, time) -> lastUsed.merge(uuid, time, (a, b) -> a.isAfter(b) ? a : b));
+			throw ex;
 		}
 	}
 
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.cache;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import net.runelite.cache.client.DownloadWatcher;
+import net.runelite.cache.fs.Archive;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Uploads downloaded archives to the object store, keyed by the sha256 of
+ * their data. Archives are hashed once, on submission, and archives whose
+ * data is already known to be in the store are not submitted at all.
+ * Submission blocks once too many uploads are pending, which throttles the
+ * cache download to the rate the store can accept.
+ */
+public class ArchiveUploader implements DownloadWatcher
+{
+	private static final Logger logger = LoggerFactory.getLogger(ArchiveUploader.class);
+
+	private final ObjectStore objectStore;
+	/**
+	 * paths known to be in the object store, or being uploaded to it
+	 */
+	private final Set<String> known;
+	private final ExecutorService executor;
+	private final Semaphore pending;
+	private final Map<Archive, byte[]> hashes = Collections.synchronizedMap(new IdentityHashMap<>());
+
+	private final Stopwatch stopwatch = Stopwatch.createStarted();
+	private final AtomicInteger queued = new AtomicInteger();
+	private final LongAdder submitted = new LongAdder();
+	private final LongAdder deduplicated = new LongAdder();
+	private final LongAdder present = new LongAdder();
+	private final LongAdder uploaded = new LongAdder();
+	private final LongAdder uploadedBytes = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final AtomicInteger maxQueued = new AtomicInteger();
+
+	/**
+	 * @param objectStore store to upload to
+	 * @param known set of paths known to be in the store, shared between uploaders
+	 * @param threads number of concurrent uploads
+	 * @param maxPending number of uploads which may be pending before submission blocks
+	 */
+	public ArchiveUploader(ObjectStore objectStore, Set<String> known, int threads, int maxPending)
+	{
+		this.objectStore = objectStore;
+		this.known = known;
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+		// don't keep idle threads around if the uploader is abandoned
+		executor.allowCoreThreadTimeOut(true);
+		this.executor = executor;
+		this.pending = new Semaphore(maxPending);
+	}
+
+	@Override
+	public void downloadComplete(Archive archive)
+	{
+		submitted.increment();
+
+		byte[] data = archive.getData();
+		byte[] hash = Hashing.sha256().hashBytes(data).asBytes();
+		hashes.put(archive, hash);
+
+		String path = getPath(hash);
+		if (!known.add(path))
+		{
+			deduplicated.increment();
+			return;
+		}
+
+		pending.acquireUninterruptibly();
+
+		maxQueued.accumulateAndGet(queued.incrementAndGet(), Math::max);
+
+		try
+		{
+			executor.execute(() ->
+			{
+				try
+				{
+					upload(path, data);
+				}
+				finally
+				{
+					queued.decrementAndGet();
+					pending.release();
+				}
+			});
+		}
+		catch (RejectedExecutionException ex)
+		{
+			queued.decrementAndGet();
+			pending.release();
+			known.remove(path);
+			throw ex;
+		}
+	}
+
+	private void upload(String path, byte[] data)
+	{
+		boolean stored = false;
+		try
+		{
+			if (objectStore.exists(path))
+			{
+				present.increment();
+				stored = true;
+				return;
+			}
+
+			objectStore.put(path, data);
+			uploaded.increment();
+			uploadedBytes.add(data.length);
+			stored = true;
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			logger.warn("unable to upload data to store", ex);
+			failed.increment();
+		}
+		finally
+		{
+			if (!stored)
+			{
+				// let a later update retry it
+				known.remove(path);
+			}
+		}
+	}
+
+	/**
+	 * Get the sha256 of the data of an archive. Archives submitted to the
+	 * uploader are not rehashed.
+	 * @param archive
+	 * @return
+	 */
+	public byte[] getHash(Archive archive)
+	{
+		byte[] hash = hashes.get(archive);
+		if (hash == null)
+		{
+			hash = Hashing.sha256().hashBytes(archive.getData()).asBytes();
+		}
+		return hash;
+	}
+
+	/**
+	 * Wait for all submitted uploads to complete, and shut down the uploader
+	 * @throws InterruptedException
+	 */
+	public void awaitTermination() throws InterruptedException
+	{
+		executor.shutdown();
+		while (!executor.awaitTermination(1, TimeUnit.SECONDS))
+		{
+			logger.debug("Waiting for {} uploads to complete...", queued.get());
+		}
+		stopwatch.stop();
+	}
+
+	public static String getPath(byte[] hash)
+	{
+		String hashStr = BaseEncoding.base16().encode(hash);
+		return new StringBuilder()
+			.append(hashStr.substring(0, 2))
+			.append('/')
+			.append(hashStr.substring(2))
+			.toString();
+	}
+
+	public int getQueued()
+	{
+		return queued.get();
+	}
+
+	public int getMaxQueued()
+	{
+		return maxQueued.get();
+	}
+
+	public long getSubmitted()
+	{
+		return submitted.sum();
+	}
+
+	public long getDeduplicated()
+	{
+		return deduplicated.sum();
+	}
+
+	public long getPresent()
+	{
+		return present.sum();
+	}
+
+	public long getUploaded()
+	{
+		return uploaded.sum();
+	}
+
+	public long getUploadedBytes()
+	{
+		return uploadedBytes.sum();
+	}
+
+	public long getFailed()
+	{
+		return failed.sum();
+	}
+
+	@Override
+	public String toString()
+	{
+		long millis = Math.max(1, stopwatch.elapsed(TimeUnit.MILLISECONDS));
+		return "ArchiveUploader{" + "submitted=" + getSubmitted() + ", deduplicated=" + getDeduplicated()
+			+ ", present=" + getPresent() + ", uploaded=" + getUploaded() + ", failed=" + getFailed()
+			+ ", queued=" + getQueued() + ", maxQueued=" + getMaxQueued()
+			+ ", uploads/s=" + (getUploaded() * 1000L / millis)
+			+ ", KiB/s=" + (getUploadedBytes() * 1000L / 1024L / millis) + '}';
+	}
+}
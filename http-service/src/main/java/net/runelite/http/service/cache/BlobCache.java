@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.cache;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A read-through cache of archive data in front of the object store.
+ * Archive data is addressed by its sha256 and so never changes once
+ * stored, which lets it be cached without invalidation. The first tier
+ * is an LRU on the heap bounded by size in bytes, the second an optional
+ * directory on local disk.
+ */
+public class BlobCache
+{
+	private static final Logger logger = LoggerFactory.getLogger(BlobCache.class);
+
+	private final ObjectStore objectStore;
+	private final Path directory;
+	private final LoadingCache<String, byte[]> cache;
+
+	/**
+	 * @param objectStore store to read through to
+	 * @param maxBytes maximum size of the data held on the heap
+	 * @param directory directory for the disk tier, or null for none
+	 */
+	public BlobCache(ObjectStore objectStore, long maxBytes, Path directory)
+	{
+		this.objectStore = objectStore;
+		this.directory = directory;
+		this.cache = CacheBuilder.newBuilder()
+			.maximumWeight(maxBytes)
+			.weigher((String path, byte[] data) -> data.length)
+			.recordStats()
+			.build(new CacheLoader<String, byte[]>()
+			{
+				@Override
+				public byte[] load(String path) throws IOException
+				{
+					return fetch(path);
+				}
+			});
+	}
+
+	/**
+	 * retrieve data by its hash
+	 * @param hash sha256 of the data
+	 * @return the data, or null if it is not in the object store
+	 * @throws IOException
+	 */
+	public byte[] get(byte[] hash) throws IOException
+	{
+		try
+		{
+			return cache.get(ArchiveUploader.getPath(hash));
+		}
+		catch (ExecutionException | UncheckedExecutionException ex)
+		{
+			if (ex.getCause() instanceof FileNotFoundException)
+			{
+				return null;
+			}
+			if (ex.getCause() instanceof IOException)
+			{
+				throw (IOException) ex.getCause();
+			}
+			throw new IOException(ex.getCause());
+		}
+	}
+
+	public CacheStats getStats()
+	{
+		return cache.stats();
+	}
+
+	private byte[] fetch(String path) throws IOException
+	{
+		Path file = directory != null ? directory.resolve(path) : null;
+		if (file != null)
+		{
+			try
+			{
+				return Files.readAllBytes(file);
+			}
+			catch (NoSuchFileException ex)
+			{
+				// not on disk yet
+			}
+		}
+
+		byte[] data = objectStore.get(path);
+		if (data == null)
+		{
+			throw new FileNotFoundException(path);
+		}
+
+		if (file != null)
+		{
+			try
+			{
+				// write to a temporary file first so a partial file is never read
+				Files.createDirectories(file.getParent());
+				Path tmp = Files.createTempFile(file.getParent(), null, ".tmp");
+				try
+				{
+					Files.write(tmp, data);
+					Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+				}
+				finally
+				{
+					Files.deleteIfExists(tmp);
+				}
+			}
+			catch (IOException ex)
+			{
+				logger.warn("unable to write {} to disk cache", path, ex);
+			}
+		}
+
+		return data;
+	}
+}
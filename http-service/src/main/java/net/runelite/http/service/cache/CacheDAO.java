@@ -25,17 +25,24 @@
 package net.runelite.http.service.cache;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.ListIterator;
 import net.runelite.cache.IndexType;
 import net.runelite.http.service.cache.beans.ArchiveEntry;
 import net.runelite.http.service.cache.beans.CacheEntry;
 import net.runelite.http.service.cache.beans.FileEntry;
+import net.runelite.http.service.cache.beans.IndexArchiveEntry;
 import net.runelite.http.service.cache.beans.IndexEntry;
 import org.sql2o.Connection;
 import org.sql2o.Query;
+import org.sql2o.ResultSetIterable;
 
 public class CacheDAO
 {
+	// number of rows sent per batch for bulk inserts
+	private static final int BATCH_SIZE = 1024;
+
 	// cache prepared statements for high volume queries
 	private Query associateArchive;
 	private Query findArchive, insertArchive;
@@ -135,6 +142,41 @@ public class CacheDAO
 			.executeAndFetchFirst(ArchiveEntry.class);
 	}
 
+	/**
+	 * Finds the archives of an index of a cache with any of the given name hashes
+	 */
+	public List<ArchiveEntry> findArchivesByName(Connection con, CacheEntry cache, IndexType index, Collection<Integer> nameHashes)
+	{
+		StringBuilder in = new StringBuilder();
+		for (int i = 0; i < nameHashes.size(); ++i)
+		{
+			if (i > 0)
+			{
+				in.append(", ");
+			}
+			in.append(":nameHash").append(i);
+		}
+
+		Query query = con.createQuery("select archive.id, archive.archiveId, archive.nameHash," +
+			" archive.crc, archive.revision, archive.hash from archive "
+			+ "join index_archive on index_archive.archive = archive.id "
+			+ "join `index` on index.id = index_archive.index "
+			+ "join cache_index on cache_index.index = index.id "
+			+ "where cache_index.cache = :cacheId "
+			+ "and index.indexId = :indexId "
+			+ "and archive.nameHash in (" + in + ")")
+			.addParameter("cacheId", cache.getId())
+			.addParameter("indexId", index.getNumber());
+
+		int i = 0;
+		for (int nameHash : nameHashes)
+		{
+			query.addParameter("nameHash" + i++, nameHash);
+		}
+
+		return query.executeAndFetch(ArchiveEntry.class);
+	}
+
 	public List<FileEntry> findFilesForArchive(Connection con, ArchiveEntry archiveEntry)
 	{
 		if (findFilesForArchive == null)
@@ -148,6 +190,53 @@ public class CacheDAO
 			.executeAndFetch(FileEntry.class);
 	}
 
+	/**
+	 * Streams every archive of every index of a cache in a single query,
+	 * ordered by index and then by the order the archives were saved in.
+	 * Each row's id is the archive row id, its index is the index row id.
+	 */
+	public ResultSetIterable<IndexArchiveEntry> findArchivesForCache(Connection con, CacheEntry cache)
+	{
+		return con.createQuery("select index_archive.index, archive.id, archive.archiveId, archive.nameHash,"
+			+ " archive.crc, archive.revision, archive.hash from cache_index "
+			+ "join index_archive on index_archive.index = cache_index.index "
+			+ "join archive on archive.id = index_archive.archive "
+			+ "where cache_index.cache = :cache "
+			+ "order by index_archive.index asc, index_archive.id asc")
+			.addParameter("cache", cache.getId())
+			.executeAndFetchLazy(IndexArchiveEntry.class);
+	}
+
+	/**
+	 * Streams every file of every archive of a cache in a single query.
+	 * Each row's archiveId is the archive row id.
+	 */
+	public ResultSetIterable<FileEntry> findFilesForCache(Connection con, CacheEntry cache)
+	{
+		return con.createQuery("select file.id, file.archive as archiveId, file.fileId, file.nameHash from cache_index "
+			+ "join index_archive on index_archive.index = cache_index.index "
+			+ "join file on file.archive = index_archive.archive "
+			+ "where cache_index.cache = :cache "
+			+ "order by file.id asc")
+			.addParameter("cache", cache.getId())
+			.executeAndFetchLazy(FileEntry.class);
+	}
+
+	/**
+	 * Finds every archive which has ever been associated to an index with
+	 * the given index id, from any cache.
+	 */
+	public List<ArchiveEntry> findArchivesForIndexId(Connection con, int indexId)
+	{
+		return con.createQuery("select distinct archive.id, archive.archiveId, archive.nameHash,"
+			+ " archive.crc, archive.revision, archive.hash from `index` "
+			+ "join index_archive on index_archive.index = index.id "
+			+ "join archive on archive.id = index_archive.archive "
+			+ "where index.indexId = :indexId")
+			.addParameter("indexId", indexId)
+			.executeAndFetch(ArchiveEntry.class);
+	}
+
 	public CacheEntry createCache(Connection con, int revision, Instant date)
 	{
 		int cacheId = con.createQuery("insert into cache (revision, date) values (:revision, :date)")
@@ -300,4 +389,116 @@ public class CacheDAO
 			.addParameter("nameHash", nameHash)
 			.executeUpdate();
 	}
+
+	/**
+	 * Inserts the given archives in batches, and sets the id of each
+	 * entry to its generated key.
+	 */
+	public void createArchives(Connection con, List<ArchiveEntry> archives)
+	{
+		if (archives.isEmpty())
+		{
+			return;
+		}
+
+		Query query = con.createQuery("insert into archive (archiveId, nameHash, crc, revision, hash) values "
+			+ "(:archiveId, :nameHash, :crc, :revision, :hash)", true);
+		ListIterator<ArchiveEntry> keyed = archives.listIterator();
+		int batched = 0;
+
+		for (ArchiveEntry archive : archives)
+		{
+			query
+				.addParameter("archiveId", archive.getArchiveId())
+				.addParameter("nameHash", archive.getNameHash())
+				.addParameter("crc", archive.getCrc())
+				.addParameter("revision", archive.getRevision())
+				.addParameter("hash", archive.getHash())
+				.addToBatch();
+
+			if (++batched == BATCH_SIZE)
+			{
+				setKeys(query.executeBatch(), keyed);
+				batched = 0;
+			}
+		}
+
+		if (batched > 0)
+		{
+			setKeys(query.executeBatch(), keyed);
+		}
+	}
+
+	private static void setKeys(Connection con, ListIterator<ArchiveEntry> archives)
+	{
+		for (Integer key : con.getKeys(Integer.class))
+		{
+			archives.next().setId(key);
+		}
+	}
+
+	/**
+	 * Inserts the given files in batches. The archiveId of each entry
+	 * is the row id of the archive it belongs to.
+	 */
+	public void associateFilesToArchives(Connection con, List<FileEntry> files)
+	{
+		if (files.isEmpty())
+		{
+			return;
+		}
+
+		Query query = con.createQuery("insert into file (archive, fileId, nameHash) values (:archive, :fileId, :nameHash)");
+		int batched = 0;
+
+		for (FileEntry file : files)
+		{
+			query
+				.addParameter("archive", file.getArchiveId())
+				.addParameter("fileId", file.getFileId())
+				.addParameter("nameHash", file.getNameHash())
+				.addToBatch();
+
+			if (++batched == BATCH_SIZE)
+			{
+				query.executeBatch();
+				batched = 0;
+			}
+		}
+
+		if (batched > 0)
+		{
+			query.executeBatch();
+		}
+	}
+
+	public void associateArchivesToIndex(Connection con, List<ArchiveEntry> archives, IndexEntry index)
+	{
+		if (archives.isEmpty())
+		{
+			return;
+		}
+
+		Query query = con.createQuery("insert into index_archive (`index`, archive) values (:index, :archive)");
+		int batched = 0;
+
+		for (ArchiveEntry archive : archives)
+		{
+			query
+				.addParameter("index", index.getId())
+				.addParameter("archive", archive.getId())
+				.addToBatch();
+
+			if (++batched == BATCH_SIZE)
+			{
+				query.executeBatch();
+				batched = 0;
+			}
+		}
+
+		if (batched > 0)
+		{
+			query.executeBatch();
+		}
+	}
 }
@@ -25,22 +25,15 @@
 package net.runelite.http.service.cache;
 
 import com.google.common.io.BaseEncoding;
-import com.google.common.io.ByteStreams;
 import io.minio.MinioClient;
-import io.minio.errors.ErrorResponseException;
-import io.minio.errors.InsufficientDataException;
-import io.minio.errors.InternalException;
-import io.minio.errors.InvalidArgumentException;
-import io.minio.errors.InvalidBucketNameException;
 import io.minio.errors.InvalidEndpointException;
 import io.minio.errors.InvalidPortException;
-import io.minio.errors.NoResponseException;
 import java.io.IOException;
-import java.io.InputStream;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.stream.Collectors;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import net.runelite.cache.ConfigType;
 import net.runelite.cache.IndexType;
 import net.runelite.cache.definitions.ItemDefinition;
@@ -56,6 +49,7 @@ import net.runelite.cache.fs.jagex.DataFileReadResult;
 import net.runelite.http.api.cache.Cache;
 import net.runelite.http.api.cache.CacheArchive;
 import net.runelite.http.api.cache.CacheIndex;
+import net.runelite.http.service.util.ETagUtil;
 import net.runelite.http.service.util.exception.NotFoundException;
 import net.runelite.http.service.cache.beans.ArchiveEntry;
 import net.runelite.http.service.cache.beans.CacheEntry;
@@ -72,7 +66,6 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.sql2o.Connection;
 import org.sql2o.Sql2o;
-import org.xmlpull.v1.XmlPullParserException;
 
 @RestController
 @RequestMapping("/cache")
@@ -84,19 +77,22 @@ public class CacheService
 	@Qualifier("Runelite Cache SQL2O")
 	private Sql2o sql2o;
 
-	@Value("${minio.bucket}")
-	private String minioBucket;
-	
 	private final MinioClient minioClient;
+	private final BlobCache blobCache;
 
 	@Autowired
 	public CacheService(
 		@Value("${minio.endpoint}") String minioEndpoint,
 		@Value("${minio.accesskey}") String accessKey,
-		@Value("${minio.secretkey}") String secretKey
+		@Value("${minio.secretkey}") String secretKey,
+		@Value("${minio.bucket}") String minioBucket,
+		@Value("${cache.blob.heap:67108864}") long blobHeapBytes,
+		@Value("${cache.blob.directory:}") String blobDirectory
 	) throws InvalidEndpointException, InvalidPortException
 	{
 		this.minioClient = new MinioClient(minioEndpoint, accessKey, secretKey);
+		this.blobCache = new BlobCache(new MinioObjectStore(minioClient, minioBucket), blobHeapBytes,
+			blobDirectory.isEmpty() ? null : Paths.get(blobDirectory));
 	}
 
 	@Bean
@@ -108,28 +104,12 @@ public class CacheService
 	/**
 	 * retrieve archive from storage
 	 * @param archiveEntry
-	 * @return
+	 * @return the archive data, or null if it is not in storage
+	 * @throws IOException if storage can't be read
 	 */
-	public byte[] getArchive(ArchiveEntry archiveEntry)
+	public byte[] getArchive(ArchiveEntry archiveEntry) throws IOException
 	{
-		String hashStr = BaseEncoding.base16().encode(archiveEntry.getHash());
-		String path = new StringBuilder()
-			.append(hashStr.substring(0, 2))
-			.append('/')
-			.append(hashStr.substring(2))
-			.toString();
-
-		try (InputStream in = minioClient.getObject(minioBucket, path))
-		{
-			return ByteStreams.toByteArray(in);
-		}
-		catch (InvalidBucketNameException | NoSuchAlgorithmException | InsufficientDataException
-			| IOException | InvalidKeyException | NoResponseException | XmlPullParserException
-			| ErrorResponseException | InternalException | InvalidArgumentException ex)
-		{
-			logger.warn(null, ex);
-			return null;
-		}
+		return blobCache.get(archiveEntry.getHash());
 	}
 
 	private ArchiveFiles getArchiveFiles(IndexType index, ConfigType config,
@@ -263,11 +243,13 @@ public class CacheService
 	}
 
 	@RequestMapping("{cacheId}/{indexId}/{archiveId}/data")
-	public byte[] getArchiveData(
+	public void getArchiveData(
+		HttpServletRequest request,
+		HttpServletResponse response,
 		@PathVariable int cacheId,
 		@PathVariable int indexId,
 		@PathVariable int archiveId
-	)
+	) throws IOException
 	{
 		ArchiveEntry archiveEntry;
 		try (Connection con = sql2o.open())
@@ -286,9 +268,31 @@ public class CacheService
 			}
 
 			archiveEntry = cacheDao.findArchiveForIndex(con, indexEntry, archiveId);
+			if (archiveEntry == null)
+			{
+				throw new NotFoundException();
+			}
+		}
+
+		// archive data is addressed by its hash, so the hash is a strong etag
+		String etag = '"' + BaseEncoding.base16().encode(archiveEntry.getHash()) + '"';
+		response.setHeader("ETag", etag);
+
+		if (ETagUtil.isNotModified(request, etag))
+		{
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+
+		byte[] data = getArchive(archiveEntry);
+		if (data == null)
+		{
+			throw new NotFoundException();
 		}
 
-		return getArchive(archiveEntry);
+		response.setContentType("application/octet-stream");
+		response.setContentLength(data.length);
+		response.getOutputStream().write(data);
 	}
 
 	@RequestMapping("item/{itemId}")
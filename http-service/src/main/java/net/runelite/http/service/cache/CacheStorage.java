@@ -26,7 +26,11 @@ package net.runelite.http.service.cache;
 
 import com.google.common.hash.Hashing;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.FSFile;
 import net.runelite.cache.fs.Index;
@@ -35,14 +39,17 @@ import net.runelite.cache.fs.Store;
 import net.runelite.http.service.cache.beans.ArchiveEntry;
 import net.runelite.http.service.cache.beans.CacheEntry;
 import net.runelite.http.service.cache.beans.FileEntry;
+import net.runelite.http.service.cache.beans.IndexArchiveEntry;
 import net.runelite.http.service.cache.beans.IndexEntry;
 import org.sql2o.Connection;
+import org.sql2o.ResultSetIterable;
 
 public class CacheStorage implements Storage
 {
 	private CacheEntry cacheEntry;
 	private final CacheDAO cacheDao;
 	private final Connection con;
+	private Function<Archive, byte[]> hasher = archive -> Hashing.sha256().hashBytes(archive.getData()).asBytes();
 
 	public CacheStorage(CacheEntry cacheEntry, CacheDAO cacheDao, Connection con)
 	{
@@ -61,6 +68,16 @@ public class CacheStorage implements Storage
 		this.cacheEntry = cacheEntry;
 	}
 
+	/**
+	 * Set the function used to hash the data of new archives, so hashes
+	 * already computed elsewhere can be reused
+	 * @param hasher
+	 */
+	public void setHasher(Function<Archive, byte[]> hasher)
+	{
+		this.hasher = hasher;
+	}
+
 	@Override
 	public void init(Store store) throws IOException
 	{
@@ -74,28 +91,38 @@ public class CacheStorage implements Storage
 	@Override
 	public void load(Store store) throws IOException
 	{
-		List<IndexEntry> indexes = cacheDao.findIndexesForCache(con, cacheEntry);
-		for (IndexEntry indexEntry : indexes)
+		Map<Integer, Index> indexes = new HashMap<>();
+		for (IndexEntry indexEntry : cacheDao.findIndexesForCache(con, cacheEntry))
 		{
 			Index index = store.addIndex(indexEntry.getIndexId());
 			index.setCrc(indexEntry.getCrc());
 			index.setRevision(indexEntry.getRevision());
+			indexes.put(indexEntry.getId(), index);
+		}
 
-			List<ArchiveEntry> archives = cacheDao.findArchivesForIndex(con, indexEntry);
-			for (ArchiveEntry archiveEntry : archives)
+		// archive row id -> archive
+		Map<Integer, Archive> archives = new HashMap<>();
+		try (ResultSetIterable<IndexArchiveEntry> rows = cacheDao.findArchivesForCache(con, cacheEntry))
+		{
+			for (IndexArchiveEntry archiveEntry : rows)
 			{
+				Index index = indexes.get(archiveEntry.getIndex());
 				Archive archive = index.addArchive(archiveEntry.getArchiveId());
 				archive.setNameHash(archiveEntry.getNameHash());
 				archive.setCrc(archiveEntry.getCrc());
 				archive.setRevision(archiveEntry.getRevision());
+				archives.put(archiveEntry.getId(), archive);
+			}
+		}
 
-				List<FileEntry> files = cacheDao.findFilesForArchive(con, archiveEntry);
-				for (FileEntry fileEntry : files)
-				{
-					FSFile file = new FSFile(fileEntry.getFileId());
-					file.setNameHash(fileEntry.getNameHash());
-					archive.addFile(file);
-				}
+		try (ResultSetIterable<FileEntry> rows = cacheDao.findFilesForCache(con, cacheEntry))
+		{
+			for (FileEntry fileEntry : rows)
+			{
+				Archive archive = archives.get(fileEntry.getArchiveId());
+				FSFile file = new FSFile(fileEntry.getFileId());
+				file.setNameHash(fileEntry.getNameHash());
+				archive.addFile(file);
 			}
 		}
 	}
@@ -105,28 +132,86 @@ public class CacheStorage implements Storage
 	{
 		for (Index index : store.getIndexes())
 		{
-			IndexEntry entry = cacheDao.findOrCreateIndex(con, cacheEntry, index.getId(), index.getCrc(), index.getRevision());
+			IndexEntry entry = cacheDao.findIndex(con, index.getId(), index.getCrc(), index.getRevision());
+			if (entry != null)
+			{
+				// an unchanged index already has all of its archives associated
+				cacheDao.associateIndexToCache(con, cacheEntry, entry);
+				continue;
+			}
+
+			entry = cacheDao.findOrCreateIndex(con, cacheEntry, index.getId(), index.getCrc(), index.getRevision());
 			// this assumes nothing is associated to the cache yet
 			cacheDao.associateIndexToCache(con, cacheEntry, entry);
 
+			// archive id -> archives previously saved with that id for this index
+			Map<Integer, List<ArchiveEntry>> existing = new HashMap<>();
+			for (ArchiveEntry archiveEntry : cacheDao.findArchivesForIndexId(con, index.getId()))
+			{
+				existing.computeIfAbsent(archiveEntry.getArchiveId(), k -> new ArrayList<>()).add(archiveEntry);
+			}
+
+			List<ArchiveEntry> archiveEntries = new ArrayList<>(index.getArchives().size());
+			List<ArchiveEntry> created = new ArrayList<>();
+			List<Archive> createdArchives = new ArrayList<>();
+
 			for (Archive archive : index.getArchives())
 			{
-				ArchiveEntry archiveEntry = cacheDao.findArchive(con, entry, archive.getArchiveId(),
-					archive.getNameHash(), archive.getCrc(), archive.getRevision());
+				ArchiveEntry archiveEntry = findArchive(existing.get(archive.getArchiveId()), archive);
 				if (archiveEntry == null)
 				{
-					byte[] hash = Hashing.sha256().hashBytes(archive.getData()).asBytes();
-					archiveEntry = cacheDao.createArchive(con, entry, archive.getArchiveId(),
-						archive.getNameHash(), archive.getCrc(), archive.getRevision(), hash);
-
-					for (FSFile file : archive.getFiles())
-					{
-						cacheDao.associateFileToArchive(con, archiveEntry, file.getFileId(), file.getNameHash());
-					}
+					archiveEntry = new ArchiveEntry();
+					archiveEntry.setArchiveId(archive.getArchiveId());
+					archiveEntry.setNameHash(archive.getNameHash());
+					archiveEntry.setCrc(archive.getCrc());
+					archiveEntry.setRevision(archive.getRevision());
+					archiveEntry.setHash(hasher.apply(archive));
+
+					created.add(archiveEntry);
+					createdArchives.add(archive);
 				}
-				cacheDao.associateArchiveToIndex(con, archiveEntry, entry);
+				archiveEntries.add(archiveEntry);
 			}
+
+			cacheDao.createArchives(con, created);
+
+			List<FileEntry> files = new ArrayList<>();
+			for (int i = 0; i < created.size(); ++i)
+			{
+				int archiveId = created.get(i).getId();
+				for (FSFile file : createdArchives.get(i).getFiles())
+				{
+					FileEntry fileEntry = new FileEntry();
+					fileEntry.setArchiveId(archiveId);
+					fileEntry.setFileId(file.getFileId());
+					fileEntry.setNameHash(file.getNameHash());
+					files.add(fileEntry);
+				}
+			}
+
+			cacheDao.associateFilesToArchives(con, files);
+			cacheDao.associateArchivesToIndex(con, archiveEntries, entry);
+		}
+	}
+
+	private static ArchiveEntry findArchive(List<ArchiveEntry> candidates, Archive archive)
+	{
+		if (candidates == null)
+		{
+			return null;
 		}
+
+		for (ArchiveEntry archiveEntry : candidates)
+		{
+			if (archiveEntry.getNameHash() == archive.getNameHash()
+				&& archiveEntry.getCrc() == archive.getCrc()
+				&& archiveEntry.getRevision() == archive.getRevision())
+			{
+				return archiveEntry;
+			}
+		}
+
+		return null;
 	}
 
 }
@@ -30,12 +30,10 @@ import io.minio.errors.InvalidPortException;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import net.runelite.cache.client.CacheClient;
 import net.runelite.cache.client.IndexInfo;
-import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.protocol.packets.HandshakeResponseType;
 import net.runelite.http.api.RuneliteAPI;
@@ -58,19 +56,29 @@ public class CacheUpdater
 	private static final Logger logger = LoggerFactory.getLogger(CacheUpdater.class);
 
 	private final Sql2o sql2o;
-	private final MinioClient minioClient;
-	
-	@Value("${minio.bucket}")
-	private String minioBucket;
+	private final ObjectStore objectStore;
+	private final int uploadThreads;
+	private final int uploadMaxPending;
+
+	/**
+	 * paths known to be in the object store, kept between updates so they
+	 * are not probed again
+	 */
+	private final Set<String> uploaded = ConcurrentHashMap.newKeySet();
 
 	@Autowired
 	public CacheUpdater(
 		@Qualifier("Runelite Cache SQL2O") Sql2o sql2o,
-		MinioClient minioClient
+		MinioClient minioClient,
+		@Value("${minio.bucket}") String minioBucket,
+		@Value("${cache.upload.threads:8}") int uploadThreads,
+		@Value("${cache.upload.pending:64}") int uploadMaxPending
 	)
 	{
 		this.sql2o = sql2o;
-		this.minioClient = minioClient;
+		this.objectStore = new MinioObjectStore(minioClient, minioBucket);
+		this.uploadThreads = uploadThreads;
+		this.uploadMaxPending = uploadMaxPending;
 	}
 
 	@RequestMapping("/update")
@@ -93,10 +101,10 @@ public class CacheUpdater
 			Store store = new Store(storage);
 			store.load();
 
-			ExecutorService executor = Executors.newSingleThreadExecutor();
+			ArchiveUploader uploader = new ArchiveUploader(objectStore, uploaded, uploadThreads, uploadMaxPending);
+			storage.setHasher(uploader::getHash);
 
-			CacheClient client = new CacheClient(store, rsVersion,
-				(Archive archive) -> executor.submit(new CacheUploader(minioClient, minioBucket, archive)));
+			CacheClient client = new CacheClient(store, rsVersion, uploader);
 
 			client.connect();
 			HandshakeResponseType result = client.handshake().join();
@@ -123,11 +131,8 @@ public class CacheUpdater
 
 			// ensure objects are added to the store before they become
 			// visible in the database
-			executor.shutdown();
-			while (!executor.awaitTermination(1, TimeUnit.SECONDS))
-			{
-				logger.debug("Waiting for termination of executor...");
-			}
+			uploader.awaitTermination();
+			logger.info("Archive uploads complete: {}", uploader);
 
 			// commit database
 			con.commit();
@@ -24,8 +24,7 @@
  */
 package net.runelite.http.service.cache;
 
-import com.google.common.hash.Hashing;
-import com.google.common.io.BaseEncoding;
+import com.google.common.io.ByteStreams;
 import io.minio.MinioClient;
 import io.minio.errors.ErrorResponseException;
 import io.minio.errors.InsufficientDataException;
@@ -38,56 +37,72 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
-import net.runelite.cache.fs.Archive;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.xmlpull.v1.XmlPullParserException;
 
-public class CacheUploader implements Runnable
+public class MinioObjectStore implements ObjectStore
 {
-	private static final Logger logger = LoggerFactory.getLogger(CacheUploader.class);
-
 	private final MinioClient minioClient;
 	private final String minioBucket;
-	private final Archive archive;
 
-	public CacheUploader(MinioClient minioClient, String minioBucket, Archive archive)
+	public MinioObjectStore(MinioClient minioClient, String minioBucket)
 	{
 		this.minioClient = minioClient;
 		this.minioBucket = minioBucket;
-		this.archive = archive;
 	}
 
 	@Override
-	public void run()
+	public boolean exists(String path) throws IOException
 	{
-		byte[] data = archive.getData();
-		byte[] hash = Hashing.sha256().hashBytes(data).asBytes();
-		String hashStr = BaseEncoding.base16().encode(hash);
+		try
+		{
+			minioClient.statObject(minioBucket, path);
+			return true;
+		}
+		catch (ErrorResponseException ex)
+		{
+			// doesn't exist
+			return false;
+		}
+		catch (InvalidBucketNameException | NoSuchAlgorithmException | InsufficientDataException
+			| InvalidKeyException | NoResponseException | XmlPullParserException
+			| InternalException ex)
+		{
+			throw new IOException(ex);
+		}
+	}
 
-		String path = new StringBuilder()
-			.append(hashStr.substring(0, 2))
-			.append('/')
-			.append(hashStr.substring(2))
-			.toString();
+	@Override
+	public byte[] get(String path) throws IOException
+	{
+		try (InputStream in = minioClient.getObject(minioBucket, path))
+		{
+			return ByteStreams.toByteArray(in);
+		}
+		catch (ErrorResponseException ex)
+		{
+			// doesn't exist
+			return null;
+		}
+		catch (InvalidBucketNameException | NoSuchAlgorithmException | InsufficientDataException
+			| InvalidKeyException | NoResponseException | XmlPullParserException
+			| InternalException | InvalidArgumentException ex)
+		{
+			throw new IOException(ex);
+		}
+	}
 
+	@Override
+	public void put(String path, byte[] data) throws IOException
+	{
 		try
 		{
-			try (InputStream in = minioClient.getObject(minioBucket, path))
-			{
-				return; // already exists
-			}
-			catch (ErrorResponseException ex)
-			{
-				// doesn't exist
-			}
-
 			minioClient.putObject(minioBucket, path, new ByteArrayInputStream(data), data.length, "binary/octet-stream");
 		}
-		catch (ErrorResponseException | InsufficientDataException | InternalException | InvalidArgumentException | InvalidBucketNameException | NoResponseException | IOException | InvalidKeyException | NoSuchAlgorithmException | XmlPullParserException ex)
+		catch (InvalidBucketNameException | NoSuchAlgorithmException | InsufficientDataException
+			| InvalidKeyException | NoResponseException | XmlPullParserException
+			| ErrorResponseException | InternalException | InvalidArgumentException ex)
 		{
-			logger.warn("unable to upload data to store", ex);
+			throw new IOException(ex);
 		}
 	}
-
 }
@@ -24,8 +24,22 @@
  */
 package net.runelite.http.service.examine;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import static net.runelite.http.service.examine.ExamineType.ITEM;
 import static net.runelite.http.service.examine.ExamineType.NPC;
 import static net.runelite.http.service.examine.ExamineType.OBJECT;
@@ -39,7 +53,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import static org.springframework.web.bind.annotation.RequestMethod.POST;
 import org.springframework.web.bind.annotation.RestController;
 import org.sql2o.Connection;
+import org.sql2o.Query;
 import org.sql2o.Sql2o;
+import org.sql2o.Sql2oException;
 
 @RestController
 @RequestMapping("/examine")
@@ -56,13 +72,107 @@ public class ExamineService
 		+ "  UNIQUE KEY `type` (`type`,`id`,`text`(64))\n"
 		+ ") ENGINE=InnoDB";
 
+	/**
+	 * how often aggregated submissions are written to the database
+	 */
+	private static final long FLUSH_INTERVAL_SECONDS = 10;
+
+	/**
+	 * maximum number of distinct pending examines, past which new ones are dropped
+	 */
+	private static final int MAX_PENDING = 65536;
+
+	private static final int CACHE_SIZE = 16384;
+
+	/**
+	 * how long top text is cached, flushes from other instances are only
+	 * seen once it expires
+	 */
+	private static final long CACHE_EXPIRE_MINUTES = 10;
+
+	/**
+	 * how long to wait on stop for a scheduled flush in progress
+	 */
+	private static final long STOP_TIMEOUT_SECONDS = 30;
+
 	private final Sql2o sql2o;
 
+	/**
+	 * submissions not yet written to the database, and their counts
+	 */
+	private final Map<PendingExamine, Integer> pending = new ConcurrentHashMap<>();
+
+	/**
+	 * top text by type and id
+	 */
+	private final LoadingCache<Long, Optional<String>> cache = CacheBuilder.newBuilder()
+		.maximumSize(CACHE_SIZE)
+		.expireAfterWrite(CACHE_EXPIRE_MINUTES, TimeUnit.MINUTES)
+		.build(new CacheLoader<Long, Optional<String>>()
+		{
+			@Override
+			public Optional<String> load(Long key)
+			{
+				return Optional.ofNullable(fetch(ExamineType.values()[(int) (key >>> 32)], key.intValue()));
+			}
+		});
+
+	private ScheduledExecutorService executor;
+
+	private static class PendingExamine
+	{
+		private final ExamineType type;
+		private final int id;
+		private final String text;
+
+		PendingExamine(ExamineType type, int id, String text)
+		{
+			this.type = type;
+			this.id = id;
+			this.text = text;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			int hash = 7;
+			hash = 31 * hash + type.hashCode();
+			hash = 31 * hash + id;
+			hash = 31 * hash + text.hashCode();
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (this == obj)
+			{
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass())
+			{
+				return false;
+			}
+			final PendingExamine other = (PendingExamine) obj;
+			return type == other.type && id == other.id && text.equals(other.text);
+		}
+	}
+
 	@Autowired
 	public ExamineService(@Qualifier("Runelite SQL2O") Sql2o sql2o)
+	{
+		this(sql2o, true);
+	}
+
+	ExamineService(Sql2o sql2o, boolean createTable)
 	{
 		this.sql2o = sql2o;
 
+		if (!createTable)
+		{
+			return;
+		}
+
 		try (Connection con = sql2o.open())
 		{
 			con.createQuery(CREATE_EXAMINE)
@@ -70,6 +180,50 @@ public class ExamineService
 		}
 	}
 
+	@PostConstruct
+	public void start()
+	{
+		executor = Executors.newSingleThreadScheduledExecutor(r ->
+		{
+			Thread thread = new Thread(r, "Examine flusher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.scheduleWithFixedDelay(() ->
+		{
+			try
+			{
+				flush();
+			}
+			catch (RuntimeException ex)
+			{
+				logger.warn("unable to flush examines", ex);
+			}
+		}, FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+	}
+
+	@PreDestroy
+	public void stop()
+	{
+		if (executor != null)
+		{
+			// let a flush in progress complete, so it doesn't race the final flush
+			executor.shutdown();
+			try
+			{
+				if (!executor.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+				{
+					logger.warn("Timed out waiting for examine flush to complete");
+				}
+			}
+			catch (InterruptedException ex)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}
+		flush();
+	}
+
 	@RequestMapping("/npc/{id}")
 	public String getNpc(@PathVariable int id)
 	{
@@ -106,7 +260,17 @@ public class ExamineService
 		insert(ITEM, id, examine);
 	}
 
+	private static long key(ExamineType type, int id)
+	{
+		return (long) type.ordinal() << 32 | (id & 0xFFFFFFFFL);
+	}
+
 	private String get(ExamineType type, int id)
+	{
+		return cache.getUnchecked(key(type, id)).orElse(null);
+	}
+
+	private String fetch(ExamineType type, int id)
 	{
 		try (Connection con = sql2o.open())
 		{
@@ -127,16 +291,72 @@ public class ExamineService
 
 	private void insert(ExamineType type, int id, String examine)
 	{
-		try (Connection con = sql2o.open())
+		PendingExamine key = new PendingExamine(type, id, examine);
+
+		if (pending.size() >= MAX_PENDING && !pending.containsKey(key))
 		{
-			con.createQuery("insert into examine (type, id, time, count, text) values "
-				+ "(:type, :id, :time, :count, :text) on duplicate key update count = count + 1")
-				.addParameter("type", type.toString())
-				.addParameter("id", id)
-				.addParameter("time", Timestamp.from(Instant.now()))
-				.addParameter("count", 1)
-				.addParameter("text", examine)
-				.executeUpdate();
+			logger.debug("Dropping examine for {} {}, too many pending", type, id);
+			return;
+		}
+
+		pending.merge(key, 1, Integer::sum);
+	}
+
+	/**
+	 * Write aggregated submissions to the database in one batch, and drop
+	 * the cached top text of everything written
+	 */
+	void flush()
+	{
+		if (pending.isEmpty())
+		{
+			return;
 		}
+
+		Map<PendingExamine, Integer> flushing = new HashMap<>();
+		for (PendingExamine key : pending.keySet())
+		{
+			// submissions after this are counted again under a new entry
+			Integer count = pending.remove(key);
+			if (count != null)
+			{
+				flushing.put(key, count);
+			}
+		}
+
+		Timestamp now = Timestamp.from(Instant.now());
+		Set<Long> updated = new HashSet<>();
+
+		try (Connection con = sql2o.beginTransaction())
+		{
+			Query query = con.createQuery("insert into examine (type, id, time, count, text) values "
+				+ "(:type, :id, :time, :count, :text) on duplicate key update count = count + values(count)");
+
+			for (Map.Entry<PendingExamine, Integer> entry : flushing.entrySet())
+			{
+				PendingExamine key = entry.getKey();
+				query
+					.addParameter("type", key.type.toString())
+					.addParameter("id", key.id)
+					.addParameter("time", now)
+					.addParameter("count", entry.getValue())
+					.addParameter("text", key.text)
+					.addToBatch();
+
+				updated.add(key(key.type, key.id));
+			}
+
+			query.executeBatch();
+			con.commit();
+		}
+		catch (Sql2oException ex)
+		{
+			// keep the counts for the next flush
+			flushing.forEach((key, count) -> pending.merge(key, count, Integer::sum));
+			throw ex;
+		}
+
+		cache.invalidateAll(updated);
+		logger.debug("Flushed {} examines", flushing.size());
 	}
 }
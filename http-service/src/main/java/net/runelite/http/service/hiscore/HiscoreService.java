@@ -24,7 +24,14 @@
  */
 package net.runelite.http.service.hiscore;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import net.runelite.http.api.RuneliteAPI;
 import net.runelite.http.api.hiscore.*;
 import net.runelite.http.service.util.HiscoreEndpointEditor;
@@ -33,10 +40,6 @@ import net.runelite.http.service.util.exception.NotFoundException;
 import okhttp3.HttpUrl;
 import okhttp3.Request;
 import okhttp3.Response;
-import okhttp3.ResponseBody;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -49,6 +52,31 @@ public class HiscoreService
 {
 	private static final Logger logger = LoggerFactory.getLogger(HiscoreService.class);
 
+	private static final int SKILL_COUNT = HiscoreSkill.values().length;
+
+	/**
+	 * how long a looked up result is served from the cache
+	 */
+	private static final long CACHE_TTL_SECONDS = 30;
+	private static final int CACHE_SIZE = 4096;
+
+	/**
+	 * maximum number of concurrent lookups to the Jagex hiscores
+	 */
+	private static final int MAX_LOOKUPS = 16;
+	private static final long LOOKUP_WAIT_SECONDS = 10;
+
+	/**
+	 * Results by endpoint and username. Concurrent lookups of the same
+	 * player wait on the first, rather than each making a request.
+	 */
+	private final Cache<String, HiscoreResultBuilder> cache = CacheBuilder.newBuilder()
+		.expireAfterWrite(CACHE_TTL_SECONDS, TimeUnit.SECONDS)
+		.maximumSize(CACHE_SIZE)
+		.build();
+
+	private final Semaphore lookups = new Semaphore(MAX_LOOKUPS);
+
 	HiscoreResultBuilder lookupUsername(String username, HiscoreEndpoint endpoint) throws IOException
 	{
 		return lookupUsername(username, endpoint.getHiscoreURL());
@@ -66,51 +94,118 @@ public class HiscoreService
 				.url(url)
 				.build();
 
-		Response okresponse = RuneliteAPI.CLIENT.newCall(okrequest).execute();
+		byte[] data;
 
-		if (!okresponse.isSuccessful())
+		try
 		{
-			switch (HttpStatus.valueOf(okresponse.code()))
+			if (!lookups.tryAcquire(LOOKUP_WAIT_SECONDS, TimeUnit.SECONDS))
 			{
-				case NOT_FOUND:
-					throw new NotFoundException();
-				default:
-					throw new InternalServerErrorException("Error retrieving data from Jagex Hiscores: " + okresponse.message());
+				throw new InternalServerErrorException("Too many concurrent hiscore lookups");
 			}
 		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new InternalServerErrorException("Interrupted waiting for hiscore lookup");
+		}
 
-		String responseStr;
+		try (Response okresponse = RuneliteAPI.CLIENT.newCall(okrequest).execute())
+		{
+			if (!okresponse.isSuccessful())
+			{
+				switch (HttpStatus.valueOf(okresponse.code()))
+				{
+					case NOT_FOUND:
+						throw new NotFoundException();
+					default:
+						throw new InternalServerErrorException("Error retrieving data from Jagex Hiscores: " + okresponse.message());
+				}
+			}
 
-		try (ResponseBody body = okresponse.body())
+			data = okresponse.body().bytes();
+		}
+		finally
 		{
-			responseStr = body.string();
+			lookups.release();
 		}
 
-		CSVParser parser = CSVParser.parse(responseStr, CSVFormat.DEFAULT);
+		return parse(username, data);
+	}
 
+	/**
+	 * Parse the hiscore csv, which is one line of rank, level and
+	 * optionally experience per skill
+	 * @param username
+	 * @param data
+	 * @return
+	 */
+	static HiscoreResultBuilder parse(String username, byte[] data)
+	{
 		HiscoreResultBuilder hiscoreBuilder = new HiscoreResultBuilder();
 		hiscoreBuilder.setPlayer(username);
 
+		long[] fields = new long[3];
 		int count = 0;
+		int pos = 0;
 
-		for (CSVRecord record : parser.getRecords())
+		while (pos < data.length)
 		{
-			if (count++ >= HiscoreSkill.values().length)
+			int numFields = 0;
+			long value = 0;
+			boolean negative = false;
+
+			for (;;)
+			{
+				// treat the end of the data as the end of the line
+				byte b = pos < data.length ? data[pos++] : (byte) '\n';
+
+				if (b >= '0' && b <= '9')
+				{
+					value = value * 10 + (b - '0');
+				}
+				else if (b == '-')
+				{
+					negative = true;
+				}
+				else if (b == ',' || b == '\n')
+				{
+					if (numFields == fields.length)
+					{
+						throw new InternalServerErrorException("Jagex Hiscore API returned unexpected data");
+					}
+
+					fields[numFields++] = negative ? -value : value;
+					value = 0;
+					negative = false;
+
+					if (b == '\n')
+					{
+						break;
+					}
+				}
+				else if (b != '\r')
+				{
+					throw new InternalServerErrorException("Jagex Hiscore API returned unexpected data");
+				}
+			}
+
+			if (numFields < 2)
+			{
+				throw new InternalServerErrorException("Jagex Hiscore API returned unexpected data");
+			}
+
+			if (count++ >= SKILL_COUNT)
 			{
 				logger.warn("Jagex Hiscore API returned unexpected data");
 				break; // rest is other things?
 			}
 
 			// rank, level, experience
-			int rank = Integer.parseInt(record.get(0));
-			int level = Integer.parseInt(record.get(1));
+			int rank = (int) fields[0];
+			int level = (int) fields[1];
 
 			// items that are not skills do not have an experience parameter
-			long experience = -1;
-			if (record.size() == 3)
-			{
-				experience = Long.parseLong(record.get(2));
-			}
+			long experience = numFields == 3 ? fields[2] : -1;
 
 			Skill skill = new Skill(rank, level, experience);
 			hiscoreBuilder.setNextSkill(skill);
@@ -119,11 +214,30 @@ public class HiscoreService
 		return hiscoreBuilder;
 	}
 
+	private HiscoreResultBuilder lookupCached(String username, HiscoreEndpoint endpoint) throws IOException
+	{
+		try
+		{
+			// usernames are case insensitive, so differently cased lookups share an entry
+			return cache.get(endpoint.name() + ':' + username.toLowerCase(), () -> lookupUsername(username, endpoint));
+		}
+		catch (ExecutionException | UncheckedExecutionException ex)
+		{
+			Throwables.throwIfInstanceOf(ex.getCause(), IOException.class);
+			Throwables.throwIfUnchecked(ex.getCause());
+			throw new RuntimeException(ex.getCause());
+		}
+	}
+
 	@RequestMapping("/{endpoint}")
 	public HiscoreResult lookup(@PathVariable HiscoreEndpoint endpoint, @RequestParam String username) throws IOException
 	{
-		HiscoreResultBuilder result = lookupUsername(username, endpoint);
-		return result.build();
+		HiscoreResultBuilder result = lookupCached(username, endpoint);
+
+		// the cached result has the casing of the first lookup
+		HiscoreResult hiscoreResult = result.build();
+		hiscoreResult.setPlayer(username);
+		return hiscoreResult;
 	}
 
 	@RequestMapping("/{endpoint}/{skillName}")
@@ -132,7 +246,7 @@ public class HiscoreService
 		HiscoreSkill skill = HiscoreSkill.valueOf(skillName.toUpperCase());
 
 		// RS api only supports looking up all stats
-		HiscoreResultBuilder result = lookupUsername(username, endpoint);
+		HiscoreResultBuilder result = lookupCached(username, endpoint);
 
 		// Find the skill to return
 		Skill requested = result.getSkill(skill.ordinal());
@@ -33,8 +33,13 @@ import java.io.InputStreamReader;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletResponse;
 import net.runelite.http.api.RuneliteAPI;
@@ -96,6 +101,9 @@ public class ItemService
 
 	private static final String RUNELITE_CACHE = "Runelite-Cache";
 
+	private static final int MAX_BATCH = 256; // max items per batch price lookup
+	private static final int MAX_BATCH_FETCH = 8; // max upstream lookups per batch price lookup
+
 	private final Sql2o sql2o;
 	private final Cache<String, SearchResult> cachedSearches = CacheBuilder.newBuilder()
 		.maximumSize(1024L)
@@ -259,6 +267,143 @@ public class ItemService
 		return itemPrice;
 	}
 
+	@RequestMapping("/price")
+	public ItemPrice[] getPrices(HttpServletResponse response, @RequestParam("id") int[] itemIds)
+	{
+		if (itemIds.length > MAX_BATCH)
+		{
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return null;
+		}
+
+		Set<Integer> ids = new LinkedHashSet<>();
+		for (int itemId : itemIds)
+		{
+			ids.add(itemId);
+		}
+
+		if (ids.isEmpty())
+		{
+			return new ItemPrice[0];
+		}
+
+		Map<Integer, ItemEntry> items = new HashMap<>();
+		Map<Integer, PriceEntry> prices = new HashMap<>();
+
+		try (Connection con = sql2o.open())
+		{
+			String in = inClause(ids.size());
+
+			Query query = con.createQuery("select id, name, description, type from items where id in (" + in + ")");
+			addInParameters(query, ids);
+			for (ItemEntry item : query.executeAndFetch(ItemEntry.class))
+			{
+				items.put(item.getId(), item);
+			}
+
+			query = con.createQuery("select p.item, p.price, p.time from prices p"
+				+ " join (select item, max(time) as time from prices where item in (" + in + ") group by item) latest"
+				+ " on p.item = latest.item and p.time = latest.time");
+			addInParameters(query, ids);
+			for (PriceEntry price : query.executeAndFetch(PriceEntry.class))
+			{
+				prices.put(price.getItem(), price);
+			}
+		}
+
+		Instant yesterday = Instant.now().minus(1, ChronoUnit.DAYS);
+		List<ItemPrice> itemPrices = new ArrayList<>(ids.size());
+		boolean hit = true;
+		int fetches = 0;
+
+		for (int itemId : ids)
+		{
+			ItemEntry item = items.get(itemId);
+			PriceEntry priceEntry = prices.get(itemId);
+
+			ItemPrice itemPrice = null;
+			if (item != null && priceEntry != null && !priceEntry.getTime().isBefore(yesterday))
+			{
+				itemPrice = toItemPrice(item, priceEntry);
+			}
+			else if (fetches < MAX_BATCH_FETCH)
+			{
+				// unknown or stale, look it up the same way as a single price
+				++fetches;
+				itemPrice = fetchItemPrice(itemId, item);
+				hit = false;
+			}
+
+			if (itemPrice == null && item != null && priceEntry != null)
+			{
+				// over the upstream lookup limit or the lookup failed, the stale price is better than none
+				itemPrice = toItemPrice(item, priceEntry);
+			}
+
+			if (itemPrice != null)
+			{
+				itemPrices.add(itemPrice);
+			}
+		}
+
+		response.setHeader(RUNELITE_CACHE, hit ? "HIT" : "MISS");
+		return itemPrices.toArray(new ItemPrice[itemPrices.size()]);
+	}
+
+	private static String inClause(int count)
+	{
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < count; ++i)
+		{
+			if (i > 0)
+			{
+				sb.append(", ");
+			}
+			sb.append(":id").append(i);
+		}
+		return sb.toString();
+	}
+
+	private static void addInParameters(Query query, Collection<Integer> ids)
+	{
+		int i = 0;
+		for (int id : ids)
+		{
+			query.addParameter("id" + i++, id);
+		}
+	}
+
+	private ItemPrice fetchItemPrice(int itemId, ItemEntry item)
+	{
+		if (item == null)
+		{
+			item = fetchItem(itemId);
+
+			if (item == null)
+			{
+				return null;
+			}
+		}
+
+		List<PriceEntry> prices = fetchPrice(itemId);
+
+		if (prices == null || prices.isEmpty())
+		{
+			return null;
+		}
+
+		return toItemPrice(item, prices.get(prices.size() - 1));
+	}
+
+	private static ItemPrice toItemPrice(ItemEntry item, PriceEntry priceEntry)
+	{
+		ItemPrice itemPrice = new ItemPrice();
+		itemPrice.setItem(item.toItem());
+		itemPrice.setPrice(priceEntry.getPrice());
+		itemPrice.setTime(priceEntry.getTime());
+		return itemPrice;
+	}
+
 	@RequestMapping("/search")
 	public SearchResult search(HttpServletResponse response, @RequestParam String query)
 	{
@@ -124,18 +124,16 @@ public class UpdateCheckService
 
 	private int randomWorld()
 	{
-		try
-		{
-			WorldResult worlds = worldsService.listWorlds();
-			int size = worlds.getWorlds().size();
-			Random rand = new Random();
-			int worldNumber = worlds.getWorlds().get(rand.nextInt(size)).getId();
-			return worldNumber - WORLD_OFFSET;
-		}
-		catch (IOException ex)
+		WorldResult worlds = worldsService.getWorlds();
+		if (worlds == null)
 		{
-			logger.warn(null, ex);
+			logger.warn("World list is not loaded yet");
 			return -1;
 		}
+
+		int size = worlds.getWorlds().size();
+		Random rand = new Random();
+		int worldNumber = worlds.getWorlds().get(rand.nextInt(size)).getId();
+		return worldNumber - WORLD_OFFSET;
 	}
 }
@@ -24,17 +24,29 @@
  */
 package net.runelite.http.service.worlds;
 
+import com.google.common.hash.Hashing;
 import java.io.IOException;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import net.runelite.http.api.RuneliteAPI;
 import net.runelite.http.api.worlds.World;
 import net.runelite.http.api.worlds.WorldResult;
+import net.runelite.http.service.util.ETagUtil;
 import okhttp3.HttpUrl;
 import okhttp3.Request;
 import okhttp3.Response;
-import okhttp3.ResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -42,23 +54,110 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/worlds")
 public class WorldsService
 {
+	private static final Logger logger = LoggerFactory.getLogger(WorldsService.class);
+
 	private static final HttpUrl WORLD_URL = HttpUrl.parse("http://www.runescape.com/g=oldscape/slr.ws?order=LPWM");
 
+	private static final long REFRESH_INTERVAL_SECONDS = 30;
+
 	private HttpUrl url = WORLD_URL;
 
+	private ScheduledExecutorService executor;
+
+	/**
+	 * the last decoded world list, serialized ahead of time
+	 */
+	private volatile Worlds worlds;
+
+	private static class Worlds
+	{
+		private final WorldResult result;
+		private final byte[] json;
+		private final String etag;
+
+		Worlds(WorldResult result)
+		{
+			this.result = result;
+			this.json = RuneliteAPI.GSON.toJson(result).getBytes(StandardCharsets.UTF_8);
+			this.etag = '"' + Hashing.sha256().hashBytes(json).toString() + '"';
+		}
+	}
+
+	@PostConstruct
+	public void start()
+	{
+		executor = Executors.newSingleThreadScheduledExecutor(r ->
+		{
+			Thread thread = new Thread(r, "World list refresher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.scheduleWithFixedDelay(() ->
+		{
+			try
+			{
+				refresh();
+			}
+			catch (IOException | RuntimeException ex)
+			{
+				logger.warn("unable to refresh world list", ex);
+			}
+		}, 0, REFRESH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+	}
+
+	@PreDestroy
+	public void stop()
+	{
+		if (executor != null)
+		{
+			executor.shutdownNow();
+		}
+	}
+
 	@RequestMapping
-	public WorldResult listWorlds() throws IOException
+	public void listWorlds(HttpServletRequest request, HttpServletResponse response) throws IOException
+	{
+		Worlds worlds = this.worlds;
+		if (worlds == null)
+		{
+			// never wait on the upstream; the world list hasn't been fetched yet
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+			return;
+		}
+
+		response.setHeader("ETag", worlds.etag);
+
+		if (ETagUtil.isNotModified(request, worlds.etag))
+		{
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+
+		response.setContentType("application/json");
+		response.setContentLength(worlds.json.length);
+		response.getOutputStream().write(worlds.json);
+	}
+
+	/**
+	 * Fetch and decode the world list from the upstream
+	 * @throws IOException
+	 */
+	void refresh() throws IOException
 	{
 		Request okrequest = new Request.Builder()
 			.url(url)
 			.build();
 
-		Response okresponse = RuneliteAPI.CLIENT.newCall(okrequest).execute();
 		byte[] b;
 
-		try (ResponseBody body = okresponse.body())
+		try (Response okresponse = RuneliteAPI.CLIENT.newCall(okrequest).execute())
 		{
-			b = body.bytes();
+			if (!okresponse.isSuccessful())
+			{
+				throw new IOException("Unable to fetch world list: " + okresponse.message());
+			}
+
+			b = okresponse.body().bytes();
 		}
 
 		List<World> worlds = new ArrayList<>();
@@ -84,27 +183,39 @@ public class WorldsService
 
 		WorldResult result = new WorldResult();
 		result.setWorlds(worlds);
-		return result;
+		this.worlds = new Worlds(result);
+	}
+
+	/**
+	 * get the last decoded world list
+	 * @return the world list, or null if it hasn't been fetched yet
+	 */
+	public WorldResult getWorlds()
+	{
+		Worlds worlds = this.worlds;
+		return worlds != null ? worlds.result : null;
 	}
 
 	private static String readString(ByteBuffer buf)
 	{
-		byte b;
-		StringBuilder sb = new StringBuilder();
+		// strings are null terminated, and read directly from the backing array
+		byte[] array = buf.array();
+		int start = buf.arrayOffset() + buf.position();
+		int limit = buf.arrayOffset() + buf.limit();
+		int end = start;
 
-		for (;;)
+		while (end < limit && array[end] != 0)
 		{
-			b = buf.get();
-
-			if (b == 0)
-			{
-				break;
-			}
+			++end;
+		}
 
-			sb.append((char) b);
+		if (end == limit)
+		{
+			throw new BufferUnderflowException();
 		}
 
-		return sb.toString();
+		buf.position(buf.position() + end - start + 1);
+		return new String(array, start, end - start, StandardCharsets.ISO_8859_1);
 	}
 
 	public HttpUrl getUrl()
@@ -24,11 +24,12 @@
  */
 package net.runelite.http.service.ws;
 
-import com.google.common.base.Objects;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.websocket.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,36 +38,95 @@ public class SessionManager
 {
 	private static final Logger logger = LoggerFactory.getLogger(SessionManager.class);
 
-	private static final Set<WSSession> sessions = Collections.synchronizedSet(new HashSet<>());
+	private static final Map<Session, WSSession> sessions = new ConcurrentHashMap<>();
+
+	/**
+	 * sessions which have completed the handshake, by their uuid. A uuid
+	 * may have several sessions, eg. with the client open twice.
+	 */
+	private static final Map<UUID, Set<WSSession>> sessionsByUuid = new ConcurrentHashMap<>();
 
 	public static void add(WSService service, Session session)
 	{
 		WSSession wssession = new WSSession(service, session);
 
-		logger.info("Adding service {} session {}", service, session);
+		logger.debug("Adding service {} session {}", service, session);
 
-		sessions.add(wssession);
+		sessions.put(session, wssession);
 	}
 
-	public static void remove(Session session)
+	/**
+	 * Index a session by the uuid it handshook with
+	 * @param session
+	 * @param oldUuid uuid of a previous handshake, or null
+	 * @param uuid
+	 */
+	public static void handshake(Session session, UUID oldUuid, UUID uuid)
 	{
-		WSSession wssession = new WSSession(null, session);
-		sessions.remove(wssession);
-	}
+		WSSession wssession = sessions.get(session);
+		if (wssession == null)
+		{
+			return;
+		}
 
-	public static WSSession findSession(UUID uuid)
-	{
-		synchronized (sessions)
+		if (oldUuid != null)
 		{
-			for (WSSession session : sessions)
+			unindex(oldUuid, wssession);
+		}
+
+		if (uuid != null)
+		{
+			sessionsByUuid.compute(uuid, (k, uuidSessions) ->
 			{
-				if (Objects.equal(session.getServlet().getUuid(), uuid))
+				if (uuidSessions == null)
 				{
-					return session;
+					uuidSessions = ConcurrentHashMap.newKeySet();
 				}
-			}
+				uuidSessions.add(wssession);
+				return uuidSessions;
+			});
+		}
+	}
+
+	public static void remove(Session session)
+	{
+		WSSession wssession = sessions.remove(session);
+		if (wssession == null)
+		{
+			return;
 		}
 
-		return null;
+		UUID uuid = wssession.getServlet().getUuid();
+		if (uuid != null)
+		{
+			unindex(uuid, wssession);
+		}
+	}
+
+	/**
+	 * Remove only the given session from the sessions of a uuid
+	 */
+	private static void unindex(UUID uuid, WSSession wssession)
+	{
+		sessionsByUuid.computeIfPresent(uuid, (k, uuidSessions) ->
+		{
+			uuidSessions.remove(wssession);
+			return uuidSessions.isEmpty() ? null : uuidSessions;
+		});
+	}
+
+	public static Collection<WSSession> findSessions(UUID uuid)
+	{
+		Set<WSSession> uuidSessions = sessionsByUuid.get(uuid);
+		if (uuidSessions == null)
+		{
+			return Collections.emptySet();
+		}
+		return Collections.unmodifiableSet(uuidSessions);
+	}
+
+	static int size()
+	{
+		return sessions.size();
 	}
 }
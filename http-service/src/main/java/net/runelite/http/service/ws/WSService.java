@@ -75,6 +75,7 @@ public class WSService
 	@OnClose
 	public void onClose(Session session, CloseReason resaon)
 	{
+		SessionManager.remove(session);
 		logger.info("Close session {}", session);
 	}
 
@@ -93,7 +94,9 @@ public class WSService
 		if (message instanceof Handshake)
 		{
 			Handshake hs = (Handshake) message;
+			UUID oldUuid = uuid;
 			uuid = hs.getSession();
+			SessionManager.handshake(session, oldUuid, uuid);
 		}
 	}
 }
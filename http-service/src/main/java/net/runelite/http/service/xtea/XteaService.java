@@ -24,12 +24,23 @@
  */
 package net.runelite.http.service.xtea;
 
+import com.google.common.primitives.Ints;
 import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import net.runelite.cache.IndexType;
-import net.runelite.cache.fs.jagex.DataFile;
+import net.runelite.cache.fs.jagex.CompressionType;
 import net.runelite.cache.util.Djb2;
+import net.runelite.cache.util.Xtea;
 import net.runelite.http.api.xtea.XteaKey;
 import net.runelite.http.api.xtea.XteaRequest;
 import net.runelite.http.service.cache.CacheDAO;
@@ -70,10 +81,31 @@ public class XteaService
 		+ "  KEY `region` (`region`,`time`)\n"
 		+ ") ENGINE=InnoDB";
 
+	/**
+	 * gzip magic and the deflate compression method
+	 */
+	private static final byte[] GZIP_HEADER = new byte[]
+	{
+		0x1f, (byte) 0x8b, 0x08
+	};
+
+	/**
+	 * bzip2 block header magic, which follows the stripped stream header
+	 */
+	private static final byte[] BZIP_BLOCK_HEADER = new byte[]
+	{
+		0x31, 0x41, 0x59, 0x26, 0x53, 0x59
+	};
+
 	private final Sql2o sql2o;
 	private final Sql2o cacheSql2o;
 	private final CacheService cacheService;
 
+	/**
+	 * latest key of each region, kept in sync with inserts
+	 */
+	private final Map<Integer, XteaEntry> latest = new ConcurrentHashMap<>();
+
 	@Autowired
 	public XteaService(
 		@Qualifier("Runelite SQL2O") Sql2o sql2o,
@@ -89,22 +121,49 @@ public class XteaService
 		{
 			con.createQuery(CREATE_SQL)
 				.executeUpdate();
-		}
-	}
 
-	private XteaEntry findLatestXtea(Connection con, int region)
-	{
-		return con.createQuery("select region, time, key1, key2, key3, key4 from xtea "
-			+ "where region = :region "
-			+ "order by time desc "
-			+ "limit 1")
-			.addParameter("region", region)
-			.executeAndFetchFirst(XteaEntry.class);
+			List<XteaEntry> entries = con.createQuery(
+				"select t1.region, t1.time, t1.rev, t1.key1, t1.key2, t1.key3, t1.key4 from xtea t1 "
+				+ "inner join ( select region,max(time) as time from xtea group by region ) t2 "
+				+ "on t1.region = t2.region and t1.time = t2.time")
+				.executeAndFetch(XteaEntry.class);
+
+			for (XteaEntry entry : entries)
+			{
+				latest.merge(entry.getRegion(), entry, (a, b) -> a.getTime().isAfter(b.getTime()) ? a : b);
+			}
+		}
 	}
 
 	@RequestMapping(method = POST)
-	public void submit(@RequestBody XteaRequest xteaRequest)
+	public void submit(@RequestBody XteaRequest xteaRequest) throws IOException
 	{
+		List<XteaKey> keys = new ArrayList<>();
+
+		for (XteaKey key : xteaRequest.getKeys())
+		{
+			if (key.getKeys().length != 4)
+			{
+				throw new IllegalArgumentException("Key length must be 4");
+			}
+
+			// already have these?
+			XteaEntry xteaEntry = latest.get(key.getRegion());
+			if (xteaEntry != null && Arrays.equals(key.getKeys(), entryToKey(xteaEntry).getKeys()))
+			{
+				continue;
+			}
+
+			keys.add(key);
+		}
+
+		if (keys.isEmpty())
+		{
+			return;
+		}
+
+		List<XteaEntry> entries = new ArrayList<>(keys.size());
+
 		try (Connection con = sql2o.beginTransaction();
 			Connection cacheCon = cacheSql2o.open())
 		{
@@ -116,79 +175,90 @@ public class XteaService
 				throw new InternalServerErrorException("No most recent cache");
 			}
 
+			Set<Integer> nameHashes = new HashSet<>();
+			for (XteaKey key : keys)
+			{
+				nameHashes.add(getArchiveNameHash(key.getRegion()));
+			}
+
+			Map<Integer, ArchiveEntry> archives = new HashMap<>();
+			for (ArchiveEntry archiveEntry : cacheDao.findArchivesByName(cacheCon, cache, IndexType.MAPS, nameHashes))
+			{
+				archives.put(archiveEntry.getNameHash(), archiveEntry);
+			}
+
 			Query query = con.createQuery("insert into xtea (region, rev, key1, key2, key3, key4) "
 				+ "values (:region, :rev, :key1, :key2, :key3, :key4)");
 
-			for (XteaKey key : xteaRequest.getKeys())
+			Instant now = Instant.now();
+			for (XteaKey key : keys)
 			{
 				int region = key.getRegion();
-				int[] keys = key.getKeys();
 
-				XteaEntry xteaEntry = findLatestXtea(con, region);
-
-				if (keys.length != 4)
+				ArchiveEntry archiveEntry = archives.get(getArchiveNameHash(region));
+				if (archiveEntry == null)
 				{
-					throw new IllegalArgumentException("Key length must be 4");
+					throw new InternalServerErrorException("Unable to find archive for region");
 				}
 
-				// already have these?
-				if (xteaEntry != null
-					&& xteaEntry.getKey1() == keys[0]
-					&& xteaEntry.getKey2() == keys[1]
-					&& xteaEntry.getKey3() == keys[2]
-					&& xteaEntry.getKey4() == keys[3])
+				byte[] data = cacheService.getArchive(archiveEntry);
+				if (data == null)
 				{
-					continue;
+					throw new InternalServerErrorException("Unable to get archive data");
 				}
 
-				if (!checkKeys(cacheCon, cache, region, keys))
+				int[] k = key.getKeys();
+				if (!checkKeys(data, k))
 				{
 					continue;
 				}
 
 				query.addParameter("region", region)
 					.addParameter("rev", xteaRequest.getRevision())
-					.addParameter("key1", keys[0])
-					.addParameter("key2", keys[1])
-					.addParameter("key3", keys[2])
-					.addParameter("key4", keys[3])
+					.addParameter("key1", k[0])
+					.addParameter("key2", k[1])
+					.addParameter("key3", k[2])
+					.addParameter("key4", k[3])
 					.addToBatch();
+
+				XteaEntry entry = new XteaEntry();
+				entry.setRegion(region);
+				entry.setTime(now);
+				entry.setRev(xteaRequest.getRevision());
+				entry.setKey1(k[0]);
+				entry.setKey2(k[1]);
+				entry.setKey3(k[2]);
+				entry.setKey4(k[3]);
+				entries.add(entry);
+			}
+
+			if (entries.isEmpty())
+			{
+				return;
 			}
 
 			query.executeBatch();
 			con.commit();
 		}
+
+		for (XteaEntry entry : entries)
+		{
+			latest.put(entry.getRegion(), entry);
+		}
 	}
 
 	@RequestMapping
 	public List<XteaKey> get()
 	{
-		try (Connection con = sql2o.open())
-		{
-			List<XteaEntry> entries = con.createQuery(
-				"select t1.region, t1.time, t1.rev, t1.key1, t1.key2, t1.key3, t1.key4 from xtea t1 "
-				+ "inner join ( select region,max(time) as time from xtea group by region ) t2 "
-				+ "on t1.region = t2.region and t1.time = t2.time")
-				.executeAndFetch(XteaEntry.class);
-
-			return entries.stream()
-				.map(XteaService::entryToKey)
-				.collect(Collectors.toList());
-		}
+		return latest.values().stream()
+			.map(XteaService::entryToKey)
+			.collect(Collectors.toList());
 	}
 
 	@RequestMapping("/{region}")
 	public XteaKey getRegion(@PathVariable int region)
 	{
-		XteaEntry entry;
-
-		try (Connection con = sql2o.open())
-		{
-			entry = con.createQuery("select region, time, rev, key1, key2, key3, key4 from xtea "
-				+ "where region = :region order by time desc limit 1")
-				.addParameter("region", region)
-				.executeAndFetchFirst(XteaEntry.class);
-		}
+		XteaEntry entry = latest.get(region);
 
 		if (entry == null)
 		{
@@ -198,7 +268,7 @@ public class XteaService
 		return entryToKey(entry);
 	}
 
-	private boolean checkKeys(Connection con, CacheEntry cache, int regionId, int[] keys)
+	private static int getArchiveNameHash(int regionId)
 	{
 		int x = regionId >>> 8;
 		int y = regionId & 0xFF;
@@ -209,30 +279,75 @@ public class XteaService
 			.append('_')
 			.append(y)
 			.toString();
-		int archiveNameHash = Djb2.hash(archiveName);
+		return Djb2.hash(archiveName);
+	}
 
-		CacheDAO cacheDao = new CacheDAO();
-		ArchiveEntry archiveEntry = cacheDao.findArchiveByName(con, cache, IndexType.MAPS, archiveNameHash);
-		if (archiveEntry == null)
+	/**
+	 * Check keys decrypt an archive by decrypting only its first blocks and
+	 * checking the header of the compressed data, instead of decompressing
+	 * the whole archive. Keys for uncompressed archives can't be checked,
+	 * and are rejected.
+	 * @param data archive data
+	 * @param keys keys to check
+	 * @return
+	 */
+	static boolean checkKeys(byte[] data, int[] keys)
+	{
+		if (data.length < 5)
 		{
-			throw new InternalServerErrorException("Unable to find archive for region");
+			return false;
 		}
 
-		byte[] data = cacheService.getArchive(archiveEntry);
-		if (data == null)
+		int compression = data[0] & 0xFF;
+		byte[] header;
+		switch (compression)
 		{
-			throw new InternalServerErrorException("Unable to get archive data");
+			case CompressionType.GZ:
+				header = GZIP_HEADER;
+				break;
+			case CompressionType.BZ2:
+				header = BZIP_BLOCK_HEADER;
+				break;
+			default:
+				// there is nothing to check uncompressed data against, so
+				// any keys would appear to decrypt it
+				logger.debug("unable to check keys against archive with compression {}", compression);
+				return false;
 		}
 
+		// decompressed length, then the compressed stream, rounded up to whole xtea blocks
+		int length = (4 + header.length + 7) & ~7;
+		if (data.length < 5 + length)
+		{
+			return false;
+		}
+
+		byte[] decrypted;
 		try
 		{
-			DataFile.decompress(data, keys);
-			return true;
+			decrypted = new Xtea(keys).decrypt(Arrays.copyOfRange(data, 5, 5 + length), length);
+		}
+		catch (GeneralSecurityException ex)
+		{
+			logger.warn("unable to xtea decrypt", ex);
+			return false;
 		}
-		catch (IOException ex)
+
+		int decompressedLength = Ints.fromByteArray(decrypted);
+		if (decompressedLength < 0)
 		{
 			return false;
 		}
+
+		for (int i = 0; i < header.length; ++i)
+		{
+			if (decrypted[4 + i] != header[i])
+			{
+				return false;
+			}
+		}
+
+		return true;
 	}
 
 	private static XteaKey entryToKey(XteaEntry xe)
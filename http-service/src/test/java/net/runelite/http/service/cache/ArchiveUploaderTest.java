@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.cache;
+
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Index;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ArchiveUploaderTest
+{
+	private final Index index = new Index(null, 0);
+
+	private Archive archive(int id, byte[] data)
+	{
+		Archive archive = index.addArchive(id);
+		archive.setData(data);
+		return archive;
+	}
+
+	@Test
+	public void testUploadDeduplicated() throws InterruptedException
+	{
+		InMemoryObjectStore store = new InMemoryObjectStore();
+		Set<String> known = ConcurrentHashMap.newKeySet();
+
+		ArchiveUploader uploader = new ArchiveUploader(store, known, 4, 16);
+		for (int i = 0; i < 100; ++i)
+		{
+			// only 10 distinct contents
+			uploader.downloadComplete(archive(i, new byte[]
+			{
+				(byte) (i % 10)
+			}));
+		}
+		uploader.awaitTermination();
+
+		Assert.assertEquals(100, uploader.getSubmitted());
+		Assert.assertEquals(90, uploader.getDeduplicated());
+		Assert.assertEquals(10, uploader.getUploaded());
+		Assert.assertEquals(10, store.getObjects().size());
+		Assert.assertEquals(10, store.getProbes());
+
+		// a later update doesn't probe or upload known content again
+		uploader = new ArchiveUploader(store, known, 4, 16);
+		uploader.downloadComplete(archive(100, new byte[]
+		{
+			1
+		}));
+		uploader.awaitTermination();
+
+		Assert.assertEquals(1, uploader.getDeduplicated());
+		Assert.assertEquals(10, store.getProbes());
+		Assert.assertEquals(10, store.getPuts());
+	}
+
+	@Test
+	public void testAlreadyPresent() throws InterruptedException, IOException
+	{
+		InMemoryObjectStore store = new InMemoryObjectStore();
+		byte[] data = new byte[]
+		{
+			42
+		};
+		store.put(ArchiveUploader.getPath(Hashing.sha256().hashBytes(data).asBytes()), data);
+
+		ArchiveUploader uploader = new ArchiveUploader(store, ConcurrentHashMap.newKeySet(), 1, 1);
+		Archive archive = archive(0, data);
+		uploader.downloadComplete(archive);
+		uploader.awaitTermination();
+
+		Assert.assertEquals(1, uploader.getPresent());
+		Assert.assertEquals(0, uploader.getUploaded());
+		Assert.assertEquals(1, store.getPuts());
+		Assert.assertArrayEquals(Hashing.sha256().hashBytes(data).asBytes(), uploader.getHash(archive));
+	}
+
+	@Test(timeout = 10_000L)
+	public void testBackpressure() throws InterruptedException
+	{
+		CountDownLatch release = new CountDownLatch(1);
+		InMemoryObjectStore store = new InMemoryObjectStore()
+		{
+			@Override
+			public void put(String path, byte[] data) throws IOException
+			{
+				try
+				{
+					release.await();
+				}
+				catch (InterruptedException ex)
+				{
+					throw new IOException(ex);
+				}
+				super.put(path, data);
+			}
+		};
+
+		ArchiveUploader uploader = new ArchiveUploader(store, ConcurrentHashMap.newKeySet(), 2, 4);
+		Thread downloader = new Thread(() ->
+		{
+			for (int i = 0; i < 10; ++i)
+			{
+				uploader.downloadComplete(archive(i, new byte[]
+				{
+					(byte) i
+				}));
+			}
+		});
+		downloader.start();
+
+		// submission stalls once 4 uploads are pending
+		downloader.join(500L);
+		Assert.assertTrue(downloader.isAlive());
+		Assert.assertEquals(4, uploader.getQueued());
+
+		release.countDown();
+		downloader.join();
+		uploader.awaitTermination();
+
+		Assert.assertEquals(10, uploader.getUploaded());
+		Assert.assertEquals(4, uploader.getMaxQueued());
+	}
+
+	@Test
+	public void testFailedUploadRetried() throws InterruptedException
+	{
+		InMemoryObjectStore store = new InMemoryObjectStore()
+		{
+			@Override
+			public void put(String path, byte[] data)
+			{
+				throw new IllegalStateException("store unavailable");
+			}
+		};
+		Set<String> known = ConcurrentHashMap.newKeySet();
+
+		ArchiveUploader uploader = new ArchiveUploader(store, known, 1, 1);
+		uploader.downloadComplete(archive(0, new byte[]
+		{
+			1
+		}));
+		uploader.awaitTermination();
+
+		// the path is forgotten, so a later update retries it
+		Assert.assertEquals(1, uploader.getFailed());
+		Assert.assertTrue(known.isEmpty());
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.cache;
+
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BlobCacheTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final InMemoryObjectStore store = new InMemoryObjectStore();
+
+	private byte[] put(int size, int value) throws IOException
+	{
+		byte[] data = new byte[size];
+		data[0] = (byte) value;
+		byte[] hash = Hashing.sha256().hashBytes(data).asBytes();
+		store.put(ArchiveUploader.getPath(hash), data);
+		return hash;
+	}
+
+	@Test
+	public void testHeap() throws IOException
+	{
+		byte[] hash = put(100, 1);
+		BlobCache cache = new BlobCache(store, 1024, null);
+
+		byte[] data = cache.get(hash);
+		Assert.assertEquals(100, data.length);
+		Assert.assertSame(data, cache.get(hash));
+		Assert.assertEquals(1, store.getGets());
+	}
+
+	@Test
+	public void testMissing() throws IOException
+	{
+		BlobCache cache = new BlobCache(store, 1024, null);
+		Assert.assertNull(cache.get(new byte[32]));
+	}
+
+	@Test
+	public void testEvictedBySize() throws IOException
+	{
+		byte[] first = put(600, 1);
+		byte[] second = put(600, 2);
+		BlobCache cache = new BlobCache(store, 1024, null);
+
+		cache.get(first);
+		cache.get(second);
+		cache.get(first);
+		Assert.assertEquals(3, store.getGets());
+	}
+
+	@Test
+	public void testDisk() throws IOException
+	{
+		Path directory = folder.getRoot().toPath();
+		byte[] hash = put(100, 1);
+
+		new BlobCache(store, 1024, directory).get(hash);
+		Assert.assertTrue(Files.exists(directory.resolve(ArchiveUploader.getPath(hash))));
+
+		// a new cache, with an empty heap tier, reads from disk
+		byte[] data = new BlobCache(store, 1024, directory).get(hash);
+		Assert.assertEquals(100, data.length);
+		Assert.assertEquals(1, data[0]);
+		Assert.assertEquals(1, store.getGets());
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.cache;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Resources;
+import java.io.IOException;
+import java.time.Instant;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.FSFile;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.http.service.cache.beans.CacheEntry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.sql2o.Connection;
+import org.sql2o.Sql2o;
+
+public class CacheStorageTest
+{
+	private static final int INDEXES = 4;
+	private static final int ARCHIVES = 300;
+	private static final int FILES = 5;
+
+	private final CacheDAO cacheDao = new CacheDAO();
+	private Connection con;
+
+	@Before
+	public void before() throws IOException
+	{
+		Sql2o sql2o = new Sql2o("jdbc:h2:mem:cache;MODE=MySQL;DATABASE_TO_UPPER=FALSE", "sa", "");
+		con = sql2o.beginTransaction();
+
+		String schema = Resources.toString(CacheStorageTest.class.getResource("schema.sql"), Charsets.UTF_8);
+		for (String statement : schema.split(";"))
+		{
+			if (!statement.trim().isEmpty())
+			{
+				con.createQuery(statement).executeUpdate();
+			}
+		}
+	}
+
+	@After
+	public void after()
+	{
+		con.rollback();
+	}
+
+	@Test
+	public void testSaveLoad() throws IOException
+	{
+		CacheEntry first = cacheDao.createCache(con, 1, Instant.ofEpochSecond(1000));
+		Store store = createStore(new CacheStorage(first, cacheDao, con), 1);
+		store.save();
+
+		Store loaded = new Store(new CacheStorage(first, cacheDao, con));
+		loaded.load();
+		Assert.assertEquals(store, loaded);
+	}
+
+	@Test
+	public void testSaveReusesArchives() throws IOException
+	{
+		CacheEntry first = cacheDao.createCache(con, 1, Instant.ofEpochSecond(1000));
+		createStore(new CacheStorage(first, cacheDao, con), 1).save();
+
+		// bump the revision of a single archive in the second cache
+		CacheEntry second = cacheDao.createCache(con, 2, Instant.ofEpochSecond(2000));
+		Store store = createStore(new CacheStorage(second, cacheDao, con), 1);
+		Index index = store.getIndexes().get(0);
+		index.setCrc(index.getCrc() + 1);
+		index.setRevision(2);
+		index.getArchives().get(0).setRevision(2);
+		store.save();
+
+		int archives = con.createQuery("select count(*) from archive").executeScalar(Integer.class);
+		Assert.assertEquals(INDEXES * ARCHIVES + 1, archives);
+
+		int files = con.createQuery("select count(*) from file").executeScalar(Integer.class);
+		Assert.assertEquals((INDEXES * ARCHIVES + 1) * FILES, files);
+
+		Store loaded = new Store(new CacheStorage(second, cacheDao, con));
+		loaded.load();
+		Assert.assertEquals(store, loaded);
+
+		Store loadedFirst = new Store(new CacheStorage(first, cacheDao, con));
+		loadedFirst.load();
+		Assert.assertEquals(createStore(new CacheStorage(first, cacheDao, con), 1), loadedFirst);
+	}
+
+	private static Store createStore(CacheStorage storage, int revision) throws IOException
+	{
+		Store store = new Store(storage);
+
+		for (int i = 0; i < INDEXES; ++i)
+		{
+			Index index = store.addIndex(i);
+			index.setCrc(i * 31);
+			index.setRevision(revision);
+
+			for (int j = 0; j < ARCHIVES; ++j)
+			{
+				Archive archive = index.addArchive(j);
+				archive.setNameHash(i * ARCHIVES + j);
+				archive.setCrc(j * 17);
+				archive.setRevision(revision);
+				archive.setData(new byte[]
+				{
+					(byte) i, (byte) j
+				});
+
+				for (int k = 0; k < FILES; ++k)
+				{
+					FSFile file = new FSFile(k);
+					file.setNameHash(j * FILES + k);
+					archive.addFile(file);
+				}
+			}
+		}
+
+		return store;
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.cache;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class InMemoryObjectStore implements ObjectStore
+{
+	private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+	private final AtomicInteger probes = new AtomicInteger();
+	private final AtomicInteger gets = new AtomicInteger();
+	private final AtomicInteger puts = new AtomicInteger();
+
+	@Override
+	public boolean exists(String path) throws IOException
+	{
+		probes.incrementAndGet();
+		return objects.containsKey(path);
+	}
+
+	@Override
+	public byte[] get(String path) throws IOException
+	{
+		gets.incrementAndGet();
+		return objects.get(path);
+	}
+
+	@Override
+	public void put(String path, byte[] data) throws IOException
+	{
+		puts.incrementAndGet();
+		objects.put(path, data);
+	}
+
+	public Map<String, byte[]> getObjects()
+	{
+		return objects;
+	}
+
+	public int getProbes()
+	{
+		return probes.get();
+	}
+
+	public int getGets()
+	{
+		return gets.get();
+	}
+
+	public int getPuts()
+	{
+		return puts.get();
+	}
+}
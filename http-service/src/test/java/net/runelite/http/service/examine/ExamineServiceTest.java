@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.examine;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Resources;
+import java.io.IOException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.sql2o.Connection;
+import org.sql2o.Sql2o;
+import org.sql2o.Sql2oException;
+
+public class ExamineServiceTest
+{
+	private Sql2o sql2o;
+	// keeps the in-memory database alive between the service's connections
+	private Connection con;
+	private ExamineService examineService;
+
+	@Before
+	public void before() throws IOException
+	{
+		sql2o = new Sql2o("jdbc:h2:mem:examine;MODE=MySQL;DATABASE_TO_UPPER=FALSE", "sa", "");
+		con = sql2o.open();
+
+		String schema = Resources.toString(ExamineServiceTest.class.getResource("schema.sql"), Charsets.UTF_8);
+		con.createQuery(schema).executeUpdate();
+
+		examineService = new ExamineService(sql2o, false);
+	}
+
+	@After
+	public void after()
+	{
+		con.createQuery("drop table `examine`").executeUpdate();
+		con.close();
+	}
+
+	private int count(String text)
+	{
+		Integer count = con.createQuery("select count from examine where text = :text")
+			.addParameter("text", text)
+			.executeScalar(Integer.class);
+		return count == null ? 0 : count;
+	}
+
+	@Test
+	public void testAggregate()
+	{
+		examineService.submitNpc(1, "A goblin.");
+		examineService.submitNpc(1, "A goblin.");
+		examineService.submitNpc(1, "A goblin.");
+		examineService.submitNpc(1, "A hobgoblin.");
+		examineService.flush();
+
+		Assert.assertEquals(3, count("A goblin."));
+		Assert.assertEquals(1, count("A hobgoblin."));
+		Assert.assertEquals("A goblin.", examineService.getNpc(1));
+
+		examineService.submitNpc(1, "A goblin.");
+		examineService.flush();
+
+		Assert.assertEquals(4, count("A goblin."));
+	}
+
+	@Test
+	public void testFlushFailure()
+	{
+		examineService.submitNpc(1, "A goblin.");
+		examineService.submitNpc(1, "A goblin.");
+
+		con.createQuery("alter table `examine` rename to `examine_old`").executeUpdate();
+		try
+		{
+			examineService.flush();
+			Assert.fail();
+		}
+		catch (Sql2oException ex)
+		{
+			// expected
+		}
+		con.createQuery("alter table `examine_old` rename to `examine`").executeUpdate();
+
+		// submitted while the flush was failing
+		examineService.submitNpc(1, "A goblin.");
+		examineService.flush();
+
+		Assert.assertEquals(3, count("A goblin."));
+	}
+
+	@Test
+	public void testCacheInvalidation()
+	{
+		Assert.assertNull(examineService.getNpc(1));
+
+		examineService.submitNpc(1, "A goblin.");
+		// not visible until flushed
+		Assert.assertNull(examineService.getNpc(1));
+
+		examineService.flush();
+		Assert.assertEquals("A goblin.", examineService.getNpc(1));
+
+		examineService.submitNpc(1, "A hobgoblin.");
+		examineService.submitNpc(1, "A hobgoblin.");
+		examineService.flush();
+		Assert.assertEquals("A hobgoblin.", examineService.getNpc(1));
+	}
+}
@@ -26,6 +26,7 @@ package net.runelite.http.service.worlds;
 
 import java.io.IOException;
 import java.io.InputStream;
+import net.runelite.http.api.RuneliteAPI;
 import net.runelite.http.api.worlds.WorldResult;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
@@ -34,6 +35,8 @@ import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.sql2o.tools.IOUtils;
 
 public class WorldsServiceTest
@@ -65,9 +68,36 @@ public class WorldsServiceTest
 	{
 		WorldsService worlds = new WorldsService();
 		worlds.setUrl(server.url("/"));
+		worlds.refresh();
 
-		WorldResult worldResult = worlds.listWorlds();
+		WorldResult worldResult = worlds.getWorlds();
 		Assert.assertEquals(82, worldResult.getWorlds().size());
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		worlds.listWorlds(new MockHttpServletRequest(), response);
+		Assert.assertEquals(200, response.getStatus());
+
+		WorldResult served = RuneliteAPI.GSON.fromJson(response.getContentAsString(), WorldResult.class);
+		Assert.assertEquals(82, served.getWorlds().size());
+		Assert.assertEquals(worldResult.getWorlds().get(0).getAddress(), served.getWorlds().get(0).getAddress());
+
+		// conditional requests with the same etag are not modified
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader("If-None-Match", response.getHeader("ETag"));
+		response = new MockHttpServletResponse();
+		worlds.listWorlds(request, response);
+		Assert.assertEquals(304, response.getStatus());
+		Assert.assertEquals(0, response.getContentAsByteArray().length);
+	}
+
+	@Test
+	public void testListWorldsNotLoaded() throws Exception
+	{
+		WorldsService worlds = new WorldsService();
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		worlds.listWorlds(new MockHttpServletRequest(), response);
+		Assert.assertEquals(503, response.getStatus());
 	}
 
 }
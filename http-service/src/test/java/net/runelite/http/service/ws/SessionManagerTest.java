@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.ws;
+
+import com.google.gson.Gson;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.websocket.Session;
+import net.runelite.http.api.ws.WebsocketGsonFactory;
+import net.runelite.http.api.ws.WebsocketMessage;
+import net.runelite.http.api.ws.messages.Handshake;
+import org.junit.Assert;
+import org.junit.Test;
+import static org.mockito.Mockito.mock;
+
+public class SessionManagerTest
+{
+	private static final int SESSIONS = 4096;
+	private static final int THREADS = 16;
+
+	private static final Gson gson = WebsocketGsonFactory.build();
+
+	private static String handshake(UUID uuid)
+	{
+		Handshake handshake = new Handshake();
+		handshake.setSession(uuid);
+		return gson.toJson(handshake, WebsocketMessage.class);
+	}
+
+	private static WSSession session(UUID uuid)
+	{
+		Collection<WSSession> sessions = SessionManager.findSessions(uuid);
+		Assert.assertEquals(1, sessions.size());
+		return sessions.iterator().next();
+	}
+
+	@Test
+	public void testHandshakeAndClose()
+	{
+		Session session = mock(Session.class);
+		UUID uuid = UUID.randomUUID();
+
+		WSService service = new WSService();
+		service.onOpen(session, null);
+		Assert.assertTrue(SessionManager.findSessions(uuid).isEmpty());
+
+		service.onMessage(session, handshake(uuid));
+		Assert.assertSame(service, session(uuid).getServlet());
+
+		// a new handshake replaces the old uuid
+		UUID newUuid = UUID.randomUUID();
+		service.onMessage(session, handshake(newUuid));
+		Assert.assertTrue(SessionManager.findSessions(uuid).isEmpty());
+		Assert.assertSame(service, session(newUuid).getServlet());
+
+		service.onClose(session, null);
+		Assert.assertTrue(SessionManager.findSessions(newUuid).isEmpty());
+	}
+
+	@Test
+	public void testSharedUuid()
+	{
+		Session session = mock(Session.class);
+		Session otherSession = mock(Session.class);
+		UUID uuid = UUID.randomUUID();
+
+		WSService service = new WSService();
+		WSService otherService = new WSService();
+		service.onOpen(session, null);
+		otherService.onOpen(otherSession, null);
+
+		service.onMessage(session, handshake(uuid));
+		otherService.onMessage(otherSession, handshake(uuid));
+		Assert.assertEquals(2, SessionManager.findSessions(uuid).size());
+
+		// closing one session keeps the other
+		service.onClose(session, null);
+		Assert.assertSame(otherService, session(uuid).getServlet());
+
+		otherService.onClose(otherSession, null);
+		Assert.assertTrue(SessionManager.findSessions(uuid).isEmpty());
+	}
+
+	@Test(timeout = 60_000L)
+	public void testConcurrentSessions() throws Exception
+	{
+		int before = SessionManager.size();
+
+		List<Session> sessions = new ArrayList<>(SESSIONS);
+		List<WSService> services = new ArrayList<>(SESSIONS);
+		List<UUID> uuids = new ArrayList<>(SESSIONS);
+		for (int i = 0; i < SESSIONS; ++i)
+		{
+			sessions.add(mock(Session.class));
+			services.add(new WSService());
+			uuids.add(UUID.randomUUID());
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+
+		// each thread opens and handshakes its share of sessions, while
+		// looking up the sessions of the other threads
+		for (int t = 0; t < THREADS; ++t)
+		{
+			final int thread = t;
+			futures.add(executor.submit(() ->
+			{
+				start.await();
+				for (int i = thread; i < SESSIONS; i += THREADS)
+				{
+					services.get(i).onOpen(sessions.get(i), null);
+					services.get(i).onMessage(sessions.get(i), handshake(uuids.get(i)));
+					SessionManager.findSessions(uuids.get((i + 1) % SESSIONS));
+				}
+				return null;
+			}));
+		}
+
+		start.countDown();
+		for (Future<?> future : futures)
+		{
+			future.get();
+		}
+
+		Assert.assertEquals(before + SESSIONS, SessionManager.size());
+		for (int i = 0; i < SESSIONS; ++i)
+		{
+			Assert.assertSame(services.get(i), session(uuids.get(i)).getServlet());
+		}
+
+		futures.clear();
+		for (int t = 0; t < THREADS; ++t)
+		{
+			final int thread = t;
+			futures.add(executor.submit(() ->
+			{
+				for (int i = thread; i < SESSIONS; i += THREADS)
+				{
+					services.get(i).onClose(sessions.get(i), null);
+				}
+				return null;
+			}));
+		}
+
+		for (Future<?> future : futures)
+		{
+			future.get();
+		}
+		executor.shutdown();
+
+		Assert.assertEquals(before, SessionManager.size());
+		for (UUID uuid : uuids)
+		{
+			Assert.assertTrue(SessionManager.findSessions(uuid).isEmpty());
+		}
+	}
+}
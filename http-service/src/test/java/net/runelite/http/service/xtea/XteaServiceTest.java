@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.xtea;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Random;
+import net.runelite.cache.fs.jagex.CompressionType;
+import net.runelite.cache.fs.jagex.DataFile;
+import net.runelite.cache.util.Xtea;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class XteaServiceTest
+{
+	private static final int[] KEYS = new int[]
+	{
+		0x1234, 0x5678, 0x9abc, 0xdef0
+	};
+
+	private static final int[] WRONG_KEYS = new int[]
+	{
+		0x1234, 0x5678, 0x9abc, 0xdef1
+	};
+
+	private static byte[] archive(int compression) throws GeneralSecurityException, IOException
+	{
+		byte[] data = new byte[4096];
+		new Random(42).nextBytes(data);
+
+		// encrypt everything after the compression type and compressed length,
+		// as the decompressed length is encrypted too
+		byte[] archive = DataFile.compress(data, compression, -1, null);
+		byte[] encrypted = new Xtea(KEYS).encrypt(Arrays.copyOfRange(archive, 5, archive.length), archive.length - 5);
+		System.arraycopy(encrypted, 0, archive, 5, encrypted.length);
+		return archive;
+	}
+
+	@Test
+	public void testCheckKeysGzip() throws GeneralSecurityException, IOException
+	{
+		byte[] archive = archive(CompressionType.GZ);
+		Assert.assertTrue(XteaService.checkKeys(archive, KEYS));
+		Assert.assertFalse(XteaService.checkKeys(archive, WRONG_KEYS));
+	}
+
+	@Test
+	public void testCheckKeysBzip2() throws GeneralSecurityException, IOException
+	{
+		byte[] archive = archive(CompressionType.BZ2);
+		Assert.assertTrue(XteaService.checkKeys(archive, KEYS));
+		Assert.assertFalse(XteaService.checkKeys(archive, WRONG_KEYS));
+	}
+
+	@Test
+	public void testCheckKeysUncompressed() throws GeneralSecurityException, IOException
+	{
+		// any keys decrypt uncompressed data, so none are accepted
+		byte[] archive = archive(CompressionType.NONE);
+		Assert.assertFalse(XteaService.checkKeys(archive, KEYS));
+	}
+
+	@Test
+	public void testCheckKeysMatchesDecompress() throws GeneralSecurityException, IOException
+	{
+		byte[] archive = archive(CompressionType.GZ);
+		Assert.assertNotNull(DataFile.decompress(archive, KEYS));
+	}
+}
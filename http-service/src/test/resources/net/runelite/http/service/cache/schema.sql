@@ -0,0 +1,58 @@
+-- H2 (MySQL mode) equivalent of the cache schema, used by the tests
+
+CREATE TABLE `cache` (
+  `id` int(11) NOT NULL AUTO_INCREMENT,
+  `revision` int(11) NOT NULL,
+  `date` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `revision_date` (`revision`,`date`)
+);
+
+CREATE TABLE `index` (
+  `id` int(11) NOT NULL AUTO_INCREMENT,
+  `indexId` int(11) NOT NULL,
+  `crc` int(11) NOT NULL,
+  `revision` int(11) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `indexId` (`indexId`,`revision`,`crc`)
+);
+
+CREATE TABLE `archive` (
+  `id` int(11) NOT NULL AUTO_INCREMENT,
+  `archiveId` int(11) NOT NULL,
+  `nameHash` int(11) NOT NULL,
+  `crc` int(11) NOT NULL,
+  `revision` int(11) NOT NULL,
+  `hash` binary(32) NOT NULL,
+  PRIMARY KEY (`id`)
+);
+
+CREATE INDEX `archive_revision` ON `archive` (`archiveId`,`revision`);
+
+CREATE TABLE `cache_index` (
+  `id` int(11) NOT NULL AUTO_INCREMENT,
+  `cache` int(11) NOT NULL,
+  `index` int(11) NOT NULL,
+  PRIMARY KEY (`id`),
+  FOREIGN KEY (`cache`) REFERENCES `cache` (`id`),
+  FOREIGN KEY (`index`) REFERENCES `index` (`id`)
+);
+
+CREATE TABLE `file` (
+  `id` int(11) NOT NULL AUTO_INCREMENT,
+  `archive` int(11) NOT NULL,
+  `fileId` int(11) NOT NULL,
+  `nameHash` int(11) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `archive_file` (`archive`,`fileId`),
+  FOREIGN KEY (`archive`) REFERENCES `archive` (`id`)
+);
+
+CREATE TABLE `index_archive` (
+  `id` int(11) NOT NULL AUTO_INCREMENT,
+  `index` int(11) NOT NULL,
+  `archive` int(11) NOT NULL,
+  PRIMARY KEY (`id`),
+  FOREIGN KEY (`index`) REFERENCES `index` (`id`),
+  FOREIGN KEY (`archive`) REFERENCES `archive` (`id`)
+);
@@ -0,0 +1,10 @@
+-- H2 (MySQL mode) equivalent of the examine schema, used by the tests
+
+CREATE TABLE `examine` (
+  `type` varchar(16) NOT NULL,
+  `id` int(11) NOT NULL,
+  `time` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  `count` int(11) NOT NULL,
+  `text` varchar(255) NOT NULL,
+  UNIQUE KEY `type` (`type`,`id`,`text`)
+);
@@ -54,6 +54,15 @@ public interface Actor extends Renderable
 
 	Polygon getCanvasTilePoly();
 
+	/**
+	 * Get the convex hull of the actor's model on the canvas. The returned
+	 * polygon is shared and reused by the next frame, so it must not be
+	 * modified or kept past the current frame; copy it if needed.
+	 *
+	 * @return the hull, or null if it is not on screen
+	 */
+	Polygon getConvexHull();
+
 	Point getCanvasTextLocation(Graphics2D graphics, String text, int zOffset);
 
 	Point getCanvasImageLocation(Graphics2D graphics, BufferedImage image, int zOffset);
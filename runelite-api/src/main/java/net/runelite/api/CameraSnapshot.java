@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api;
+
+/**
+ * A snapshot of the client's camera and terrain state, for projecting many
+ * points with {@link Perspective} without reading the client for each point.
+ * A snapshot should be taken once per frame, and only used on one thread.
+ */
+public class CameraSnapshot
+{
+	private final int cameraX;
+	private final int cameraY;
+	private final int cameraZ;
+	private final int pitchSin;
+	private final int pitchCos;
+	private final int yawSin;
+	private final int yawCos;
+	private final int scale;
+	private final int viewportHalfWidth;
+	private final int viewportHalfHeight;
+	private final int plane;
+	private final byte[][][] tileSettings;
+	private final int[][][] tileHeights;
+
+	private final boolean hasLocalPlayer;
+	private final int localX;
+	private final int localY;
+	private final int mapAngleSin;
+	private final int mapAngleCos;
+	private final int miniMapX;
+
+	// scratch space for tile heights during batched projections
+	private int[] heights = new int[0];
+
+	public CameraSnapshot(Client client)
+	{
+		int cameraPitch = client.getCameraPitch();
+		int cameraYaw = client.getCameraYaw();
+
+		cameraX = client.getCameraX();
+		cameraY = client.getCameraY();
+		cameraZ = client.getCameraZ();
+		pitchSin = Perspective.SINE[cameraPitch];
+		pitchCos = Perspective.COSINE[cameraPitch];
+		yawSin = Perspective.SINE[cameraYaw];
+		yawCos = Perspective.COSINE[cameraYaw];
+		scale = client.getScale();
+		viewportHalfWidth = client.getViewportWidth() / 2;
+		viewportHalfHeight = client.getViewportHeight() / 2;
+		plane = client.getPlane();
+		tileSettings = client.getTileSettings();
+		tileHeights = client.getTileHeights();
+
+		Player localPlayer = client.getLocalPlayer();
+		int angle = client.getMapAngle() & 0x7FF;
+
+		hasLocalPlayer = localPlayer != null;
+		if (hasLocalPlayer)
+		{
+			Point localLocation = localPlayer.getLocalLocation();
+			localX = localLocation.getX();
+			localY = localLocation.getY();
+		}
+		else
+		{
+			localX = 0;
+			localY = 0;
+		}
+		mapAngleSin = Perspective.SINE[angle];
+		mapAngleCos = Perspective.COSINE[angle];
+		miniMapX = client.getCanvas().getWidth() - (!client.isResized() ? 208 : 167);
+	}
+
+	int[] getHeights(int count)
+	{
+		if (heights.length < count)
+		{
+			heights = new int[count];
+		}
+		return heights;
+	}
+
+	public int getCameraX()
+	{
+		return cameraX;
+	}
+
+	public int getCameraY()
+	{
+		return cameraY;
+	}
+
+	public int getCameraZ()
+	{
+		return cameraZ;
+	}
+
+	public int getPitchSin()
+	{
+		return pitchSin;
+	}
+
+	public int getPitchCos()
+	{
+		return pitchCos;
+	}
+
+	public int getYawSin()
+	{
+		return yawSin;
+	}
+
+	public int getYawCos()
+	{
+		return yawCos;
+	}
+
+	public int getScale()
+	{
+		return scale;
+	}
+
+	public int getViewportHalfWidth()
+	{
+		return viewportHalfWidth;
+	}
+
+	public int getViewportHalfHeight()
+	{
+		return viewportHalfHeight;
+	}
+
+	public int getPlane()
+	{
+		return plane;
+	}
+
+	public byte[][][] getTileSettings()
+	{
+		return tileSettings;
+	}
+
+	public int[][][] getTileHeights()
+	{
+		return tileHeights;
+	}
+
+	public boolean hasLocalPlayer()
+	{
+		return hasLocalPlayer;
+	}
+
+	public int getLocalX()
+	{
+		return localX;
+	}
+
+	public int getLocalY()
+	{
+		return localY;
+	}
+
+	public int getMapAngleSin()
+	{
+		return mapAngleSin;
+	}
+
+	public int getMapAngleCos()
+	{
+		return mapAngleCos;
+	}
+
+	public int getMiniMapX()
+	{
+		return miniMapX;
+	}
+}
@@ -37,6 +37,8 @@ public interface Client
 
 	List<NPC> getNpcs();
 
+	EntityIndex getEntityIndex();
+
 	int getBoostedSkillLevel(Skill skill);
 
 	int getRealSkillLevel(Skill skill);
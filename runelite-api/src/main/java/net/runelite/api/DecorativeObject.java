@@ -33,5 +33,12 @@ import java.awt.Polygon;
  */
 public interface DecorativeObject extends TileObject
 {
+	/**
+	 * Get the convex hull of the object's model on the canvas. The
+	 * returned polygon is shared and reused by the next frame, so it must
+	 * not be modified or kept past the current frame; copy it if needed.
+	 *
+	 * @return the hull, or null if it is not on screen
+	 */
 	Polygon getConvexHull();
 }
@@ -0,0 +1,443 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Index of the entities currently loaded by the client. The index is
+ * rebuilt lazily on the first lookup after it has been invalidated by one
+ * of the client's spawn, despawn or region change hooks, so repeated
+ * queries within a game tick share the same snapshot rather than each
+ * rescanning the client.
+ */
+public class EntityIndex
+{
+	private static final int REGION_SIZE = 104;
+	private static final int PLANES = 4;
+
+	private static final NPC[] EMPTY_NPCS = new NPC[0];
+	private static final Player[] EMPTY_PLAYERS = new Player[0];
+	private static final PlaneTiles[] EMPTY_TILES = new PlaneTiles[0];
+
+	private final Client client;
+
+	// bumped on each invalidation, a snapshot is current while its version matches
+	private final AtomicInteger npcsVersion = new AtomicInteger();
+	private final AtomicInteger playersVersion = new AtomicInteger();
+	private final AtomicInteger regionVersion = new AtomicInteger();
+
+	private volatile Snapshot<NpcTable> npcs = new Snapshot<>(-1, new NpcTable(EMPTY_NPCS, new int[0], EMPTY_NPCS));
+	private volatile Snapshot<Player[]> players = new Snapshot<>(-1, EMPTY_PLAYERS);
+	private volatile Snapshot<PlaneTiles[]> tiles = new Snapshot<>(-1, EMPTY_TILES);
+
+	// tiles created since they were last merged into the tile snapshot
+	private final Queue<Tile> createdTiles = new ConcurrentLinkedQueue<>();
+
+	public EntityIndex(Client client)
+	{
+		this.client = client;
+	}
+
+	/**
+	 * Called when npcs have spawned, despawned or changed composition
+	 */
+	public void invalidateNpcs()
+	{
+		npcsVersion.incrementAndGet();
+	}
+
+	/**
+	 * Called when players have been added or removed
+	 */
+	public void invalidatePlayers()
+	{
+		playersVersion.incrementAndGet();
+	}
+
+	/**
+	 * Called when the region has changed or been reloaded
+	 */
+	public void invalidateRegion()
+	{
+		npcsVersion.incrementAndGet();
+		playersVersion.incrementAndGet();
+		regionVersion.incrementAndGet();
+		// the tiles are rescanned on the next lookup
+		createdTiles.clear();
+	}
+
+	/**
+	 * Called when a tile has been created. It is added to the tiles
+	 * of its plane on the next lookup, once it has been placed in the
+	 * region.
+	 *
+	 * @param tile
+	 */
+	public void tileCreated(Tile tile)
+	{
+		createdTiles.add(tile);
+	}
+
+	/**
+	 * Get all npcs. The returned array must not be modified.
+	 *
+	 * @return
+	 */
+	public NPC[] getNpcs()
+	{
+		return npcTable().npcs;
+	}
+
+	/**
+	 * Get the npcs with any of the given ids, in O(log n + matches)
+	 *
+	 * @param ids
+	 * @return
+	 */
+	public NPC[] getNpcs(int... ids)
+	{
+		NpcTable table = npcTable();
+
+		if (ids.length == 1)
+		{
+			return table.byId(ids[0]);
+		}
+
+		List<NPC> result = new ArrayList<>();
+		for (int id : ids)
+		{
+			result.addAll(Arrays.asList(table.byId(id)));
+		}
+		return result.toArray(new NPC[result.size()]);
+	}
+
+	/**
+	 * Get all players. The returned array must not be modified.
+	 *
+	 * @return
+	 */
+	public Player[] getPlayers()
+	{
+		Snapshot<Player[]> snapshot = players;
+		int version = playersVersion.get();
+		if (snapshot.version != version)
+		{
+			List<Player> list = client.getPlayers();
+			snapshot = new Snapshot<>(version, list.toArray(new Player[list.size()]));
+			players = snapshot;
+		}
+		return snapshot.value;
+	}
+
+	/**
+	 * Get the non-null tiles on the given plane. Tiles created since the
+	 * last lookup are merged in from the tile created hook.
+	 *
+	 * @param plane
+	 * @return
+	 */
+	public List<Tile> getTiles(int plane)
+	{
+		Snapshot<PlaneTiles[]> snapshot = tiles;
+		if (snapshot.version != regionVersion.get() || !createdTiles.isEmpty())
+		{
+			snapshot = updateTiles();
+		}
+
+		PlaneTiles[] planes = snapshot.value;
+		if (plane < 0 || plane >= planes.length)
+		{
+			return Collections.emptyList();
+		}
+
+		return planes[plane].tiles;
+	}
+
+	/**
+	 * Get the tile at the given region coordinates, or null
+	 *
+	 * @param plane
+	 * @param regionX
+	 * @param regionY
+	 * @return
+	 */
+	public Tile getTile(int plane, int regionX, int regionY)
+	{
+		if (plane < 0 || plane >= PLANES
+			|| regionX < 0 || regionX >= REGION_SIZE
+			|| regionY < 0 || regionY >= REGION_SIZE)
+		{
+			return null;
+		}
+
+		Region region = client.getRegion();
+		if (region == null)
+		{
+			return null;
+		}
+
+		return region.getTiles()[plane][regionX][regionY];
+	}
+
+	private NpcTable npcTable()
+	{
+		Snapshot<NpcTable> snapshot = npcs;
+		// The version is read before building, so an invalidation which
+		// races with the build causes another rebuild on the next lookup
+		int version = npcsVersion.get();
+		if (snapshot.version != version)
+		{
+			snapshot = new Snapshot<>(version, buildNpcs());
+			npcs = snapshot;
+		}
+		return snapshot.value;
+	}
+
+	private NpcTable buildNpcs()
+	{
+		List<NPC> list = client.getNpcs();
+		NPC[] all = list.toArray(new NPC[list.size()]);
+
+		// Sort a copy by id, so the npcs for an id are a contiguous range
+		NPC[] byId = all.clone();
+		Arrays.sort(byId, Comparator.comparingInt(EntityIndex::getId));
+
+		int[] ids = new int[byId.length];
+		for (int i = 0; i < byId.length; ++i)
+		{
+			ids[i] = getId(byId[i]);
+		}
+
+		return new NpcTable(all, ids, byId);
+	}
+
+	private static int getId(NPC npc)
+	{
+		return npc == null ? -1 : npc.getId();
+	}
+
+	/**
+	 * Rebuild the tiles if the region has been invalidated, and merge in
+	 * the created tiles. Synchronized so concurrent lookups do not publish
+	 * over each other's merged tiles.
+	 */
+	private synchronized Snapshot<PlaneTiles[]> updateTiles()
+	{
+		Snapshot<PlaneTiles[]> snapshot = tiles;
+		int version = regionVersion.get();
+
+		PlaneTiles[] planes;
+		if (snapshot.version != version)
+		{
+			planes = buildTiles();
+		}
+		else if (!createdTiles.isEmpty())
+		{
+			planes = snapshot.value.clone();
+		}
+		else
+		{
+			return snapshot;
+		}
+
+		boolean[] copied = new boolean[planes.length];
+		List<Tile> unplaced = null;
+		Tile tile;
+
+		while ((tile = createdTiles.poll()) != null)
+		{
+			int z = tile.getPlane();
+			if (z < 0 || z >= planes.length)
+			{
+				continue;
+			}
+
+			int x = tile.getX(), y = tile.getY();
+			Tile[][] source = planes[z].source;
+			if (x < 0 || x >= source.length || y < 0 || y >= source[x].length)
+			{
+				continue;
+			}
+
+			Tile placed = source[x][y];
+			if (placed == null)
+			{
+				// not placed in the region yet
+				if (unplaced == null)
+				{
+					unplaced = new ArrayList<>();
+				}
+				unplaced.add(tile);
+				continue;
+			}
+
+			int slot = x * REGION_SIZE + y;
+			if (placed != tile || planes[z].filled.get(slot))
+			{
+				// replaced, or already found by the rebuild
+				continue;
+			}
+
+			if (!copied[z])
+			{
+				copied[z] = true;
+				planes[z] = planes[z].copy();
+			}
+			planes[z].add(slot, tile);
+		}
+
+		if (unplaced != null)
+		{
+			createdTiles.addAll(unplaced);
+		}
+
+		snapshot = new Snapshot<>(version, planes);
+		tiles = snapshot;
+		return snapshot;
+	}
+
+	private PlaneTiles[] buildTiles()
+	{
+		Region region = client.getRegion();
+		if (region == null)
+		{
+			return EMPTY_TILES;
+		}
+
+		Tile[][][] regionTiles = region.getTiles();
+		PlaneTiles[] planes = new PlaneTiles[regionTiles.length];
+
+		for (int z = 0; z < regionTiles.length; ++z)
+		{
+			PlaneTiles planeTiles = new PlaneTiles(regionTiles[z], new ArrayList<>(), new BitSet());
+			Tile[][] source = regionTiles[z];
+
+			for (int x = 0; x < source.length; ++x)
+			{
+				Tile[] column = source[x];
+				for (int y = 0; y < column.length; ++y)
+				{
+					if (column[y] != null)
+					{
+						planeTiles.add(x * REGION_SIZE + y, column[y]);
+					}
+				}
+			}
+
+			planes[z] = planeTiles;
+		}
+
+		return planes;
+	}
+
+	private static class Snapshot<T>
+	{
+		private final int version;
+		private final T value;
+
+		Snapshot(int version, T value)
+		{
+			this.version = version;
+			this.value = value;
+		}
+	}
+
+	/**
+	 * The tiles of a plane. It is only modified before it is published,
+	 * merging created tiles works on a copy.
+	 */
+	private static class PlaneTiles
+	{
+		private final Tile[][] source;
+		private final List<Tile> list;
+		private final List<Tile> tiles;
+		// slots of source in list, as x * REGION_SIZE + y
+		private final BitSet filled;
+
+		PlaneTiles(Tile[][] source, List<Tile> list, BitSet filled)
+		{
+			this.source = source;
+			this.list = list;
+			this.tiles = Collections.unmodifiableList(list);
+			this.filled = filled;
+		}
+
+		PlaneTiles copy()
+		{
+			return new PlaneTiles(source, new ArrayList<>(list), (BitSet) filled.clone());
+		}
+
+		void add(int slot, Tile tile)
+		{
+			filled.set(slot);
+			list.add(tile);
+		}
+	}
+
+	private static class NpcTable
+	{
+		private final NPC[] npcs;
+		// npcs sorted by id, with ids[i] the id of byId[i]
+		private final int[] ids;
+		private final NPC[] byId;
+
+		NpcTable(NPC[] npcs, int[] ids, NPC[] byId)
+		{
+			this.npcs = npcs;
+			this.ids = ids;
+			this.byId = byId;
+		}
+
+		NPC[] byId(int id)
+		{
+			int idx = Arrays.binarySearch(ids, id);
+			if (idx < 0)
+			{
+				return EMPTY_NPCS;
+			}
+
+			int start = idx, end = idx + 1;
+			while (start > 0 && ids[start - 1] == id)
+			{
+				--start;
+			}
+			while (end < ids.length && ids[end] == id)
+			{
+				++end;
+			}
+
+			return Arrays.copyOfRange(byId, start, end);
+		}
+	}
+}
@@ -30,6 +30,12 @@ import net.runelite.api.model.Vertex;
 
 public interface Model extends Renderable
 {
+	int[] getVerticesX();
+
+	int[] getVerticesY();
+
+	int[] getVerticesZ();
+
 	List<Vertex> getVertices();
 
 	List<Triangle> getTriangles();
@@ -29,17 +29,20 @@ import java.awt.Graphics2D;
 import java.awt.Polygon;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.util.Arrays;
 
 public class Perspective
 {
 	private static final double UNIT = Math.PI / 1024d; // How much of the circle each unit of SINE/COSINE is
 
-	private static final int LOCAL_COORD_BITS = 7;
+	public static final int LOCAL_COORD_BITS = 7;
 	public static final int LOCAL_TILE_SIZE = 1 << LOCAL_COORD_BITS; // 128 - size of a tile in local coordinates
 
 	public static final int[] SINE = new int[2048]; // sine angles for each of the 2048 units, * 65536 and stored as an int
 	public static final int[] COSINE = new int[2048]; // cosine
 
+	public static final int OFF_SCREEN = Integer.MIN_VALUE; // canvas coordinate of points not on screen in batched projections
+
 	static
 	{
 		for (int i = 0; i < 2048; ++i)
@@ -113,6 +116,95 @@ public class Perspective
 
 	}
 
+	/**
+	 * Translates a batch of ground coordinates within the 3D world to their
+	 * corresponding coordinates on the game screen. The tile heights of the
+	 * whole batch are looked up before any point is projected. The input
+	 * and output arrays may be the same.
+	 *
+	 * @param camera camera snapshot for this frame
+	 * @param x ground coordinates on the x axis
+	 * @param y ground coordinates on the y axis
+	 * @param count number of points
+	 * @param zOffset distance from ground on the z axis
+	 * @param canvasX canvas x coordinates, or {@link #OFF_SCREEN} if the
+	 * point is not on screen
+	 * @param canvasY canvas y coordinates, or {@link #OFF_SCREEN} if the
+	 * point is not on screen
+	 * @return the number of points on screen
+	 */
+	public static int worldToCanvas(CameraSnapshot camera, int[] x, int[] y, int count, int zOffset, int[] canvasX, int[] canvasY)
+	{
+		byte[][][] tileSettings = camera.getTileSettings();
+		int[][][] tileHeights = camera.getTileHeights();
+		int plane = camera.getPlane();
+		int[] heights = camera.getHeights(count);
+
+		for (int i = 0; i < count; ++i)
+		{
+			int px = x[i];
+			int py = y[i];
+
+			if (px >= 128 && py >= 128 && px <= 13056 && py <= 13056)
+			{
+				heights[i] = getTileHeight(tileSettings, tileHeights, px, py, plane) - zOffset;
+			}
+			else
+			{
+				heights[i] = OFF_SCREEN;
+			}
+		}
+
+		int cameraX = camera.getCameraX();
+		int cameraY = camera.getCameraY();
+		int cameraZ = camera.getCameraZ();
+		int pitchSin = camera.getPitchSin();
+		int pitchCos = camera.getPitchCos();
+		int yawSin = camera.getYawSin();
+		int yawCos = camera.getYawCos();
+		int scale = camera.getScale();
+		int viewportHalfWidth = camera.getViewportHalfWidth();
+		int viewportHalfHeight = camera.getViewportHalfHeight();
+
+		int onScreen = 0;
+
+		for (int i = 0; i < count; ++i)
+		{
+			int z = heights[i];
+
+			if (z == OFF_SCREEN)
+			{
+				canvasX[i] = OFF_SCREEN;
+				canvasY[i] = OFF_SCREEN;
+				continue;
+			}
+
+			int px = x[i] - cameraX;
+			int py = y[i] - cameraY;
+			z -= cameraZ;
+
+			int var8 = yawCos * px + py * yawSin >> 16;
+			py = yawCos * py - yawSin * px >> 16;
+			px = var8;
+			var8 = pitchCos * z - py * pitchSin >> 16;
+			py = z * pitchSin + py * pitchCos >> 16;
+
+			if (py >= 50)
+			{
+				canvasX[i] = viewportHalfHeight + px * scale / py;
+				canvasY[i] = var8 * scale / py + viewportHalfWidth;
+				++onScreen;
+			}
+			else
+			{
+				canvasX[i] = OFF_SCREEN;
+				canvasY[i] = OFF_SCREEN;
+			}
+		}
+
+		return onScreen;
+	}
+
 	/**
 	 * Translates two-dimensional ground coordinates within the 3D world to
 	 * their corresponding coordinates on the Minimap.
@@ -166,6 +258,63 @@ public class Perspective
 		return new Point(-1, -1);
 	}
 
+	/**
+	 * Translates a batch of ground coordinates within the 3D world to their
+	 * corresponding coordinates on the Minimap. The input and output arrays
+	 * may be the same.
+	 *
+	 * @param camera camera snapshot for this frame
+	 * @param x ground coordinates on the x axis
+	 * @param y ground coordinates on the y axis
+	 * @param count number of points
+	 * @param distance max distance from local player to minimap point
+	 * @param miniMapX minimap x coordinates, or -1 if the point is too far
+	 * @param miniMapY minimap y coordinates, or -1 if the point is too far
+	 * @return the number of points within the distance
+	 */
+	public static int worldToMiniMap(CameraSnapshot camera, int[] x, int[] y, int count, int distance, int[] miniMapX, int[] miniMapY)
+	{
+		if (!camera.hasLocalPlayer())
+		{
+			Arrays.fill(miniMapX, 0, count, -1);
+			Arrays.fill(miniMapY, 0, count, -1);
+			return 0;
+		}
+
+		int localX = camera.getLocalX() / 32;
+		int localY = camera.getLocalY() / 32;
+		int sin = camera.getMapAngleSin();
+		int cos = camera.getMapAngleCos();
+		int centerX = camera.getMiniMapX() + 167 / 2;
+		int centerY = 167 / 2 - 1;
+
+		int inRange = 0;
+
+		for (int i = 0; i < count; ++i)
+		{
+			int px = x[i] / 32 - localX;
+			int py = y[i] / 32 - localY;
+
+			int dist = px * px + py * py;
+			if (dist < distance)
+			{
+				int xx = py * sin + cos * px >> 16;
+				int yy = sin * px - py * cos >> 16;
+
+				miniMapX[i] = centerX + xx;
+				miniMapY[i] = centerY + yy;
+				++inRange;
+			}
+			else
+			{
+				miniMapX[i] = -1;
+				miniMapY[i] = -1;
+			}
+		}
+
+		return inRange;
+	}
+
 	/**
 	 * Calculates the above ground height of a tile point.
 	 *
@@ -176,14 +325,27 @@ public class Perspective
 	 * @return the offset from the ground of the tile
 	 */
 	public static int getTileHeight(Client client, int x, int y, int plane)
+	{
+		return getTileHeight(client.getTileSettings(), client.getTileHeights(), x, y, plane);
+	}
+
+	/**
+	 * Calculates the above ground height of a tile point, using tile
+	 * settings and heights already read from the client.
+	 *
+	 * @param tileSettings the client's tile settings
+	 * @param tileHeights the client's tile heights
+	 * @param x the ground coordinate on the x axis
+	 * @param y the ground coordinate on the y axis
+	 * @param plane the client plane/ground level
+	 * @return the offset from the ground of the tile
+	 */
+	public static int getTileHeight(byte[][][] tileSettings, int[][][] tileHeights, int x, int y, int plane)
 	{
 		int var3 = x >> 7;
 		int var4 = y >> 7;
 		if (var3 >= 0 && var4 >= 0 && var3 <= 103 && var4 <= 103)
 		{
-			byte[][][] tileSettings = client.getTileSettings();
-			int[][][] tileHeights = client.getTileHeights();
-
 			int var5 = plane;
 			if (plane < 3 && (tileSettings[1][var3][var4] & 2) == 2)
 			{
@@ -250,6 +412,93 @@ public class Perspective
 		return poly;
 	}
 
+	/**
+	 * Calculates a batch of tile polygons. The corners of tile i are
+	 * written to indexes 4 * i through 4 * i + 3 of the output arrays, in
+	 * the same order as {@link #getCanvasTilePoly(Client, Point)}.
+	 *
+	 * @param camera camera snapshot for this frame
+	 * @param x local x coordinates of the tiles
+	 * @param y local y coordinates of the tiles
+	 * @param count number of tiles
+	 * @param polyX canvas x coordinates of the corners, at least 4 * count
+	 * long. The first corner is {@link #OFF_SCREEN} if any corner of the
+	 * tile is not on screen.
+	 * @param polyY canvas y coordinates of the corners, at least 4 * count
+	 * long
+	 * @return the number of tiles on screen
+	 */
+	public static int getCanvasTilePolys(CameraSnapshot camera, int[] x, int[] y, int count, int[] polyX, int[] polyY)
+	{
+		int halfTile = Perspective.LOCAL_TILE_SIZE / 2;
+
+		// fill backwards so x and y may also be used as the output
+		for (int i = count - 1; i >= 0; --i)
+		{
+			int px = x[i];
+			int py = y[i];
+			int corner = i * 4;
+
+			polyX[corner] = px - halfTile;
+			polyY[corner] = py - halfTile;
+			polyX[corner + 1] = px - halfTile;
+			polyY[corner + 1] = py + halfTile;
+			polyX[corner + 2] = px + halfTile;
+			polyY[corner + 2] = py + halfTile;
+			polyX[corner + 3] = px + halfTile;
+			polyY[corner + 3] = py - halfTile;
+		}
+
+		worldToCanvas(camera, polyX, polyY, count * 4, camera.getPlane(), polyX, polyY);
+
+		int onScreen = 0;
+
+		for (int corner = 0; corner < count * 4; corner += 4)
+		{
+			if (polyX[corner] == OFF_SCREEN || polyX[corner + 1] == OFF_SCREEN
+				|| polyX[corner + 2] == OFF_SCREEN || polyX[corner + 3] == OFF_SCREEN)
+			{
+				polyX[corner] = OFF_SCREEN;
+			}
+			else
+			{
+				++onScreen;
+			}
+		}
+
+		return onScreen;
+	}
+
+	/**
+	 * Copies a tile polygon computed by
+	 * {@link #getCanvasTilePolys(CameraSnapshot, int[], int[], int, int[], int[])}
+	 * into a polygon.
+	 *
+	 * @param polyX canvas x coordinates of the corners
+	 * @param polyY canvas y coordinates of the corners
+	 * @param tile index of the tile
+	 * @param polygon polygon to fill, which is reset first
+	 * @return false if the tile is not on screen
+	 */
+	public static boolean getCanvasTilePoly(int[] polyX, int[] polyY, int tile, Polygon polygon)
+	{
+		int corner = tile * 4;
+
+		polygon.reset();
+
+		if (polyX[corner] == OFF_SCREEN)
+		{
+			return false;
+		}
+
+		for (int i = corner; i < corner + 4; ++i)
+		{
+			polygon.addPoint(polyX[i], polyY[i]);
+		}
+
+		return true;
+	}
+
 	/**
 	 * Calculates text position and centers depending on string length.
 	 *
@@ -40,4 +40,25 @@ public interface Tile
 	GroundObject getGroundObject();
 
 	WallObject getWallObject();
+
+	/**
+	 * Get the plane this tile is on.
+	 *
+	 * @return
+	 */
+	int getPlane();
+
+	/**
+	 * Get the x coordinate of this tile within the region.
+	 *
+	 * @return
+	 */
+	int getX();
+
+	/**
+	 * Get the y coordinate of this tile within the region.
+	 *
+	 * @return
+	 */
+	int getY();
 }
@@ -49,5 +49,14 @@ public interface TileObject
 
 	Point getMinimapLocation();
 
+	/**
+	 * Get the convex hull of a model drawn at this object's location. The
+	 * returned polygon is shared and reused by the next frame, so it must
+	 * not be modified or kept past the current frame; copy it if needed.
+	 *
+	 * @param model
+	 * @param orientation
+	 * @return the hull, or null if it is not on screen
+	 */
 	Polygon getConvexHull(Model model, int orientation);
 }
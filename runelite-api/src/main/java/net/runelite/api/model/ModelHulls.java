@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api.model;
+
+import java.awt.Polygon;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import net.runelite.api.Client;
+import net.runelite.api.Model;
+import net.runelite.api.Perspective;
+import net.runelite.api.Renderable;
+
+/**
+ * Computes the canvas convex hulls of models. Vertices are rotated and
+ * projected straight from the model's vertex arrays into reusable scratch
+ * buffers, and hulls are cached per owner and model for the rest of the
+ * frame. The cache is emptied every frame so it holds no references to
+ * objects which have since despawned.
+ * <p>
+ * This is only to be used from the client thread.
+ */
+public class ModelHulls
+{
+	private static final Map<Object, CachedHull> cache = new IdentityHashMap<>();
+	// hulls are reused from frame to frame to avoid allocating polygons
+	private static final List<CachedHull> pool = new ArrayList<>();
+	private static int poolSize;
+
+	private static long[] points = new long[0];
+	private static int[] hullX = new int[0];
+	private static int[] hullY = new int[0];
+
+	private static class CachedHull
+	{
+		private final Polygon polygon = new Polygon();
+		private Renderable renderable;
+		private int localX;
+		private int localY;
+		private int orientation;
+		private boolean empty;
+	}
+
+	/**
+	 * Called at the start of each frame, invalidating the hulls computed
+	 * during the previous frame
+	 */
+	public static void nextFrame()
+	{
+		cache.clear();
+
+		for (int i = 0; i < poolSize; ++i)
+		{
+			pool.get(i).renderable = null;
+		}
+		poolSize = 0;
+	}
+
+	/**
+	 * Get the convex hull of a renderable drawn at the given local location
+	 * and orientation. The renderable's model is only requested if the hull
+	 * is not already cached for this frame. The returned polygon is reused,
+	 * and is only valid until the next frame.
+	 *
+	 * @param client
+	 * @param owner the object being drawn, used as the cache key
+	 * @param renderable the model, or a renderable to get the model from
+	 * @param localX
+	 * @param localY
+	 * @param orientation
+	 * @return the hull, or null if there is no model or fewer than 3
+	 * vertices are on screen
+	 */
+	public static Polygon getConvexHull(Client client, Object owner, Renderable renderable, int localX, int localY, int orientation)
+	{
+		CachedHull cached = cache.get(owner);
+
+		if (cached != null && cached.renderable == renderable
+			&& cached.localX == localX && cached.localY == localY && cached.orientation == orientation)
+		{
+			return cached.empty ? null : cached.polygon;
+		}
+
+		Model model = renderable instanceof Model ? (Model) renderable : renderable.getModel();
+		if (model == null)
+		{
+			return null;
+		}
+
+		if (cached == null)
+		{
+			if (poolSize == pool.size())
+			{
+				pool.add(new CachedHull());
+			}
+			cached = pool.get(poolSize++);
+			cache.put(owner, cached);
+		}
+
+		cached.renderable = renderable;
+		cached.localX = localX;
+		cached.localY = localY;
+		cached.orientation = orientation;
+		cached.empty = !computeConvexHull(client, model, localX, localY, orientation, cached.polygon);
+
+		return cached.empty ? null : cached.polygon;
+	}
+
+	/**
+	 * Compute the convex hull of a model drawn at the given local location
+	 * and orientation into a polygon
+	 *
+	 * @param client
+	 * @param model
+	 * @param localX
+	 * @param localY
+	 * @param orientation
+	 * @param polygon polygon to fill, which is reset first
+	 * @return false if fewer than 3 vertices are on screen
+	 */
+	public static boolean computeConvexHull(Client client, Model model, int localX, int localY, int orientation, Polygon polygon)
+	{
+		int[] verticesX = model.getVerticesX();
+		int[] verticesY = model.getVerticesY();
+		int[] verticesZ = model.getVerticesZ();
+		int count = verticesX.length;
+
+		if (points.length < count)
+		{
+			points = new long[count];
+			hullX = new int[count * 2];
+			hullY = new int[count * 2];
+		}
+
+		// models are orientated north (1024) and there are 2048 angles total
+		orientation = (orientation + 1024) % 2048;
+		int orientationSin = Perspective.SINE[orientation];
+		int orientationCos = Perspective.COSINE[orientation];
+
+		byte[][][] tileSettings = client.getTileSettings();
+		int[][][] tileHeights = client.getTileHeights();
+		int plane = client.getPlane();
+
+		int cameraX = client.getCameraX();
+		int cameraY = client.getCameraY();
+		int cameraZ = client.getCameraZ();
+		int cameraPitch = client.getCameraPitch();
+		int cameraYaw = client.getCameraYaw();
+		int scale = client.getScale();
+		int viewportHalfHeight = client.getViewportHeight() / 2;
+		int viewportHalfWidth = client.getViewportWidth() / 2;
+
+		int pitchSin = Perspective.SINE[cameraPitch];
+		int pitchCos = Perspective.COSINE[cameraPitch];
+		int yawSin = Perspective.SINE[cameraYaw];
+		int yawCos = Perspective.COSINE[cameraYaw];
+
+		int projected = 0;
+
+		for (int i = 0; i < count; ++i)
+		{
+			int vx = verticesX[i];
+			int vy = verticesY[i];
+			int vz = verticesZ[i];
+
+			if (orientation != 0)
+			{
+				int rotatedX = vx * orientationCos + vz * orientationSin >> 16;
+				vz = vz * orientationCos - vx * orientationSin >> 16;
+				vx = rotatedX;
+			}
+
+			// Compute canvas location of vertex, as Perspective.worldToCanvas
+			int x = localX - vx;
+			int y = localY - vz;
+
+			if (x < 128 || y < 128 || x > 13056 || y > 13056)
+			{
+				continue;
+			}
+
+			int z = Perspective.getTileHeight(tileSettings, tileHeights, x, y, plane) + vy;
+			x -= cameraX;
+			y -= cameraY;
+			z -= cameraZ;
+
+			int x1 = yawCos * x + y * yawSin >> 16;
+			int y1 = yawCos * y - yawSin * x >> 16;
+			int z1 = pitchCos * z - y1 * pitchSin >> 16;
+			y1 = z * pitchSin + y1 * pitchCos >> 16;
+
+			if (y1 < 50)
+			{
+				continue;
+			}
+
+			int pointX = viewportHalfHeight + x1 * scale / y1;
+			int pointY = z1 * scale / y1 + viewportHalfWidth;
+			points[projected++] = MonotoneChain.pack(pointX, pointY);
+		}
+
+		polygon.reset();
+
+		int hullSize = MonotoneChain.convexHull(points, projected, hullX, hullY);
+		if (hullSize == 0)
+		{
+			return false;
+		}
+
+		for (int i = 0; i < hullSize; ++i)
+		{
+			polygon.addPoint(hullX[i], hullY[i]);
+		}
+
+		return true;
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api.model;
+
+import java.util.Arrays;
+
+/**
+ * Implementation of Andrew's monotone chain convex hull algorithm on
+ * primitive arrays
+ * https://en.wikibooks.org/wiki/Algorithm_Implementation/Geometry/Convex_hull/Monotone_chain
+ */
+public class MonotoneChain
+{
+	private static final long Y_BIAS = 0x80000000L;
+
+	/**
+	 * Pack a point into a long such that sorting the packed values sorts the
+	 * points by x, then by y
+	 *
+	 * @param x
+	 * @param y
+	 * @return
+	 */
+	public static long pack(int x, int y)
+	{
+		return ((long) x << 32) + (y + Y_BIAS);
+	}
+
+	public static int unpackX(long point)
+	{
+		return (int) (point >> 32);
+	}
+
+	public static int unpackY(long point)
+	{
+		return (int) ((point & 0xffffffffL) - Y_BIAS);
+	}
+
+	/**
+	 * compute the convex hull of a set of packed points. points is sorted
+	 * in place.
+	 *
+	 * @param points points, packed with {@link #pack(int, int)}
+	 * @param count number of points
+	 * @param hullX x coordinates of the hull, must be at least 2 * count long
+	 * @param hullY y coordinates of the hull, must be at least 2 * count long
+	 * @return the number of points in the hull, or 0 if there are fewer
+	 * than 3 points
+	 */
+	public static int convexHull(long[] points, int count, int[] hullX, int[] hullY)
+	{
+		if (count < 3)
+		{
+			return 0;
+		}
+
+		Arrays.sort(points, 0, count);
+
+		int k = 0;
+
+		// lower hull
+		for (int i = 0; i < count; ++i)
+		{
+			int x = unpackX(points[i]), y = unpackY(points[i]);
+
+			while (k >= 2 && crossProduct(hullX[k - 2], hullY[k - 2], hullX[k - 1], hullY[k - 1], x, y) <= 0)
+			{
+				--k;
+			}
+
+			hullX[k] = x;
+			hullY[k] = y;
+			++k;
+		}
+
+		// upper hull
+		for (int i = count - 2, lower = k + 1; i >= 0; --i)
+		{
+			int x = unpackX(points[i]), y = unpackY(points[i]);
+
+			while (k >= lower && crossProduct(hullX[k - 2], hullY[k - 2], hullX[k - 1], hullY[k - 1], x, y) <= 0)
+			{
+				--k;
+			}
+
+			hullX[k] = x;
+			hullY[k] = y;
+			++k;
+		}
+
+		// the last point is the same as the first
+		--k;
+
+		return k < 3 ? 0 : k;
+	}
+
+	private static long crossProduct(int ox, int oy, int ax, int ay, int bx, int by)
+	{
+		return (long) (ax - ox) * (by - oy) - (long) (ay - oy) * (bx - ox);
+	}
+}
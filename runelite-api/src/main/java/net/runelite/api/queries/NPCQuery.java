@@ -24,16 +24,23 @@
  */
 package net.runelite.api.queries;
 
+import java.util.Arrays;
 import net.runelite.api.Client;
+import net.runelite.api.EntityIndex;
 import net.runelite.api.NPC;
 
 
 public class NPCQuery extends ActorQuery<NPC, NPCQuery>
 {
+	private int[] ids;
+
 	@Override
 	public NPC[] result(Client client)
 	{
-		return client.getNpcs().stream()
+		EntityIndex index = client.getEntityIndex();
+		NPC[] npcs = ids != null ? index.getNpcs(ids) : index.getNpcs();
+
+		return Arrays.stream(npcs)
 				.filter(predicate)
 				.toArray(NPC[]::new);
 	}
@@ -41,6 +48,12 @@ public class NPCQuery extends ActorQuery<NPC, NPCQuery>
 	@SuppressWarnings("unchecked")
 	public NPCQuery idEquals(int... ids)
 	{
+		// only the first id filter can be used to narrow the index lookup
+		if (this.ids == null)
+		{
+			this.ids = ids;
+		}
+
 		predicate = and(object ->
 		{
 			for (int id : ids)
@@ -24,6 +24,7 @@
  */
 package net.runelite.api.queries;
 
+import java.util.Arrays;
 import net.runelite.api.Client;
 import net.runelite.api.Player;
 
@@ -32,7 +33,7 @@ public class PlayerQuery extends ActorQuery<Player, PlayerQuery>
 	@Override
 	public Player[] result(Client client)
 	{
-		return client.getPlayers().stream()
+		return Arrays.stream(client.getEntityIndex().getPlayers())
 			.filter(predicate)
 			.toArray(Player[]::new);
 	}
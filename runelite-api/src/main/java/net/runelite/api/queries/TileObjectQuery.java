@@ -25,38 +25,47 @@
 package net.runelite.api.queries;
 
 import net.runelite.api.Client;
+import net.runelite.api.EntityIndex;
+import net.runelite.api.Perspective;
 import net.runelite.api.Point;
 import net.runelite.api.Query;
-import net.runelite.api.Region;
 import net.runelite.api.Tile;
 import net.runelite.api.TileObject;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public abstract class TileObjectQuery<EntityType extends TileObject, QueryType> extends Query<EntityType, QueryType>
 {
-	private static final int REGION_SIZE = 104;
+	private Point worldLocation;
+	private Point localLocation;
 
 	protected List<Tile> getTiles(Client client)
 	{
-		List<Tile> tilesList = new ArrayList<>();
-		Region region = client.getRegion();
-		Tile[][][] tiles = region.getTiles();
+		EntityIndex index = client.getEntityIndex();
 		int z = client.getPlane();
-		for (int x = 0; x < REGION_SIZE; ++x)
+
+		// A location filter can only match objects on that one tile
+		if (localLocation != null)
 		{
-			for (int y = 0; y < REGION_SIZE; ++y)
-			{
-				Tile tile = tiles[z][x][y];
-				if (tile == null)
-				{
-					continue;
-				}
-				tilesList.add(tile);
-			}
+			return singleton(index.getTile(z,
+				localLocation.getX() >>> Perspective.LOCAL_COORD_BITS,
+				localLocation.getY() >>> Perspective.LOCAL_COORD_BITS));
 		}
-		return tilesList;
+
+		if (worldLocation != null)
+		{
+			return singleton(index.getTile(z,
+				worldLocation.getX() - client.getBaseX(),
+				worldLocation.getY() - client.getBaseY()));
+		}
+
+		return index.getTiles(z);
+	}
+
+	private static List<Tile> singleton(Tile tile)
+	{
+		return tile != null ? Collections.singletonList(tile) : Collections.emptyList();
 	}
 
 	@SuppressWarnings("unchecked")
@@ -79,6 +88,11 @@ public abstract class TileObjectQuery<EntityType extends TileObject, QueryType>
 	@SuppressWarnings("unchecked")
 	public QueryType atWorldLocation(Point location)
 	{
+		if (worldLocation == null)
+		{
+			worldLocation = location;
+		}
+
 		predicate = and(object -> object.getWorldLocation().equals(location));
 		return (QueryType) this;
 	}
@@ -86,6 +100,11 @@ public abstract class TileObjectQuery<EntityType extends TileObject, QueryType>
 	@SuppressWarnings("unchecked")
 	public QueryType atLocalLocation(Point location)
 	{
+		if (localLocation == null)
+		{
+			localLocation = location;
+		}
+
 		predicate = and(object -> object.getLocalLocation().equals(location));
 		return (QueryType) this;
 	}
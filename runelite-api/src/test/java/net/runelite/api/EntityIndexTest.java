@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EntityIndexTest
+{
+	private Tile[][][] tiles;
+	private final List<NPC> npcs = new ArrayList<>();
+	private EntityIndex index;
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> clazz, java.lang.reflect.InvocationHandler handler)
+	{
+		return (T) Proxy.newProxyInstance(clazz.getClassLoader(), new Class<?>[]
+		{
+			clazz
+		}, handler);
+	}
+
+	private static Tile tile(int plane, int x, int y)
+	{
+		return proxy(Tile.class, (proxy, method, args) ->
+		{
+			switch (method.getName())
+			{
+				case "equals":
+					return proxy == args[0];
+				case "getPlane":
+					return plane;
+				case "getX":
+					return x;
+				case "getY":
+					return y;
+			}
+			throw new UnsupportedOperationException(method.getName());
+		});
+	}
+
+	private static NPC npc(int id)
+	{
+		return proxy(NPC.class, (proxy, method, args) ->
+		{
+			if (method.getName().equals("getId"))
+			{
+				return id;
+			}
+			throw new UnsupportedOperationException(method.getName());
+		});
+	}
+
+	@Before
+	public void before()
+	{
+		tiles = new Tile[4][104][104];
+		tiles[0][1][2] = tile(0, 1, 2);
+		tiles[0][3][4] = tile(0, 3, 4);
+
+		Region region = proxy(Region.class, (proxy, method, args) ->
+		{
+			if (method.getName().equals("getTiles"))
+			{
+				return tiles;
+			}
+			throw new UnsupportedOperationException(method.getName());
+		});
+
+		Client client = proxy(Client.class, (proxy, method, args) ->
+		{
+			switch (method.getName())
+			{
+				case "getRegion":
+					return region;
+				case "getNpcs":
+					return npcs;
+			}
+			throw new UnsupportedOperationException(method.getName());
+		});
+
+		index = new EntityIndex(client);
+	}
+
+	@Test
+	public void testTiles()
+	{
+		List<Tile> plane = index.getTiles(0);
+		Assert.assertEquals(2, plane.size());
+		Assert.assertSame(plane, index.getTiles(0));
+		Assert.assertTrue(index.getTiles(1).isEmpty());
+		Assert.assertTrue(index.getTiles(4).isEmpty());
+	}
+
+	@Test
+	public void testTileCreated()
+	{
+		Assert.assertEquals(2, index.getTiles(0).size());
+
+		// a created tile is found without invalidation
+		Tile tile = tile(0, 103, 103);
+		index.tileCreated(tile);
+		Assert.assertEquals(2, index.getTiles(0).size());
+
+		tiles[0][103][103] = tile;
+		List<Tile> plane = index.getTiles(0);
+		Assert.assertEquals(3, plane.size());
+		Assert.assertTrue(plane.contains(tile));
+		Assert.assertSame(plane, index.getTiles(0));
+
+		// a tile which was replaced before the lookup is not added
+		Tile replaced = tile(1, 0, 0);
+		index.tileCreated(replaced);
+		tiles[1][0][0] = tile(1, 0, 0);
+		index.tileCreated(tiles[1][0][0]);
+		Assert.assertEquals(1, index.getTiles(1).size());
+		Assert.assertFalse(index.getTiles(1).contains(replaced));
+	}
+
+	@Test
+	public void testInvalidateRegion()
+	{
+		Assert.assertEquals(2, index.getTiles(0).size());
+
+		// a new region replaces the tile arrays
+		tiles = new Tile[4][104][104];
+		tiles[0][5][5] = tile(0, 5, 5);
+		Assert.assertEquals(2, index.getTiles(0).size());
+
+		index.invalidateRegion();
+		Assert.assertEquals(1, index.getTiles(0).size());
+	}
+
+	@Test
+	public void testInvalidateNpcs()
+	{
+		npcs.add(npc(1));
+		npcs.add(npc(2));
+		npcs.add(npc(1));
+
+		Assert.assertEquals(3, index.getNpcs().length);
+		Assert.assertEquals(2, index.getNpcs(1).length);
+		Assert.assertEquals(3, index.getNpcs(1, 2).length);
+
+		npcs.add(npc(2));
+		Assert.assertEquals(3, index.getNpcs().length);
+
+		index.invalidateNpcs();
+		Assert.assertEquals(4, index.getNpcs().length);
+		Assert.assertEquals(2, index.getNpcs(2).length);
+	}
+}
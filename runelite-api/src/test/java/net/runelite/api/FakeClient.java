@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api;
+
+import java.awt.Canvas;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Random;
+
+/**
+ * A client with a fixed camera and random terrain, for exercising
+ * {@link Perspective} outside of the game
+ */
+public class FakeClient implements InvocationHandler
+{
+	private final byte[][][] tileSettings = new byte[4][104][104];
+	private final int[][][] tileHeights = new int[4][105][105];
+	private final Canvas canvas = new Canvas();
+	private final Player localPlayer;
+
+	private FakeClient(Random random)
+	{
+		for (int z = 0; z < 4; ++z)
+		{
+			for (int x = 0; x < 105; ++x)
+			{
+				for (int y = 0; y < 105; ++y)
+				{
+					tileHeights[z][x][y] = -random.nextInt(1000);
+				}
+			}
+		}
+
+		canvas.setSize(765, 503);
+
+		localPlayer = (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[]
+		{
+			Player.class
+		}, (proxy, method, args) ->
+		{
+			if (method.getName().equals("getLocalLocation"))
+			{
+				return new Point(6528, 6528);
+			}
+			throw new UnsupportedOperationException(method.getName());
+		});
+	}
+
+	public static Client create(Random random)
+	{
+		return (Client) Proxy.newProxyInstance(Client.class.getClassLoader(), new Class<?>[]
+		{
+			Client.class
+		}, new FakeClient(random));
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args)
+	{
+		switch (method.getName())
+		{
+			case "getCameraX":
+				return 6528;
+			case "getCameraY":
+				return 5120;
+			case "getCameraZ":
+				return -1200;
+			case "getCameraPitch":
+				return 300;
+			case "getCameraYaw":
+				return 0;
+			case "getScale":
+				return 512;
+			case "getViewportWidth":
+				return 512;
+			case "getViewportHeight":
+				return 334;
+			case "getPlane":
+				return 0;
+			case "getMapAngle":
+				return 0;
+			case "isResized":
+				return false;
+			case "getTileSettings":
+				return tileSettings;
+			case "getTileHeights":
+				return tileHeights;
+			case "getCanvas":
+				return canvas;
+			case "getLocalPlayer":
+				return localPlayer;
+		}
+		throw new UnsupportedOperationException(method.getName());
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api;
+
+import java.awt.Polygon;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PerspectiveTest
+{
+	private static final int COUNT = 2048;
+
+	private Client client;
+	private int[] x;
+	private int[] y;
+
+	@Before
+	public void before()
+	{
+		Random random = new Random(42);
+		client = FakeClient.create(random);
+
+		x = new int[COUNT];
+		y = new int[COUNT];
+		for (int i = 0; i < COUNT; ++i)
+		{
+			// include some points outside of the region
+			x[i] = random.nextInt(13312);
+			y[i] = random.nextInt(13312);
+		}
+	}
+
+	@Test
+	public void testWorldToCanvas()
+	{
+		int[] canvasX = new int[COUNT];
+		int[] canvasY = new int[COUNT];
+
+		int onScreen = Perspective.worldToCanvas(new CameraSnapshot(client), x, y, COUNT, 10, canvasX, canvasY);
+
+		int expected = 0;
+		for (int i = 0; i < COUNT; ++i)
+		{
+			Point p = Perspective.worldToCanvas(client, x[i], y[i], 10);
+			if (p == null)
+			{
+				Assert.assertEquals(Perspective.OFF_SCREEN, canvasX[i]);
+				Assert.assertEquals(Perspective.OFF_SCREEN, canvasY[i]);
+			}
+			else
+			{
+				Assert.assertEquals(p.getX(), canvasX[i]);
+				Assert.assertEquals(p.getY(), canvasY[i]);
+				++expected;
+			}
+		}
+
+		Assert.assertTrue(expected > 0);
+		Assert.assertEquals(expected, onScreen);
+	}
+
+	@Test
+	public void testWorldToMiniMap()
+	{
+		int[] miniMapX = new int[COUNT];
+		int[] miniMapY = new int[COUNT];
+
+		Perspective.worldToMiniMap(new CameraSnapshot(client), x, y, COUNT, 6400, miniMapX, miniMapY);
+
+		for (int i = 0; i < COUNT; ++i)
+		{
+			Point p = Perspective.worldToMiniMap(client, x[i], y[i], 6400);
+			Assert.assertEquals(p.getX(), miniMapX[i]);
+			Assert.assertEquals(p.getY(), miniMapY[i]);
+		}
+	}
+
+	@Test
+	public void testGetCanvasTilePolys()
+	{
+		int[] polyX = new int[COUNT * 4];
+		int[] polyY = new int[COUNT * 4];
+		Polygon polygon = new Polygon();
+
+		Perspective.getCanvasTilePolys(new CameraSnapshot(client), x, y, COUNT, polyX, polyY);
+
+		for (int i = 0; i < COUNT; ++i)
+		{
+			Polygon expected = Perspective.getCanvasTilePoly(client, new Point(x[i], y[i]));
+			boolean onScreen = Perspective.getCanvasTilePoly(polyX, polyY, i, polygon);
+
+			Assert.assertEquals(expected != null, onScreen);
+			if (expected != null)
+			{
+				Assert.assertArrayEquals(expected.xpoints, polygon.xpoints);
+				Assert.assertArrayEquals(expected.ypoints, polygon.ypoints);
+			}
+		}
+	}
+}
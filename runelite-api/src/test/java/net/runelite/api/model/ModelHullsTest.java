@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api.model;
+
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.lang.reflect.Proxy;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.runelite.api.Client;
+import net.runelite.api.FakeClient;
+import net.runelite.api.Model;
+import net.runelite.api.Renderable;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ModelHullsTest
+{
+	private static final int X = 6528;
+	private static final int Y = 6528;
+
+	private final Client client = FakeClient.create(new Random(42));
+
+	@After
+	public void after()
+	{
+		ModelHulls.nextFrame();
+	}
+
+	private static Model cube(int size)
+	{
+		int[] verticesX = new int[8];
+		int[] verticesY = new int[8];
+		int[] verticesZ = new int[8];
+		for (int i = 0; i < 8; ++i)
+		{
+			verticesX[i] = (i & 1) == 0 ? -size : size;
+			verticesY[i] = (i & 2) == 0 ? 0 : -size * 2;
+			verticesZ[i] = (i & 4) == 0 ? -size : size;
+		}
+
+		return (Model) Proxy.newProxyInstance(Model.class.getClassLoader(), new Class<?>[]
+		{
+			Model.class
+		}, (proxy, method, args) ->
+		{
+			switch (method.getName())
+			{
+				case "getVerticesX":
+					return verticesX;
+				case "getVerticesY":
+					return verticesY;
+				case "getVerticesZ":
+					return verticesZ;
+				case "getModel":
+					return proxy;
+			}
+			throw new UnsupportedOperationException(method.getName());
+		});
+	}
+
+	@Test
+	public void testCached()
+	{
+		Model model = cube(64);
+		AtomicInteger lookups = new AtomicInteger();
+		Renderable renderable = (Renderable) Proxy.newProxyInstance(Renderable.class.getClassLoader(), new Class<?>[]
+		{
+			Renderable.class
+		}, (proxy, method, args) ->
+		{
+			if (method.getName().equals("getModel"))
+			{
+				lookups.incrementAndGet();
+				return model;
+			}
+			throw new UnsupportedOperationException(method.getName());
+		});
+		Object owner = new Object();
+
+		Polygon hull = ModelHulls.getConvexHull(client, owner, renderable, X, Y, 0);
+		Assert.assertNotNull(hull);
+		Assert.assertSame(hull, ModelHulls.getConvexHull(client, owner, renderable, X, Y, 0));
+		Assert.assertEquals(1, lookups.get());
+
+		// moving invalidates the hull
+		ModelHulls.getConvexHull(client, owner, renderable, X + 128, Y, 0);
+		Assert.assertEquals(2, lookups.get());
+
+		// as does the next frame
+		ModelHulls.nextFrame();
+		ModelHulls.getConvexHull(client, owner, renderable, X + 128, Y, 0);
+		Assert.assertEquals(3, lookups.get());
+	}
+
+	@Test
+	public void testModelChanged()
+	{
+		Object owner = new Object();
+
+		Rectangle small = ModelHulls.getConvexHull(client, owner, cube(32), X, Y, 0).getBounds();
+		Rectangle large = ModelHulls.getConvexHull(client, owner, cube(128), X, Y, 0).getBounds();
+
+		Assert.assertTrue(large.width > small.width);
+		Assert.assertTrue(large.height > small.height);
+	}
+}
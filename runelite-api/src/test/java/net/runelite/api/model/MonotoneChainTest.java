@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api.model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MonotoneChainTest
+{
+	@Test
+	public void test()
+	{
+		long[] points =
+		{
+			MonotoneChain.pack(0, 3),
+			MonotoneChain.pack(1, 1),
+			MonotoneChain.pack(2, 2),
+			MonotoneChain.pack(4, 4),
+			MonotoneChain.pack(0, 0),
+			MonotoneChain.pack(1, 2),
+			MonotoneChain.pack(3, 1),
+			MonotoneChain.pack(3, 3)
+		};
+		int[] hullX = new int[points.length * 2];
+		int[] hullY = new int[points.length * 2];
+
+		int size = MonotoneChain.convexHull(points, points.length, hullX, hullY);
+		Assert.assertEquals(4, size);
+		Assert.assertArrayEquals(new int[]
+		{
+			0, 3, 4, 0
+		}, slice(hullX, size));
+		Assert.assertArrayEquals(new int[]
+		{
+			0, 1, 4, 3
+		}, slice(hullY, size));
+	}
+
+	@Test
+	public void testNegative()
+	{
+		long[] points =
+		{
+			MonotoneChain.pack(-5, -5),
+			MonotoneChain.pack(5, -5),
+			MonotoneChain.pack(0, 0),
+			MonotoneChain.pack(5, 5),
+			MonotoneChain.pack(-5, 5)
+		};
+		int[] hullX = new int[points.length * 2];
+		int[] hullY = new int[points.length * 2];
+
+		int size = MonotoneChain.convexHull(points, points.length, hullX, hullY);
+		Assert.assertEquals(4, size);
+		Assert.assertArrayEquals(new int[]
+		{
+			-5, 5, 5, -5
+		}, slice(hullX, size));
+		Assert.assertArrayEquals(new int[]
+		{
+			-5, -5, 5, 5
+		}, slice(hullY, size));
+	}
+
+	@Test
+	public void testCollinear()
+	{
+		long[] points =
+		{
+			MonotoneChain.pack(0, 0),
+			MonotoneChain.pack(1, 1),
+			MonotoneChain.pack(2, 2),
+			MonotoneChain.pack(3, 3)
+		};
+		int[] hullX = new int[points.length * 2];
+		int[] hullY = new int[points.length * 2];
+
+		Assert.assertEquals(0, MonotoneChain.convexHull(points, points.length, hullX, hullY));
+	}
+
+	private static int[] slice(int[] array, int length)
+	{
+		int[] result = new int[length];
+		System.arraycopy(array, 0, result, 0, length);
+		return result;
+	}
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes the names of all classes annotated with PluginDescriptor to
+ * {@link #PLUGIN_INDEX}, so the client can load its plugins without
+ * scanning the classpath. An incremental compile only sees the classes
+ * being recompiled, so the existing index is merged in rather than
+ * replaced.
+ */
+@SupportedAnnotationTypes(PluginIndexProcessor.PLUGIN_DESCRIPTOR)
+public class PluginIndexProcessor extends AbstractProcessor
+{
+	static final String PLUGIN_DESCRIPTOR = "net.runelite.client.plugins.PluginDescriptor";
+
+	public static final String PLUGIN_INDEX = "META-INF/runelite/plugins";
+
+	private final Set<String> plugins = new TreeSet<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion()
+	{
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+	{
+		for (TypeElement annotation : annotations)
+		{
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation))
+			{
+				if (element.getKind() == ElementKind.CLASS)
+				{
+					TypeElement type = (TypeElement) element;
+					plugins.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+				}
+			}
+		}
+
+		if (roundEnv.processingOver() && !plugins.isEmpty())
+		{
+			readIndex();
+			writeIndex();
+		}
+
+		return false;
+	}
+
+	private void readIndex()
+	{
+		try
+		{
+			FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", PLUGIN_INDEX);
+
+			try (BufferedReader in = new BufferedReader(file.openReader(true)))
+			{
+				String name;
+				while ((name = in.readLine()) != null)
+				{
+					if (!name.isEmpty() && isPlugin(name))
+					{
+						plugins.add(name);
+					}
+				}
+			}
+		}
+		catch (IOException ex)
+		{
+			// No index from a previous compile
+		}
+	}
+
+	/**
+	 * Check if a class from a previous index is still a plugin. Classes
+	 * which can't be resolved are kept, the client warns about those
+	 * it can't load.
+	 */
+	private boolean isPlugin(String name)
+	{
+		TypeElement type = processingEnv.getElementUtils().getTypeElement(name.replace('$', '.'));
+		if (type == null)
+		{
+			return true;
+		}
+
+		for (AnnotationMirror mirror : type.getAnnotationMirrors())
+		{
+			TypeElement annotation = (TypeElement) mirror.getAnnotationType().asElement();
+			if (annotation.getQualifiedName().contentEquals(PLUGIN_DESCRIPTOR))
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private void writeIndex()
+	{
+		try
+		{
+			FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", PLUGIN_INDEX);
+
+			try (PrintWriter out = new PrintWriter(file.openWriter()))
+			{
+				for (String plugin : plugins)
+				{
+					out.println(plugin);
+				}
+			}
+		}
+		catch (IOException ex)
+		{
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "unable to write plugin index: " + ex);
+		}
+	}
+}
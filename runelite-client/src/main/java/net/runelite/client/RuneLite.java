@@ -25,8 +25,6 @@
 package net.runelite.client;
 
 import com.google.common.base.Strings;
-import com.google.common.eventbus.EventBus;
-import com.google.common.eventbus.SubscriberExceptionContext;
 import com.google.gson.Gson;
 import java.awt.AWTException;
 import java.awt.Frame;
@@ -41,8 +39,9 @@ import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import javax.imageio.ImageIO;
 import javax.swing.JFrame;
 import javax.swing.JPopupMenu;
@@ -56,11 +55,16 @@ import net.runelite.api.Query;
 import net.runelite.client.account.AccountSession;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.config.RuneliteConfig;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.eventbus.Subscriber;
 import net.runelite.client.events.SessionClose;
 import net.runelite.client.events.SessionOpen;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.menus.MenuManager;
 import net.runelite.client.plugins.PluginManager;
+import net.runelite.client.task.MeteredExecutor;
+import net.runelite.client.task.MeteredScheduledExecutor;
+import net.runelite.client.task.NamedThreadFactory;
 import net.runelite.client.task.Scheduler;
 import net.runelite.client.ui.ClientUI;
 import net.runelite.client.ui.overlay.OverlayRenderer;
@@ -80,6 +84,10 @@ public class RuneLite
 
 	public static Image ICON;
 
+	private static final int NETWORK_THREADS = 8;
+	private static final int CPU_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+	private static final long SHUTDOWN_TIMEOUT = 5; // seconds
+
 	private static OptionSet options;
 	private static Client client;
 	private static RuneLite runelite;
@@ -91,13 +99,17 @@ public class RuneLite
 	private PluginManager pluginManager;
 	private final MenuManager menuManager = new MenuManager(this);
 	private OverlayRenderer renderer;
-	private final EventBus eventBus = new EventBus(this::eventExceptionHandler);
-	private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+	private final MeteredScheduledExecutor executor = new MeteredScheduledExecutor("RuneLite Timer", 1, new NamedThreadFactory("RuneLite Timer"));
+	private final MeteredExecutor networkExecutor = new MeteredExecutor("RuneLite Network", NETWORK_THREADS, 1024, NamedThreadFactory.virtual("RuneLite Network"));
+	private final MeteredExecutor cpuExecutor = new MeteredExecutor("RuneLite Worker", CPU_THREADS, 1024, new NamedThreadFactory("RuneLite Worker"));
+	// single thread so config updates reach the server in order
+	private final MeteredExecutor configExecutor = new MeteredExecutor("RuneLite Config", 1, 1024, NamedThreadFactory.virtual("RuneLite Config"));
+	private final EventBus eventBus = new EventBus(cpuExecutor, this::eventExceptionHandler);
 	private final Scheduler scheduler = new Scheduler(this);
 	private WSClient wsclient;
 
 	private AccountSession accountSession;
-	private final ConfigManager configManager = new ConfigManager(eventBus);
+	private final ConfigManager configManager = new ConfigManager(eventBus, configExecutor);
 	private final ItemManager itemManager = new ItemManager(this);
 	private final InfoBoxManager infoBoxManager = new InfoBoxManager();
 
@@ -127,6 +139,7 @@ public class RuneLite
 		PROFILES_DIR.mkdirs();
 
 		runelite = new RuneLite();
+		Runtime.getRuntime().addShutdownHook(new Thread(runelite::shutdown, "RuneLite Shutdown"));
 		runelite.start();
 	}
 
@@ -153,6 +166,7 @@ public class RuneLite
 		});
 
 		configManager.load();
+		itemManager.loadPrices();
 
 		config = configManager.getConfig(RuneliteConfig.class);
 
@@ -175,6 +189,47 @@ public class RuneLite
 		loadSession();
 	}
 
+	/**
+	 * Stop accepting background work, and wait a bounded time for work
+	 * already submitted to finish
+	 */
+	public void shutdown()
+	{
+		itemManager.savePrices();
+
+		// stop the timer first so it doesn't hand off any more work
+		executor.shutdown();
+		networkExecutor.shutdown();
+		cpuExecutor.shutdown();
+		configExecutor.shutdown();
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SHUTDOWN_TIMEOUT);
+
+		for (ExecutorService service : new ExecutorService[]
+		{
+			executor, networkExecutor, cpuExecutor, configExecutor
+		})
+		{
+			try
+			{
+				if (!service.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS))
+				{
+					logger.warn("Executor {} did not terminate, interrupting {} tasks", service, service.shutdownNow().size());
+				}
+			}
+			catch (InterruptedException ex)
+			{
+				service.shutdownNow();
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		logger.debug("{}", executor.getMetrics());
+		logger.debug("{}", networkExecutor.getMetrics());
+		logger.debug("{}", cpuExecutor.getMetrics());
+		logger.debug("{}", configExecutor.getMetrics());
+	}
+
 	public void setTitle(String extra)
 	{
 		if (!Strings.isNullOrEmpty(extra))
@@ -333,9 +388,9 @@ public class RuneLite
 		eventBus.post(new SessionClose());
 	}
 
-	private void eventExceptionHandler(Throwable exception, SubscriberExceptionContext context)
+	private void eventExceptionHandler(Throwable exception, Subscriber subscriber)
 	{
-		logger.warn("uncaught exception in event subscriber", exception);
+		logger.warn("uncaught exception in event subscriber {}", subscriber, exception);
 	}
 
 	public static Client getClient()
@@ -393,11 +448,37 @@ public class RuneLite
 		return options;
 	}
 
+	/**
+	 * Get the timer executor. Tasks run on it must be short, blocking work
+	 * should be handed off to the network or cpu executors.
+	 *
+	 * @return
+	 */
 	public ScheduledExecutorService getExecutor()
 	{
 		return executor;
 	}
 
+	/**
+	 * Get the executor for blocking network calls
+	 *
+	 * @return
+	 */
+	public MeteredExecutor getNetworkExecutor()
+	{
+		return networkExecutor;
+	}
+
+	/**
+	 * Get the executor for background computation
+	 *
+	 * @return
+	 */
+	public MeteredExecutor getCpuExecutor()
+	{
+		return cpuExecutor;
+	}
+
 	public Scheduler getScheduler()
 	{
 		return scheduler;
@@ -24,14 +24,15 @@
  */
 package net.runelite.client;
 
-import com.google.common.eventbus.EventBus;
 import com.google.gson.Gson;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import net.runelite.client.account.AccountSession;
+import net.runelite.client.eventbus.EventBus;
 import net.runelite.http.api.RuneliteAPI;
 import net.runelite.http.api.ws.messages.Handshake;
 import net.runelite.http.api.ws.messages.Ping;
@@ -53,7 +54,8 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 
 	private static final Gson gson = WebsocketGsonFactory.build();
 	private static final EventBus eventBus = RuneLite.getRunelite().getEventBus();
-	private static final ScheduledExecutorService executor = RuneLite.getRunelite().getExecutor();
+	private static final ScheduledExecutorService timer = RuneLite.getRunelite().getExecutor();
+	private static final ExecutorService executor = RuneLite.getRunelite().getNetworkExecutor();
 
 	private final OkHttpClient client = new OkHttpClient();
 
@@ -64,7 +66,7 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 	public WSClient(AccountSession session)
 	{
 		this.session = session;
-		this.pingFuture = executor.scheduleWithFixedDelay(this::ping, PING_TIME.getSeconds(), PING_TIME.getSeconds(), TimeUnit.SECONDS);
+		this.pingFuture = timer.scheduleWithFixedDelay(() -> executor.execute(this::ping), PING_TIME.getSeconds(), PING_TIME.getSeconds(), TimeUnit.SECONDS);
 	}
 
 	public AccountSession getSession()
@@ -32,6 +32,8 @@ import net.runelite.api.MainBufferProvider;
 import net.runelite.api.MenuAction;
 import net.runelite.api.MessageNode;
 import net.runelite.api.Skill;
+import net.runelite.api.Tile;
+import net.runelite.api.model.ModelHulls;
 import net.runelite.client.RuneLite;
 import net.runelite.client.events.*;
 import net.runelite.client.game.DeathChecker;
@@ -50,10 +52,20 @@ public class Hooks
 	private static final RuneLite runelite = RuneLite.getRunelite();
 	private static final DeathChecker death = new DeathChecker(runelite);
 
+	private static final Skill[] SKILLS = Skill.values();
+	private static final VarbitChanged VARBIT_CHANGED = new VarbitChanged();
+
 	private static long lastCheck;
+	private static boolean varbitsChanged;
 
 	public static void clientMainLoop(Client client, boolean arg1)
 	{
+		if (varbitsChanged)
+		{
+			varbitsChanged = false;
+			runelite.getEventBus().post(VARBIT_CHANGED);
+		}
+
 		long now = System.currentTimeMillis();
 
 		if (now - lastCheck < CHECK)
@@ -87,6 +99,9 @@ public class Hooks
 
 		OverlayRenderer renderer = runelite.getRenderer();
 
+		// hulls computed for the last frame are stale now
+		ModelHulls.nextFrame();
+
 		try
 		{
 			renderer.render(image);
@@ -97,85 +112,202 @@ public class Hooks
 		}
 	}
 
+	/**
+	 * Dispatches a field hook by name. The injector binds field hooks
+	 * directly to their method on this class, so this is only kept for
+	 * clients injected prior to that.
+	 */
+	@Deprecated
 	public static void callHook(String name, int idx, Object object)
 	{
-		if (RuneLite.getClient() == null)
-		{
-			logger.warn("Event {} triggered prior to client being ready", name);
-			return;
-		}
-
 		switch (name)
 		{
+			case "npcIndexesChanged":
+				npcIndexesChanged(idx, object);
+				break;
+			case "npcCompositionChanged":
+				npcCompositionChanged(idx, object);
+				break;
+			case "playerIndexesChanged":
+				playerIndexesChanged(idx, object);
+				break;
 			case "experienceChanged":
-			{
-				ExperienceChanged experienceChanged = new ExperienceChanged();
-				Skill[] possibleSkills = Skill.values();
-
-				// We subtract one here because 'Overall' isn't considered a skill that's updated.
-				if (idx < possibleSkills.length - 1)
-				{
-					Skill updatedSkill = possibleSkills[idx];
-					experienceChanged.setSkill(updatedSkill);
-					runelite.getEventBus().post(experienceChanged);
-				}
+				experienceChanged(idx, object);
 				break;
-			}
 			case "mapRegionsChanged":
-			{
-				MapRegionChanged regionChanged = new MapRegionChanged();
-				regionChanged.setIndex(idx);
-				runelite.getEventBus().post(regionChanged);
+				mapRegionsChanged(idx, object);
 				break;
-			}
 			case "playerMenuOptionsChanged":
-			{
-				PlayerMenuOptionsChanged optionsChanged = new PlayerMenuOptionsChanged();
-				optionsChanged.setIndex(idx);
-				runelite.getEventBus().post(optionsChanged);
+				playerMenuOptionsChanged(idx, object);
 				break;
-			}
 			case "animationChanged":
-			{
-				AnimationChanged animationChange = new AnimationChanged();
-				animationChange.setObject(object);
-				runelite.getEventBus().post(animationChange);
+				animationChanged(idx, object);
 				break;
-			}
 			case "gameStateChanged":
-			{
-				GameStateChanged gameStateChange = new GameStateChanged();
-				gameStateChange.setGameState(RuneLite.getClient().getGameState());
-				runelite.getEventBus().post(gameStateChange);
+				gameStateChanged(idx, object);
 				break;
-			}
 			case "varbitChanged":
-			{
-				VarbitChanged varbitChanged = new VarbitChanged();
-				runelite.getEventBus().post(varbitChanged);
+				varbitChanged(idx, object);
 				break;
-			}
 			case "resizeChanged":
-			{
-				//maybe couple with varbitChanged. resizeable may not be a varbit but it would fit with the other client settings.
-				ResizeableChanged resizeableChanged = new ResizeableChanged();
-				resizeableChanged.setResized(RuneLite.getClient().isResized());
-				runelite.getEventBus().post(resizeableChanged);
+				resizeChanged(idx, object);
+				break;
+			case "tileCreated":
+				tileCreated(idx, object);
 				break;
-			}
 			default:
 				logger.warn("Unknown event {} triggered on {}", name, object);
-				return;
+				break;
+		}
+	}
+
+	public static void npcIndexesChanged(int idx, Object object)
+	{
+		Client client = RuneLite.getClient();
+		if (!isReady(client, "npcIndexesChanged"))
+		{
+			return;
+		}
+
+		client.getEntityIndex().invalidateNpcs();
+	}
+
+	public static void npcCompositionChanged(int idx, Object object)
+	{
+		Client client = RuneLite.getClient();
+		if (!isReady(client, "npcCompositionChanged"))
+		{
+			return;
+		}
+
+		client.getEntityIndex().invalidateNpcs();
+	}
+
+	public static void playerIndexesChanged(int idx, Object object)
+	{
+		Client client = RuneLite.getClient();
+		if (!isReady(client, "playerIndexesChanged"))
+		{
+			return;
+		}
+
+		client.getEntityIndex().invalidatePlayers();
+	}
+
+	public static void experienceChanged(int idx, Object object)
+	{
+		if (!isReady(RuneLite.getClient(), "experienceChanged"))
+		{
+			return;
+		}
+
+		// We subtract one here because 'Overall' isn't considered a skill that's updated.
+		if (idx < 0 || idx >= SKILLS.length - 1)
+		{
+			return;
+		}
+
+		ExperienceChanged experienceChanged = new ExperienceChanged();
+		experienceChanged.setSkill(SKILLS[idx]);
+		runelite.getEventBus().post(experienceChanged);
+	}
+
+	public static void mapRegionsChanged(int idx, Object object)
+	{
+		Client client = RuneLite.getClient();
+		if (!isReady(client, "mapRegionsChanged"))
+		{
+			return;
+		}
+
+		client.getEntityIndex().invalidateRegion();
+
+		MapRegionChanged regionChanged = new MapRegionChanged();
+		regionChanged.setIndex(idx);
+		runelite.getEventBus().post(regionChanged);
+	}
+
+	public static void playerMenuOptionsChanged(int idx, Object object)
+	{
+		if (!isReady(RuneLite.getClient(), "playerMenuOptionsChanged"))
+		{
+			return;
+		}
+
+		PlayerMenuOptionsChanged optionsChanged = new PlayerMenuOptionsChanged();
+		optionsChanged.setIndex(idx);
+		runelite.getEventBus().post(optionsChanged);
+	}
+
+	public static void animationChanged(int idx, Object object)
+	{
+		if (!isReady(RuneLite.getClient(), "animationChanged"))
+		{
+			return;
+		}
+
+		// not reused, as asynchronous subscribers read the event after the post returns
+		AnimationChanged animationChanged = new AnimationChanged();
+		animationChanged.setObject(object);
+		runelite.getEventBus().post(animationChanged);
+	}
+
+	public static void gameStateChanged(int idx, Object object)
+	{
+		Client client = RuneLite.getClient();
+		if (!isReady(client, "gameStateChanged"))
+		{
+			return;
 		}
 
-		if (object != null)
+		client.getEntityIndex().invalidateRegion();
+
+		GameStateChanged gameStateChange = new GameStateChanged();
+		gameStateChange.setGameState(client.getGameState());
+		runelite.getEventBus().post(gameStateChange);
+	}
+
+	public static void varbitChanged(int idx, Object object)
+	{
+		// The settings array is written to many times per tick, so changes
+		// are coalesced and posted once from the main loop
+		varbitsChanged = true;
+	}
+
+	public static void resizeChanged(int idx, Object object)
+	{
+		Client client = RuneLite.getClient();
+		if (!isReady(client, "resizeChanged"))
 		{
-			logger.trace("Event {} (idx {}) triggered on {}", name, idx, object);
+			return;
 		}
-		else
+
+		//maybe couple with varbitChanged. resizeable may not be a varbit but it would fit with the other client settings.
+		ResizeableChanged resizeableChanged = new ResizeableChanged();
+		resizeableChanged.setResized(client.isResized());
+		runelite.getEventBus().post(resizeableChanged);
+	}
+
+	public static void tileCreated(int idx, Object object)
+	{
+		Client client = RuneLite.getClient();
+		if (!isReady(client, "tileCreated"))
 		{
-			logger.trace("Event {} (idx {}) triggered", name, idx);
+			return;
 		}
+
+		client.getEntityIndex().tileCreated((Tile) object);
+	}
+
+	private static boolean isReady(Client client, String name)
+	{
+		if (client == null)
+		{
+			logger.warn("Event {} triggered prior to client being ready", name);
+			return false;
+		}
+
+		return true;
 	}
 
 	public static void menuActionHook(int var0, int var1, int menuAction, int id, String menuOption, String menuTarget, int var6, int var7)
@@ -212,6 +344,15 @@ public class Hooks
 		runelite.getEventBus().post(chatMessage);
 	}
 
+	public static void groundItemSpawned(int x, int y)
+	{
+		ItemLayerChanged itemLayerChanged = new ItemLayerChanged();
+		itemLayerChanged.setX(x);
+		itemLayerChanged.setY(y);
+
+		runelite.getEventBus().post(itemLayerChanged);
+	}
+
 	public static void setMessage(MessageNode messageNode, int type, String name, String sender, String value)
 	{
 		// Hook is fired prior to actually setting these on the MessageNode, so send them
@@ -24,7 +24,6 @@
  */
 package net.runelite.client.config;
 
-import com.google.common.eventbus.EventBus;
 import java.awt.Color;
 
 import java.io.File;
@@ -41,9 +40,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 import net.runelite.client.RuneLite;
 import net.runelite.client.account.AccountSession;
+import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.events.ConfigChanged;
 import net.runelite.http.api.config.ConfigClient;
 import net.runelite.http.api.config.ConfigEntry;
@@ -58,6 +61,11 @@ public class ConfigManager
 	private static final String SETTINGS_FILE_NAME = "settings.properties";
 
 	private final EventBus eventBus;
+	/**
+	 * executor for config updates sent to the server. It must be single
+	 * threaded so that updates of the same key arrive in order.
+	 */
+	private final Executor executor;
 	private AccountSession session;
 	private ConfigClient client;
 	private File propertiesFile;
@@ -67,15 +75,17 @@ public class ConfigManager
 
 	private final List<Object> configProxies = new ArrayList<>();
 
-	public ConfigManager(EventBus eventBus)
+	public ConfigManager(EventBus eventBus, Executor executor)
 	{
 		this.eventBus = eventBus;
+		this.executor = executor;
 		this.propertiesFile = getPropertiesFile();
 	}
 
-	public ConfigManager(EventBus eventBus, AccountSession session)
+	public ConfigManager(EventBus eventBus, Executor executor, AccountSession session)
 	{
 		this.eventBus = eventBus;
+		this.executor = executor;
 		switchSession(session);
 	}
 
@@ -102,7 +112,7 @@ public class ConfigManager
 		else
 		{
 			this.session = session;
-			this.client = new ConfigClient(session.getUuid());
+			this.client = createClient(session.getUuid());
 		}
 
 		this.propertiesFile = getPropertiesFile();
@@ -111,6 +121,11 @@ public class ConfigManager
 		loadDefault(); // set defaults over anything not set
 	}
 
+	ConfigClient createClient(UUID uuid)
+	{
+		return new ConfigClient(uuid);
+	}
+
 	private File getPropertiesFile()
 	{
 		// Sessions that aren't logged in have no username
@@ -230,21 +245,27 @@ public class ConfigManager
 
 		String oldValue = (String) properties.setProperty(groupName + "." + key, value);
 
+		ConfigClient client = this.client;
 		if (client != null)
 		{
-			Runnable task = () ->
+			try
 			{
-				try
-				{
-					client.set(groupName + "." + key, value);
-				}
-				catch (IOException ex)
+				executor.execute(() ->
 				{
-					logger.warn("unable to set configuration item", ex);
-				}
-			};
-			RuneLite.getRunelite().getExecutor().execute(task);
-
+					try
+					{
+						client.set(groupName + "." + key, value);
+					}
+					catch (IOException ex)
+					{
+						logger.warn("unable to set configuration item", ex);
+					}
+				});
+			}
+			catch (RejectedExecutionException ex)
+			{
+				logger.warn("unable to set configuration item", ex);
+			}
 		}
 
 		try
@@ -271,15 +292,26 @@ public class ConfigManager
 
 		String oldValue = (String) properties.remove(groupName + "." + key);
 
+		ConfigClient client = this.client;
 		if (client != null)
 		{
 			try
 			{
-				client.unset(groupName + "." + key);
+				executor.execute(() ->
+				{
+					try
+					{
+						client.unset(groupName + "." + key);
+					}
+					catch (IOException ex)
+					{
+						logger.warn("unable to unset configuration item", ex);
+					}
+				});
 			}
-			catch (IOException ex)
+			catch (RejectedExecutionException ex)
 			{
-				logger.warn("unable to set configuration item", ex);
+				logger.warn("unable to unset configuration item", ex);
 			}
 		}
 
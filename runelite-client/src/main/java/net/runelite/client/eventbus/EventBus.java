@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.eventbus;
+
+import com.google.common.eventbus.Subscribe;
+import com.google.common.reflect.TypeToken;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
+
+/**
+ * Dispatches events to {@link Subscribe} methods. Subscriber methods are
+ * bound to invokers when they are registered, and the subscribers for each
+ * event type are kept in arrays which are replaced on registration changes,
+ * so posting an event does not lock or allocate.
+ * <p>
+ * Unlike the Guava event bus, events posted from within a subscriber are
+ * delivered immediately rather than queued, and subscribers are not
+ * synchronized against concurrent posts.
+ */
+public class EventBus
+{
+	private static final Subscriber[] EMPTY = new Subscriber[0];
+
+	private final Executor executor;
+	private final BiConsumer<Throwable, Subscriber> exceptionHandler;
+
+	/**
+	 * Subscribers registered for each event type. Only replaced while
+	 * holding the lock on this.
+	 */
+	private volatile Map<Class<?>, Subscriber[]> subscribers = new HashMap<>();
+
+	/**
+	 * Subscribers for a posted event type, including those registered
+	 * for its supertypes. Replaced whenever subscribers changes.
+	 */
+	private volatile ConcurrentHashMap<Class<?>, Subscriber[]> dispatch = new ConcurrentHashMap<>();
+
+	/**
+	 * @param executor executor used for {@link Asynchronous} subscribers
+	 * @param exceptionHandler called with exceptions thrown by subscribers
+	 */
+	public EventBus(Executor executor, BiConsumer<Throwable, Subscriber> exceptionHandler)
+	{
+		this.executor = executor;
+		this.exceptionHandler = exceptionHandler;
+	}
+
+	/**
+	 * Register all {@link Subscribe} methods of the object
+	 *
+	 * @param object
+	 */
+	public synchronized void register(Object object)
+	{
+		Map<Class<?>, Subscriber[]> map = new HashMap<>(subscribers);
+
+		for (Method method : findSubscriberMethods(object.getClass()))
+		{
+			Subscriber subscriber = new Subscriber(method, object);
+			Subscriber[] existing = map.getOrDefault(subscriber.getEventType(), EMPTY);
+
+			Subscriber[] updated = Arrays.copyOf(existing, existing.length + 1);
+			updated[existing.length] = subscriber;
+			map.put(subscriber.getEventType(), updated);
+		}
+
+		update(map);
+	}
+
+	/**
+	 * Unregister all subscriber methods of the object. Unregistering an
+	 * object which is not registered does nothing.
+	 *
+	 * @param object
+	 */
+	public synchronized void unregister(Object object)
+	{
+		Map<Class<?>, Subscriber[]> map = new HashMap<>();
+
+		for (Map.Entry<Class<?>, Subscriber[]> entry : subscribers.entrySet())
+		{
+			Subscriber[] remaining = Arrays.stream(entry.getValue())
+				.filter(s -> s.getObject() != object)
+				.toArray(Subscriber[]::new);
+
+			if (remaining.length > 0)
+			{
+				map.put(entry.getKey(), remaining);
+			}
+		}
+
+		update(map);
+	}
+
+	private void update(Map<Class<?>, Subscriber[]> map)
+	{
+		// subscribers must be visible before the new dispatch cache,
+		// see getSubscribers
+		subscribers = map;
+		dispatch = new ConcurrentHashMap<>();
+	}
+
+	public void post(Object event)
+	{
+		for (Subscriber subscriber : getSubscribers(event.getClass()))
+		{
+			if (subscriber.isAsynchronous())
+			{
+				try
+				{
+					executor.execute(() -> invoke(subscriber, event));
+				}
+				catch (RejectedExecutionException ex)
+				{
+					exceptionHandler.accept(ex, subscriber);
+				}
+			}
+			else
+			{
+				invoke(subscriber, event);
+			}
+		}
+	}
+
+	private void invoke(Subscriber subscriber, Object event)
+	{
+		try
+		{
+			subscriber.invoke(event);
+		}
+		catch (Throwable ex)
+		{
+			// Errors are caught too so one subscriber can't stop the others
+			exceptionHandler.accept(ex, subscriber);
+		}
+	}
+
+	Subscriber[] getSubscribers(Class<?> eventType)
+	{
+		ConcurrentHashMap<Class<?>, Subscriber[]> cache = dispatch;
+		Subscriber[] s = cache.get(eventType);
+		if (s != null)
+		{
+			return s;
+		}
+
+		// read after the cache, so the subscribers are at least as new as it.
+		// a result from newer subscribers in an older cache is just discarded
+		Map<Class<?>, Subscriber[]> map = subscribers;
+		List<Subscriber> list = new ArrayList<>();
+
+		for (Class<?> type : TypeToken.of(eventType).getTypes().rawTypes())
+		{
+			Subscriber[] forType = map.get(type);
+			if (forType != null)
+			{
+				list.addAll(Arrays.asList(forType));
+			}
+		}
+
+		s = list.toArray(EMPTY);
+		cache.put(eventType, s);
+		return s;
+	}
+
+	private static List<Method> findSubscriberMethods(Class<?> clazz)
+	{
+		List<Method> methods = new ArrayList<>();
+		Set<String> seen = new HashSet<>();
+
+		for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass())
+		{
+			for (Method method : c.getDeclaredMethods())
+			{
+				if (method.isSynthetic() || !method.isAnnotationPresent(Subscribe.class))
+				{
+					continue;
+				}
+
+				if (method.getParameterCount() != 1)
+				{
+					throw new IllegalArgumentException("Subscriber method " + method + " must have exactly one parameter");
+				}
+
+				// overridden methods are only registered once
+				if (seen.add(method.getName() + Arrays.toString(method.getParameterTypes())))
+				{
+					methods.add(method);
+				}
+			}
+		}
+
+		return methods;
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.eventbus;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.function.Consumer;
+
+public class Subscriber
+{
+	private final Method method;
+	private final Object object;
+	private final Class<?> eventType;
+	private final boolean asynchronous;
+	private final Consumer<Object> invoker;
+
+	Subscriber(Method method, Object object)
+	{
+		this.method = method;
+		this.object = object;
+		this.eventType = method.getParameterTypes()[0];
+		this.asynchronous = method.isAnnotationPresent(Asynchronous.class);
+		this.invoker = createInvoker(method, object);
+	}
+
+	/**
+	 * Bind the subscriber method to a {@link Consumer} so events can be
+	 * delivered without going through reflection on every post
+	 *
+	 * @param method
+	 * @param object
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private static Consumer<Object> createInvoker(Method method, Object object)
+	{
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+		try
+		{
+			MethodHandle handle = lookup.unreflect(method);
+
+			CallSite site = LambdaMetafactory.metafactory(lookup,
+				"accept",
+				MethodType.methodType(Consumer.class, method.getDeclaringClass()),
+				MethodType.methodType(void.class, Object.class),
+				handle,
+				MethodType.methodType(void.class, method.getParameterTypes()[0]));
+
+			return (Consumer<Object>) site.getTarget().invoke(object);
+		}
+		catch (Throwable ex)
+		{
+			// Fall back to invoking the method through reflection
+			method.setAccessible(true);
+			return event ->
+			{
+				try
+				{
+					method.invoke(object, event);
+				}
+				catch (ReflectiveOperationException e)
+				{
+					throw new RuntimeException(e);
+				}
+			};
+		}
+	}
+
+	void invoke(Object event)
+	{
+		invoker.accept(event);
+	}
+
+	@Override
+	public String toString()
+	{
+		return "Subscriber{" + "method=" + method + ", object=" + object + '}';
+	}
+
+	public Method getMethod()
+	{
+		return method;
+	}
+
+	public Object getObject()
+	{
+		return object;
+	}
+
+	public Class<?> getEventType()
+	{
+		return eventType;
+	}
+
+	public boolean isAsynchronous()
+	{
+		return asynchronous;
+	}
+}
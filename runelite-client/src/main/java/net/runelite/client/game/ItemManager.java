@@ -27,18 +27,43 @@ package net.runelite.client.game;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.gson.JsonParseException;
 import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import net.runelite.api.Client;
 import net.runelite.api.SpritePixels;
 import net.runelite.client.RuneLite;
+import net.runelite.http.api.RuneliteAPI;
 import net.runelite.http.api.item.ItemClient;
 import net.runelite.http.api.item.ItemPrice;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class ItemManager
 {
+	private static final Logger logger = LoggerFactory.getLogger(ItemManager.class);
+
+	private static final long PRICE_CACHE_SIZE = 16384L; // enough for every tradeable item
+
+	/**
+	 * Prices are saved here on exit, and reused on the next start if the
+	 * file is not older than PRICE_SNAPSHOT_AGE
+	 */
+	private static final File PRICE_SNAPSHOT = new File(RuneLite.RUNELITE_DIR, "prices.json");
+	private static final Duration PRICE_SNAPSHOT_AGE = Duration.ofHours(6);
+
 	/**
 	 * not yet looked up
 	 */
@@ -57,7 +82,7 @@ public class ItemManager
 	public ItemManager(RuneLite runelite)
 	{
 		itemPrices = CacheBuilder.newBuilder()
-			.maximumSize(512L)
+			.maximumSize(PRICE_CACHE_SIZE)
 			.expireAfterAccess(1, TimeUnit.HOURS)
 			.build(new ItemPriceLoader(runelite, itemClient));
 
@@ -92,6 +117,19 @@ public class ItemManager
 		return null;
 	}
 
+	/**
+	 * Check whether the lookup of an item's price has completed, whether or
+	 * not the item has a price
+	 *
+	 * @param itemId
+	 * @return
+	 */
+	public boolean isPriceLoaded(int itemId)
+	{
+		ItemPrice itemPrice = itemPrices.getIfPresent(itemId);
+		return itemPrice != null && itemPrice != EMPTY;
+	}
+
 	/**
 	 * Look up an item's price synchronously
 	 *
@@ -112,6 +150,58 @@ public class ItemManager
 		return itemPrice;
 	}
 
+	/**
+	 * Load prices saved by {@link #savePrices()}, if they are recent enough
+	 */
+	public void loadPrices()
+	{
+		if (!PRICE_SNAPSHOT.exists()
+			|| Instant.ofEpochMilli(PRICE_SNAPSHOT.lastModified()).isBefore(Instant.now().minus(PRICE_SNAPSHOT_AGE)))
+		{
+			return;
+		}
+
+		try (Reader in = new InputStreamReader(new FileInputStream(PRICE_SNAPSHOT), StandardCharsets.UTF_8))
+		{
+			ItemPrice[] prices = RuneliteAPI.GSON.fromJson(in, ItemPrice[].class);
+			for (ItemPrice itemPrice : prices)
+			{
+				if (itemPrice.getItem() == null)
+				{
+					continue;
+				}
+
+				itemPrices.put(itemPrice.getItem().getId(), itemPrice);
+			}
+
+			logger.debug("Loaded {} item prices", prices.length);
+		}
+		catch (IOException | JsonParseException ex)
+		{
+			logger.warn("unable to load item prices", ex);
+		}
+	}
+
+	/**
+	 * Save the currently known prices so they survive a restart
+	 */
+	public void savePrices()
+	{
+		ItemPrice[] prices = itemPrices.asMap().values().stream()
+			.filter(p -> p != EMPTY && p != NONE)
+			.toArray(ItemPrice[]::new);
+
+		try (Writer out = new OutputStreamWriter(new FileOutputStream(PRICE_SNAPSHOT), StandardCharsets.UTF_8))
+		{
+			RuneliteAPI.GSON.toJson(prices, out);
+			logger.debug("Saved {} item prices", prices.length);
+		}
+		catch (IOException ex)
+		{
+			logger.warn("unable to save item prices", ex);
+		}
+	}
+
 	/**
 	 * Convert a quantity to stack size
 	 *
@@ -26,10 +26,16 @@ package net.runelite.client.game;
 
 import com.google.common.cache.CacheLoader;
 import com.google.common.util.concurrent.ListenableFuture;
-import com.google.common.util.concurrent.ListeningExecutorService;
-import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import net.runelite.client.RuneLite;
+import net.runelite.client.task.MeteredExecutor;
 import static net.runelite.client.game.ItemManager.EMPTY;
 import static net.runelite.client.game.ItemManager.NONE;
 import net.runelite.http.api.item.ItemClient;
@@ -37,16 +43,36 @@ import net.runelite.http.api.item.ItemPrice;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Loads item prices in batches. Lookups requested within a short window
+ * of each other are gathered into a single request.
+ */
 class ItemPriceLoader extends CacheLoader<Integer, ItemPrice>
 {
 	private static final Logger logger = LoggerFactory.getLogger(ItemPriceLoader.class);
 
-	private final ListeningExecutorService executorService;
+	private static final long BATCH_WINDOW = 100; // ms - how long to gather lookups for
+	private static final int MAX_BATCH = 256; // most items the service accepts per request
+
+	private final ScheduledExecutorService timer;
+	private final MeteredExecutor executor;
 	private final ItemClient client;
 
+	/**
+	 * Lookups waiting for the next batch, guarded by this
+	 */
+	private final Map<Integer, SettableFuture<ItemPrice>> pending = new HashMap<>();
+	private boolean scheduled;
+
 	ItemPriceLoader(RuneLite runelite, ItemClient client)
 	{
-		this.executorService = MoreExecutors.listeningDecorator(runelite.getExecutor());
+		this(runelite.getExecutor(), runelite.getNetworkExecutor(), client);
+	}
+
+	ItemPriceLoader(ScheduledExecutorService timer, MeteredExecutor executor, ItemClient client)
+	{
+		this.timer = timer;
+		this.executor = executor;
 		this.client = client;
 	}
 
@@ -58,28 +84,98 @@ class ItemPriceLoader extends CacheLoader<Integer, ItemPrice>
 	}
 
 	@Override
-	public ListenableFuture<ItemPrice> reload(Integer key, ItemPrice oldValue)
+	public synchronized ListenableFuture<ItemPrice> reload(Integer key, ItemPrice oldValue)
+	{
+		SettableFuture<ItemPrice> future = pending.get(key);
+		if (future != null)
+		{
+			return future;
+		}
+
+		logger.debug("Queueing lookup for item {}", key);
+
+		future = SettableFuture.create();
+		pending.put(key, future);
+
+		if (!scheduled)
+		{
+			scheduled = true;
+			timer.schedule(this::submit, BATCH_WINDOW, TimeUnit.MILLISECONDS);
+		}
+
+		return future;
+	}
+
+	private void submit()
+	{
+		if (!executor.tryExecute(this::flush))
+		{
+			// fail the lookups so they can be retried later
+			Map<Integer, SettableFuture<ItemPrice>> batch = takePending();
+			IOException ex = new IOException("Network executor is full");
+			batch.values().forEach(f -> f.setException(ex));
+		}
+	}
+
+	private synchronized Map<Integer, SettableFuture<ItemPrice>> takePending()
+	{
+		Map<Integer, SettableFuture<ItemPrice>> batch = new HashMap<>(pending);
+		pending.clear();
+		scheduled = false;
+		return batch;
+	}
+
+	private void flush()
 	{
-		logger.debug("Submitting lookup for item {}", key);
+		Map<Integer, SettableFuture<ItemPrice>> batch = takePending();
+		List<Integer> ids = new ArrayList<>(batch.keySet());
 
-		return executorService.submit(() -> fetch(key));
+		for (int i = 0; i < ids.size(); i += MAX_BATCH)
+		{
+			fetch(ids.subList(i, Math.min(ids.size(), i + MAX_BATCH)), batch);
+		}
 	}
 
-	private ItemPrice fetch(Integer key)
+	private void fetch(List<Integer> ids, Map<Integer, SettableFuture<ItemPrice>> futures)
 	{
+		logger.debug("Looking up prices for {} items", ids.size());
+
+		int[] itemIds = ids.stream().mapToInt(Integer::intValue).toArray();
+		ItemPrice[] prices;
+
 		try
 		{
-			ItemPrice itemPrice = client.lookupItemPrice(key);
-			if (itemPrice == null)
+			prices = client.lookupItemPrices(itemIds);
+			if (prices == null)
 			{
-				return NONE;
+				throw new IOException("No response for item price lookup");
 			}
-			return itemPrice;
 		}
 		catch (IOException ex)
 		{
-			logger.warn("unable to look up item!", ex);
-			return NONE;
+			logger.warn("unable to look up items!", ex);
+
+			// fail the lookups rather than caching no price, so they are retried
+			for (Integer id : ids)
+			{
+				futures.get(id).setException(ex);
+			}
+			return;
+		}
+
+		for (ItemPrice itemPrice : prices)
+		{
+			SettableFuture<ItemPrice> future = futures.get(itemPrice.getItem().getId());
+			if (future != null)
+			{
+				future.set(itemPrice);
+			}
+		}
+
+		// items missing from the response have no price
+		for (Integer id : ids)
+		{
+			futures.get(id).set(NONE);
 		}
 	}
-};
+}
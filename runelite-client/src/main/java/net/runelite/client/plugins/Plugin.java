@@ -28,6 +28,7 @@ import com.google.common.util.concurrent.AbstractIdleService;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import javax.swing.SwingUtilities;
 import net.runelite.client.ui.overlay.Overlay;
 
@@ -48,13 +49,20 @@ public abstract class Plugin extends AbstractIdleService
 	 * Override AbstractIdleService's default executor to instead execute in
 	 * the main thread. Prevents plugins from all being initialized from
 	 * different threads, which causes the plugin order on the navbar to be
-	 * undefined
+	 * undefined. Plugins whose descriptor allows parallel startup are
+	 * started on the common pool instead
 	 *
 	 * @return
 	 */
 	@Override
 	protected Executor executor()
 	{
+		PluginDescriptor descriptor = getClass().getAnnotation(PluginDescriptor.class);
+		if (descriptor != null && descriptor.parallelStartup())
+		{
+			return ForkJoinPool.commonPool();
+		}
+
 		return r -> SwingUtilities.invokeLater(r);
 	}
 }
@@ -38,4 +38,14 @@ public @interface PluginDescriptor
 	String name();
 
 	boolean developerPlugin() default false;
+
+	/**
+	 * Whether the plugin may be constructed and started off the Swing
+	 * thread, in parallel with other plugins. Plugins which add to the
+	 * navigation bar or otherwise build UI on startup must leave this
+	 * unset, so they start in a defined order.
+	 *
+	 * @return
+	 */
+	boolean parallelStartup() default false;
 }
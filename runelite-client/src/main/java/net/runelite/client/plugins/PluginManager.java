@@ -24,7 +24,9 @@
  */
 package net.runelite.client.plugins;
 
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.io.Resources;
 import com.google.common.reflect.ClassPath;
 import com.google.common.reflect.ClassPath.ClassInfo;
 import com.google.common.util.concurrent.MoreExecutors;
@@ -32,13 +34,18 @@ import com.google.common.util.concurrent.Service;
 import com.google.common.util.concurrent.ServiceManager;
 import java.io.IOException;
 import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import net.runelite.client.RuneLite;
 import net.runelite.client.task.Schedule;
 import net.runelite.client.task.ScheduledMethod;
+import net.runelite.client.ui.overlay.Overlay;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,10 +55,24 @@ public class PluginManager
 
 	private static final String PLUGIN_PACKAGE = "net.runelite.client.plugins";
 
+	/**
+	 * Resource listing the plugin classes, written at build time by the
+	 * client processor
+	 */
+	static final String PLUGIN_INDEX = "META-INF/runelite/plugins";
+
 	private final RuneLite runelite;
 	private ServiceManager manager;
 	private final List<Plugin> plugins = new ArrayList<>();
 
+	/**
+	 * Snapshots of the running plugins and their overlays, replaced from
+	 * the plugin listeners so they can be read every frame without
+	 * querying the service manager
+	 */
+	private volatile List<Plugin> runningPlugins = Collections.emptyList();
+	private volatile List<Overlay> overlays = Collections.emptyList();
+
 	public PluginManager(RuneLite runelite)
 	{
 		this.runelite = runelite;
@@ -66,12 +87,18 @@ public class PluginManager
 			developerPlugins = true;
 		}
 
-		ClassPath classPath = ClassPath.from(getClass().getClassLoader());
+		Stopwatch stopwatch = Stopwatch.createStarted();
 
-		ImmutableSet<ClassInfo> classes = classPath.getTopLevelClassesRecursive(PLUGIN_PACKAGE);
-		for (ClassInfo classInfo : classes)
+		List<Class<?>> classes = readPluginIndex();
+		if (classes == null)
+		{
+			logger.info("Plugin index {} not found, scanning classpath for plugins", PLUGIN_INDEX);
+			classes = scanPlugins();
+		}
+
+		List<Class<?>> pluginClasses = new ArrayList<>();
+		for (Class<?> clazz : classes)
 		{
-			Class<?> clazz = classInfo.load();
 			PluginDescriptor pluginDescriptor = clazz.getAnnotation(PluginDescriptor.class);
 
 			if (pluginDescriptor == null)
@@ -96,20 +123,111 @@ public class PluginManager
 				continue;
 			}
 
-			Plugin plugin;
-			try
+			pluginClasses.add(clazz);
+		}
+
+		// Plugins which allow it are constructed in parallel, the rest in order on this thread
+		Plugin[] instances = new Plugin[pluginClasses.size()];
+		IntStream.range(0, instances.length)
+			.parallel()
+			.filter(i -> pluginClasses.get(i).getAnnotation(PluginDescriptor.class).parallelStartup())
+			.forEach(i -> instances[i] = instantiate(pluginClasses.get(i)));
+
+		for (int i = 0; i < instances.length; ++i)
+		{
+			Class<?> clazz = pluginClasses.get(i);
+			PluginDescriptor pluginDescriptor = clazz.getAnnotation(PluginDescriptor.class);
+
+			if (!pluginDescriptor.parallelStartup())
 			{
-				plugin = (Plugin) clazz.newInstance();
+				instances[i] = instantiate(clazz);
 			}
-			catch (InstantiationException | IllegalAccessException ex)
+
+			if (instances[i] == null)
 			{
-				logger.warn("error initializing plugin", ex);
 				continue;
 			}
 
-			plugins.add(plugin);
+			plugins.add(instances[i]);
 			logger.debug("Loaded plugin {}", pluginDescriptor.name());
 		}
+
+		logger.info("Loaded {} plugins in {}", plugins.size(), stopwatch);
+	}
+
+	/**
+	 * Read the plugin classes from the index generated at build time
+	 *
+	 * @return the plugin classes, or null if there is no index
+	 * @throws IOException
+	 */
+	List<Class<?>> readPluginIndex() throws IOException
+	{
+		ClassLoader classLoader = getClass().getClassLoader();
+		Enumeration<URL> indexes = classLoader.getResources(PLUGIN_INDEX);
+
+		if (!indexes.hasMoreElements())
+		{
+			return null;
+		}
+
+		List<Class<?>> classes = new ArrayList<>();
+		while (indexes.hasMoreElements())
+		{
+			URL index = indexes.nextElement();
+
+			for (String name : Resources.readLines(index, StandardCharsets.UTF_8))
+			{
+				if (name.isEmpty())
+				{
+					continue;
+				}
+
+				try
+				{
+					classes.add(Class.forName(name, false, classLoader));
+				}
+				catch (ClassNotFoundException ex)
+				{
+					logger.warn("Plugin {} in index {} not found", name, index, ex);
+				}
+			}
+		}
+
+		return classes;
+	}
+
+	/**
+	 * Find plugin classes by loading every top level class in the plugin
+	 * package
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	List<Class<?>> scanPlugins() throws IOException
+	{
+		ClassPath classPath = ClassPath.from(getClass().getClassLoader());
+
+		ImmutableSet<ClassInfo> classes = classPath.getTopLevelClassesRecursive(PLUGIN_PACKAGE);
+		List<Class<?>> loaded = new ArrayList<>();
+		for (ClassInfo classInfo : classes)
+		{
+			loaded.add(classInfo.load());
+		}
+		return loaded;
+	}
+
+	private static Plugin instantiate(Class<?> clazz)
+	{
+		try
+		{
+			return (Plugin) clazz.newInstance();
+		}
+		catch (InstantiationException | IllegalAccessException ex)
+		{
+			logger.warn("error initializing plugin", ex);
+			return null;
+		}
 	}
 
 	public void start()
@@ -123,6 +241,7 @@ public class PluginManager
 				public void running()
 				{
 					logger.debug("Plugin {} is now running", plugin);
+					setRunning(plugin, true);
 					runelite.getEventBus().register(plugin);
 
 					schedule(plugin);
@@ -132,6 +251,7 @@ public class PluginManager
 				public void stopping(Service.State from)
 				{
 					logger.debug("Plugin {} is stopping", plugin);
+					setRunning(plugin, false);
 					runelite.getEventBus().unregister(plugin);
 					unschedule(plugin);
 				}
@@ -143,6 +263,7 @@ public class PluginManager
 
 					if (from == Service.State.RUNNING)
 					{
+						setRunning(plugin, false);
 						runelite.getEventBus().unregister(plugin);
 						unschedule(plugin);
 					}
@@ -158,12 +279,49 @@ public class PluginManager
 		manager.startAsync();
 	}
 
+	/**
+	 * Get the running plugins, in load order
+	 *
+	 * @return
+	 */
 	public Collection<Plugin> getPlugins()
 	{
-		return manager.servicesByState().get(Service.State.RUNNING)
-			.stream()
-			.map(s -> (Plugin) s)
-			.collect(Collectors.toList());
+		return runningPlugins;
+	}
+
+	/**
+	 * Get the overlays of the running plugins. The returned list is
+	 * replaced, not modified, when plugins start or stop, so callers may
+	 * compare it by identity to detect changes.
+	 *
+	 * @return
+	 */
+	public List<Overlay> getOverlays()
+	{
+		return overlays;
+	}
+
+	private synchronized void setRunning(Plugin plugin, boolean running)
+	{
+		if (runningPlugins.contains(plugin) == running)
+		{
+			return;
+		}
+
+		List<Plugin> newPlugins = new ArrayList<>();
+		List<Overlay> newOverlays = new ArrayList<>();
+
+		for (Plugin p : plugins)
+		{
+			if (p == plugin ? running : runningPlugins.contains(p))
+			{
+				newPlugins.add(p);
+				newOverlays.addAll(p.getOverlays());
+			}
+		}
+
+		runningPlugins = Collections.unmodifiableList(newPlugins);
+		overlays = Collections.unmodifiableList(newOverlays);
 	}
 
 	private void schedule(Plugin plugin)
@@ -31,7 +31,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Instant;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ExecutorService;
 import javax.imageio.ImageIO;
 import javax.swing.ImageIcon;
 import net.runelite.client.RuneLite;
@@ -90,7 +90,7 @@ public class AccountPlugin extends Plugin
 
 	private void loginClick(ActionEvent ae)
 	{
-		ScheduledExecutorService executor = runelite.getExecutor();
+		ExecutorService executor = runelite.getNetworkExecutor();
 		executor.execute(RunnableExceptionLogger.wrap(this::openLoginPage));
 	}
 
@@ -31,7 +31,8 @@ import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.ui.overlay.Overlay;
 
 @PluginDescriptor(
-	name = "Boosts plugin"
+	name = "Boosts plugin",
+	parallelStartup = true
 )
 public class Boosts extends Plugin
 {
@@ -36,7 +36,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @PluginDescriptor(
-	name = "Boss timers"
+	name = "Boss timers",
+	parallelStartup = true
 )
 public class BossTimers extends Plugin
 {
@@ -32,7 +32,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 import net.runelite.api.ChatMessageType;
 import net.runelite.api.Client;
@@ -60,7 +60,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @PluginDescriptor(
-	name = "Chat commands"
+	name = "Chat commands",
+	parallelStartup = true
 )
 public class ChatCommands extends Plugin
 {
@@ -104,7 +105,7 @@ public class ChatCommands extends Plugin
 		else if (transparancyVarbit != client.getSetting(Varbits.TRANSPARANT_CHATBOX))
 		{
 			transparancyVarbit = client.getSetting(Varbits.TRANSPARANT_CHATBOX);
-			ScheduledExecutorService executor = runelite.getExecutor();
+			ExecutorService executor = runelite.getCpuExecutor();
 			executor.submit(() -> recolorChat());
 		}
 	}
@@ -112,7 +113,7 @@ public class ChatCommands extends Plugin
 	@Subscribe
 	public void onResizableChanged(ResizeableChanged event)
 	{
-		ScheduledExecutorService executor = runelite.getExecutor();
+		ExecutorService executor = runelite.getCpuExecutor();
 		executor.submit(() -> recolorChat());
 	}
 
@@ -141,7 +142,7 @@ public class ChatCommands extends Plugin
 	@Subscribe
 	public void onConfigChanged(ConfigChanged event)
 	{
-		ScheduledExecutorService executor = runelite.getExecutor();
+		ExecutorService executor = runelite.getCpuExecutor();
 		executor.submit(() -> recolorChat());
 	}
 
@@ -179,7 +180,7 @@ public class ChatCommands extends Plugin
 		if (config.lvl() && message.toLowerCase().equals("!total"))
 		{
 			logger.debug("Running total level lookup");
-			ScheduledExecutorService executor = runelite.getExecutor();
+			ExecutorService executor = runelite.getNetworkExecutor();
 			executor.submit(() -> playerSkillLookup(setMessage.getType(), setMessage, "total"));
 		}
 		else if (config.price() && message.toLowerCase().startsWith("!price") && message.length() > 7)
@@ -188,7 +189,7 @@ public class ChatCommands extends Plugin
 
 			logger.debug("Running price lookup for {}", search);
 
-			ScheduledExecutorService executor = runelite.getExecutor();
+			ExecutorService executor = runelite.getNetworkExecutor();
 			executor.submit(() -> lookup(setMessage.getType(), setMessage.getMessageNode(), search));
 		}
 		else if (config.lvl() && message.toLowerCase().startsWith("!lvl") && message.length() > 5)
@@ -196,7 +197,7 @@ public class ChatCommands extends Plugin
 			String search = message.substring(5);
 
 			logger.debug("Running level lookup for {}", search);
-			ScheduledExecutorService executor = runelite.getExecutor();
+			ExecutorService executor = runelite.getNetworkExecutor();
 			executor.submit(() -> playerSkillLookup(setMessage.getType(), setMessage, search));
 		}
 	}
@@ -34,7 +34,8 @@ import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.task.Schedule;
 
 @PluginDescriptor(
-	name = "Clan chat plugin"
+	name = "Clan chat plugin",
+	parallelStartup = true
 )
 public class ClanChat extends Plugin
 {
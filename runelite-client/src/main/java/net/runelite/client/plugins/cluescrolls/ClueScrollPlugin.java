@@ -38,7 +38,8 @@ import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.task.Schedule;
 
 @PluginDescriptor(
-	name = "Clue scroll plugin"
+	name = "Clue scroll plugin",
+	parallelStartup = true
 )
 public class ClueScrollPlugin extends Plugin
 {
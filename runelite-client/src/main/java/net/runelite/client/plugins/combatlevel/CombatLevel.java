@@ -39,7 +39,8 @@ import java.text.DecimalFormat;
 import java.time.temporal.ChronoUnit;
 
 @PluginDescriptor(
-	name = "Combat level plugin"
+	name = "Combat level plugin",
+	parallelStartup = true
 )
 public class CombatLevel extends Plugin
 {
@@ -31,7 +31,7 @@ import java.io.IOException;
 import java.time.Instant;
 import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ExecutorService;
 import net.runelite.client.RuneLite;
 import net.runelite.client.events.ChatMessage;
 import net.runelite.client.events.GameStateChanged;
@@ -48,7 +48,8 @@ import org.slf4j.LoggerFactory;
  * @author Adam
  */
 @PluginDescriptor(
-	name = "Examine plugin"
+	name = "Examine plugin",
+	parallelStartup = true
 )
 public class ExaminePlugin extends Plugin
 {
@@ -149,7 +150,7 @@ public class ExaminePlugin extends Plugin
 
 		cache.put(key, Boolean.TRUE);
 
-		ScheduledExecutorService executor = runelite.getExecutor();
+		ExecutorService executor = runelite.getNetworkExecutor();
 		executor.submit(() -> submit(pendingExamine, event.getMessage()));
 	}
 
@@ -38,7 +38,8 @@ import java.time.temporal.ChronoUnit;
 import net.runelite.client.plugins.PluginDescriptor;
 
 @PluginDescriptor(
-	name = "Fight cave plugin"
+	name = "Fight cave plugin",
+	parallelStartup = true
 )
 public class FightCave extends Plugin
 {
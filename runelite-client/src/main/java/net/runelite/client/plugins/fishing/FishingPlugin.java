@@ -40,7 +40,8 @@ import net.runelite.client.task.Schedule;
 import net.runelite.client.ui.overlay.Overlay;
 
 @PluginDescriptor(
-	name = "Fishing plugin"
+	name = "Fishing plugin",
+	parallelStartup = true
 )
 public class FishingPlugin extends Plugin
 {
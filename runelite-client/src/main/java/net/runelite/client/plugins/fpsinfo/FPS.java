@@ -32,7 +32,8 @@ import net.runelite.client.ui.FontManager;
 import net.runelite.client.ui.overlay.Overlay;
 
 @PluginDescriptor(
-	name = "Frames per second"
+	name = "Frames per second",
+	parallelStartup = true
 )
 public class FPS extends Plugin
 {
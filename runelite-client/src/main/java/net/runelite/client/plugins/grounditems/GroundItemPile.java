@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2017, Aria <aria@ar1as.space>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.grounditems;
+
+import java.awt.Color;
+import net.runelite.api.ItemLayer;
+
+/**
+ * The pre-formatted labels for the pile of items on a single tile
+ */
+class GroundItemPile
+{
+	private final ItemLayer itemLayer;
+	private final String[] labels;
+	private final Color[] colors;
+	private final boolean pricePending;
+
+	GroundItemPile(ItemLayer itemLayer, String[] labels, Color[] colors, boolean pricePending)
+	{
+		this.itemLayer = itemLayer;
+		this.labels = labels;
+		this.colors = colors;
+		this.pricePending = pricePending;
+	}
+
+	public ItemLayer getItemLayer()
+	{
+		return itemLayer;
+	}
+
+	/**
+	 * Labels in drawing order, the bottom item first
+	 *
+	 * @return
+	 */
+	public String[] getLabels()
+	{
+		return labels;
+	}
+
+	public Color[] getColors()
+	{
+		return colors;
+	}
+
+	/**
+	 * Whether any of the labels were formatted before the item's price was
+	 * loaded, in which case the pile should be formatted again
+	 *
+	 * @return
+	 */
+	public boolean isPricePending()
+	{
+		return pricePending;
+	}
+}
@@ -24,20 +24,26 @@
  */
 package net.runelite.client.plugins.grounditems;
 
+import com.google.common.eventbus.Subscribe;
 import net.runelite.client.RuneLite;
+import net.runelite.client.events.ConfigChanged;
+import net.runelite.client.events.GameStateChanged;
+import net.runelite.client.events.ItemLayerChanged;
+import net.runelite.client.events.MapRegionChanged;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.ui.overlay.Overlay;
 
 @PluginDescriptor(
-	name = "Ground items plugin"
+	name = "Ground items plugin",
+	parallelStartup = true
 )
 public class GroundItems extends Plugin
 {
 	private final GroundItemsConfig config = RuneLite.getRunelite().getConfigManager()
 		.getConfig(GroundItemsConfig.class);
 
-	private final Overlay overlay = new GroundItemsOverlay(this);
+	private final GroundItemsOverlay overlay = new GroundItemsOverlay(this);
 
 	@Override
 	protected void startUp()
@@ -61,4 +67,31 @@ public class GroundItems extends Plugin
 	{
 		return config;
 	}
+
+	@Subscribe
+	public void onItemLayerChanged(ItemLayerChanged event)
+	{
+		overlay.updateTile(event.getX(), event.getY());
+	}
+
+	@Subscribe
+	public void onMapRegionChanged(MapRegionChanged event)
+	{
+		overlay.rescan();
+	}
+
+	@Subscribe
+	public void onGameStateChanged(GameStateChanged event)
+	{
+		overlay.rescan();
+	}
+
+	@Subscribe
+	public void updateConfig(ConfigChanged event)
+	{
+		if (event.getGroup().equals("grounditems"))
+		{
+			overlay.updateConfig();
+		}
+	}
 }
@@ -24,21 +24,21 @@
  */
 package net.runelite.client.plugins.grounditems;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Arrays;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import net.runelite.api.Client;
 import net.runelite.api.GameState;
 import net.runelite.api.Item;
@@ -90,17 +90,19 @@ public class GroundItemsOverlay extends Overlay
 	private final GroundItemsConfig config;
 	private final ItemManager itemManager = RuneLite.getRunelite().getItemManager();
 	private final StringBuilder itemStringBuilder = new StringBuilder();
-	private final LoadingCache<Integer, ItemComposition> itemCache = CacheBuilder.newBuilder()
-		.maximumSize(1024L)
-		.expireAfterAccess(1, TimeUnit.MINUTES)
-		.build(new CacheLoader<Integer, ItemComposition>()
-		{
-			@Override
-			public ItemComposition load(Integer key) throws Exception
-			{
-				return client.getItemDefinition(key);
-			}
-		});
+
+	// Piles on the current plane, keyed by packed region coordinates.
+	// Only accessed from the client thread.
+	private final Map<Integer, GroundItemPile> piles = new LinkedHashMap<>();
+	private int plane = -1;
+
+	// set from the event bus, possibly off the client thread
+	private final Set<Integer> dirtyTiles = ConcurrentHashMap.newKeySet();
+	private volatile boolean rescan = true;
+	private volatile boolean configChanged = true;
+
+	private Set<String> hiddenItems = Collections.emptySet();
+	private Set<String> highlightedItems = Collections.emptySet();
 
 	public GroundItemsOverlay(GroundItems plugin)
 	{
@@ -108,6 +110,30 @@ public class GroundItemsOverlay extends Overlay
 		this.config = plugin.getConfig();
 	}
 
+	/**
+	 * Mark the pile on a tile of the current plane as needing to be rebuilt
+	 *
+	 * @param x
+	 * @param y
+	 */
+	public void updateTile(int x, int y)
+	{
+		dirtyTiles.add(pack(x, y));
+	}
+
+	/**
+	 * Rebuild every pile on the next render, after a region or plane change
+	 */
+	public void rescan()
+	{
+		rescan = true;
+	}
+
+	public void updateConfig()
+	{
+		configChanged = true;
+	}
+
 	@Override
 	public Dimension render(Graphics2D graphics)
 	{
@@ -147,178 +173,268 @@ public class GroundItemsOverlay extends Overlay
 			}
 		}
 
-		// gets the hidden/highlighted items from the text box in the config
-		String configItems = config.getHiddenItems().toLowerCase();
-		List<String> hiddenItems = Arrays.asList(configItems.split(DELIMITER_REGEX));
-		// note: both of these lists are immutable
-		configItems = config.getHighlightItems().toLowerCase();
-		List<String> highlightedItems = Arrays.asList(configItems.split(DELIMITER_REGEX));
-
-		Region region = client.getRegion();
-		Tile[][][] tiles = region.getTiles();
-		FontMetrics fm = graphics.getFontMetrics();
-
 		Player player = client.getLocalPlayer();
 		if (player == null)
 		{
 			return null;
 		}
 
+		update();
+
+		FontMetrics fm = graphics.getFontMetrics();
+		Point playerLocation = player.getLocalLocation();
+		Rectangle bounds = viewport != null ? viewport.getBounds() : null;
+
+		for (GroundItemPile pile : piles.values())
+		{
+			ItemLayer itemLayer = pile.getItemLayer();
+
+			if (playerLocation.distanceTo(itemLayer.getLocalLocation()) >= MAX_RANGE)
+			{
+				continue;
+			}
+
+			Point point = itemLayer.getCanvasLocation();
+			// if the item is offscreen, don't bother drawing it
+			if (point == null || bounds == null || !bounds.contains(point.getX(), point.getY()))
+			{
+				continue;
+			}
+
+			String[] labels = pile.getLabels();
+			Color[] colors = pile.getColors();
+
+			for (int i = 0; i < labels.length; ++i)
+			{
+				String itemString = labels[i];
+
+				int screenX = point.getX() + 2 - (fm.stringWidth(itemString) / 2);
+
+				// Drawing the shadow for the text, 1px on both x and y
+				graphics.setColor(Color.BLACK);
+				graphics.drawString(itemString, screenX + 1, point.getY() - (STRING_GAP * i) + 1);
+				// Drawing the text itself
+				graphics.setColor(colors[i]);
+				graphics.drawString(itemString, screenX, point.getY() - (STRING_GAP * i));
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Bring the cached piles up to date with the region, rebuilding only
+	 * the tiles which have changed since the last frame
+	 */
+	private void update()
+	{
 		int z = client.getPlane();
 
-		for (int x = 0; x < REGION_SIZE; x++)
+		if (configChanged)
+		{
+			configChanged = false;
+
+			// gets the hidden/highlighted items from the text box in the config
+			hiddenItems = parseItems(config.getHiddenItems());
+			highlightedItems = parseItems(config.getHighlightItems());
+
+			// labels depend on the config, so reformat everything
+			rescan = true;
+		}
+
+		if (rescan || z != plane)
 		{
-			for (int y = 0; y < REGION_SIZE; y++)
+			rescan = false;
+			plane = z;
+			dirtyTiles.clear();
+			piles.clear();
+
+			for (int x = 0; x < REGION_SIZE; x++)
 			{
-				Tile tile = tiles[z][x][y];
-				if (tile == null)
+				for (int y = 0; y < REGION_SIZE; y++)
 				{
-					continue;
+					updatePile(x, y);
 				}
+			}
+			return;
+		}
 
-				ItemLayer itemLayer = tile.getItemLayer();
-				if (itemLayer == null)
-				{
-					continue;
-				}
+		if (!dirtyTiles.isEmpty())
+		{
+			// remove each tile as it is drained, so tiles marked
+			// while draining are kept for the next render
+			for (Iterator<Integer> it = dirtyTiles.iterator(); it.hasNext();)
+			{
+				int packed = it.next();
+				it.remove();
+				updatePile(packed >> 8, packed & 0xff);
+			}
+		}
 
-				if (player.getLocalLocation().distanceTo(itemLayer.getLocalLocation()) >= MAX_RANGE)
+		// reformat piles whose prices had not been loaded yet
+		List<Integer> pending = null;
+		for (Map.Entry<Integer, GroundItemPile> entry : piles.entrySet())
+		{
+			if (entry.getValue().isPricePending())
+			{
+				if (pending == null)
 				{
-					continue;
+					pending = new ArrayList<>();
 				}
+				pending.add(entry.getKey());
+			}
+		}
 
-				Node current = itemLayer.getBottom();
-				Map<Integer, Integer> items = new LinkedHashMap<>();
-				// adds the items on the ground to the ArrayList to be drawn
-				while (current instanceof Item)
-				{
-					Item item = (Item) current;
-					int itemId = item.getId();
-					int itemQuantity = item.getQuantity();
-					ItemComposition itemDefinition = itemCache.getUnchecked(itemId);
-
-					Integer currentQuantity = items.get(itemId);
-					if (!hiddenItems.contains(itemDefinition.getName().toLowerCase()))
-					{
-						if (currentQuantity == null)
-						{
-							items.put(itemId, itemQuantity);
-						}
-						else
-						{
-							items.put(itemId, currentQuantity + itemQuantity);
-						}
-					}
+		if (pending != null)
+		{
+			for (int packed : pending)
+			{
+				updatePile(packed >> 8, packed & 0xff);
+			}
+		}
+	}
 
-					current = current.getNext();
-				}
+	private void updatePile(int x, int y)
+	{
+		int key = pack(x, y);
+		Region region = client.getRegion();
+		Tile tile = region.getTiles()[plane][x][y];
+		ItemLayer itemLayer = tile != null ? tile.getItemLayer() : null;
 
-				// The bottom item is drawn first
-				List<Integer> itemIds = new ArrayList<>(items.keySet());
-				Collections.reverse(itemIds);
+		if (itemLayer == null)
+		{
+			piles.remove(key);
+			return;
+		}
 
-				for (int i = 0; i < itemIds.size(); ++i)
-				{
-					Point point = itemLayer.getCanvasLocation();
-					// if the item is offscreen, don't bother drawing it
-					if (point == null || !pointInWidget(point, viewport))
-					{
-						continue;
-					}
+		Node current = itemLayer.getBottom();
+		Map<Integer, Integer> items = new LinkedHashMap<>();
+		Map<Integer, ItemComposition> definitions = new LinkedHashMap<>();
+		// adds the items on the ground to the ArrayList to be drawn
+		while (current instanceof Item)
+		{
+			Item item = (Item) current;
+			int itemId = item.getId();
+			int itemQuantity = item.getQuantity();
+			ItemComposition itemDefinition = client.getItemDefinition(itemId);
 
-					int itemId = itemIds.get(i);
-					int quantity = items.get(itemId);
-					ItemComposition item = itemCache.getUnchecked(itemId);
+			if (itemDefinition != null && !hiddenItems.contains(itemDefinition.getName().toLowerCase()))
+			{
+				Integer currentQuantity = items.get(itemId);
+				items.put(itemId, currentQuantity == null ? itemQuantity : currentQuantity + itemQuantity);
+				definitions.put(itemId, itemDefinition);
+			}
 
-					if (item == null)
-					{
-						continue;
-					}
+			current = current.getNext();
+		}
 
-					itemStringBuilder.append(item.getName());
-					if (quantity > 1)
-					{
-						if (quantity >= MAX_QUANTITY)
-						{
-							itemStringBuilder.append(" (Lots!)");
-						}
-						else
-						{
-							itemStringBuilder.append(" (").append(quantity).append(")");
-						}
-					}
+		if (items.isEmpty())
+		{
+			piles.remove(key);
+			return;
+		}
 
-					// sets item ID to unnoted version, if noted
-					if (item.getNote() != -1)
-					{
-						itemId = item.getLinkedNoteId();
-					}
+		// The bottom item is drawn first
+		List<Integer> itemIds = new ArrayList<>(items.keySet());
+		Collections.reverse(itemIds);
 
-					Color textColor = Color.WHITE; // Color to use when drawing the ground item
-					ItemPrice itemPrice = itemManager.get(itemId);
-					if (itemPrice != null && config.showGEPrice())
-					{
-						int cost = itemPrice.getPrice() * quantity;
-						// set the color according to rarity, if possible
-						if (cost >= INSANE_VALUE) // 10,000,000 gp
-						{
-							textColor = FADED_PINK;
-						}
-						else if (cost >= HIGH_VALUE) // 1,000,000 gp
-						{
-							textColor = AMBER;
-						}
-						else if (cost >= MEDIUM_VALUE) // 100,000 gp
-						{
-							textColor = BRIGHT_GREEN;
-						}
-						else if (cost >= LOW_VALUE) // 20,000 gp
-						{
-							textColor = BRIGHT_BLUE;
-						}
-
-						itemStringBuilder.append(" (EX: ")
-							.append(ItemManager.quantityToStackSize(cost))
-							.append(" gp)");
-					}
+		String[] labels = new String[itemIds.size()];
+		Color[] colors = new Color[itemIds.size()];
+		boolean pricePending = false;
 
-					if (config.showHAValue())
-					{
-						itemStringBuilder.append(" (HA: ")
-							.append(Math.round(item.getPrice() * HIGH_ALCHEMY_CONSTANT))
-							.append(" gp)");
-					}
+		for (int i = 0; i < itemIds.size(); ++i)
+		{
+			int itemId = itemIds.get(i);
+			int quantity = items.get(itemId);
+			ItemComposition item = definitions.get(itemId);
 
-					if (highlightedItems.contains(item.getName().toLowerCase()))
-					{
-						textColor = PURPLE;
-					}
+			itemStringBuilder.append(item.getName());
+			if (quantity > 1)
+			{
+				if (quantity >= MAX_QUANTITY)
+				{
+					itemStringBuilder.append(" (Lots!)");
+				}
+				else
+				{
+					itemStringBuilder.append(" (").append(quantity).append(")");
+				}
+			}
 
-					String itemString = itemStringBuilder.toString();
-					itemStringBuilder.setLength(0);
+			// sets item ID to unnoted version, if noted
+			if (item.getNote() != -1)
+			{
+				itemId = item.getLinkedNoteId();
+			}
 
-					int screenX = point.getX() + 2 - (fm.stringWidth(itemString) / 2);
+			Color textColor = Color.WHITE; // Color to use when drawing the ground item
+			if (config.showGEPrice())
+			{
+				ItemPrice itemPrice = itemManager.get(itemId);
+				if (itemPrice != null)
+				{
+					int cost = itemPrice.getPrice() * quantity;
+					textColor = getCostColor(cost);
 
-					// Drawing the shadow for the text, 1px on both x and y
-					graphics.setColor(Color.BLACK);
-					graphics.drawString(itemString, screenX + 1, point.getY() - (STRING_GAP * i) + 1);
-					// Drawing the text itself
-					graphics.setColor(textColor);
-					graphics.drawString(itemString, screenX, point.getY() - (STRING_GAP * i));
+					itemStringBuilder.append(" (EX: ")
+						.append(ItemManager.quantityToStackSize(cost))
+						.append(" gp)");
+				}
+				else if (!itemManager.isPriceLoaded(itemId))
+				{
+					pricePending = true;
 				}
 			}
+
+			if (config.showHAValue())
+			{
+				itemStringBuilder.append(" (HA: ")
+					.append(Math.round(item.getPrice() * HIGH_ALCHEMY_CONSTANT))
+					.append(" gp)");
+			}
+
+			if (highlightedItems.contains(item.getName().toLowerCase()))
+			{
+				textColor = PURPLE;
+			}
+
+			labels[i] = itemStringBuilder.toString();
+			colors[i] = textColor;
+			itemStringBuilder.setLength(0);
 		}
 
-		return null;
+		piles.put(key, new GroundItemPile(itemLayer, labels, colors, pricePending));
 	}
 
-	private boolean pointInWidget(Point point, Widget widget)
+	private static Color getCostColor(int cost)
 	{
-		if (widget != null)
+		// set the color according to rarity, if possible
+		if (cost >= INSANE_VALUE) // 10,000,000 gp
+		{
+			return FADED_PINK;
+		}
+		else if (cost >= HIGH_VALUE) // 1,000,000 gp
+		{
+			return AMBER;
+		}
+		else if (cost >= MEDIUM_VALUE) // 100,000 gp
 		{
-			Rectangle bounds = widget.getBounds();
-			return bounds != null && bounds.contains(new java.awt.Point(point.getX(), point.getY()));
+			return BRIGHT_GREEN;
 		}
-		return false;
+		else if (cost >= LOW_VALUE) // 20,000 gp
+		{
+			return BRIGHT_BLUE;
+		}
+		return Color.WHITE;
+	}
+
+	private static Set<String> parseItems(String configItems)
+	{
+		return new HashSet<>(Arrays.asList(configItems.toLowerCase().split(DELIMITER_REGEX)));
+	}
+
+	private static int pack(int x, int y)
+	{
+		return x << 8 | y;
 	}
 }
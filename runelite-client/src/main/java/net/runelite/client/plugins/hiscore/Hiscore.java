@@ -25,7 +25,7 @@
 package net.runelite.client.plugins.hiscore;
 
 import com.google.common.eventbus.Subscribe;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ExecutorService;
 import javax.imageio.ImageIO;
 import javax.swing.ImageIcon;
 import net.runelite.client.RuneLite;
@@ -76,7 +76,7 @@ public class Hiscore extends Plugin
 	{
 		if (event.getMenuOption().equals(LOOKUP))
 		{
-			ScheduledExecutorService executor = runeLite.getExecutor();
+			ExecutorService executor = runeLite.getNetworkExecutor();
 			executor.execute(() -> hiscorePanel.lookup(event.getMenuTarget()));
 		}
 	}
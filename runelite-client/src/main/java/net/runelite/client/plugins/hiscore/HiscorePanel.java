@@ -32,7 +32,7 @@ import java.io.IOException;
 import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ExecutorService;
 import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.border.Border;
@@ -127,7 +127,7 @@ public class HiscorePanel extends PluginPanel
 		input.setFont(labelFont.deriveFont(Font.BOLD));
 		input.addActionListener(e ->
 		{
-			ScheduledExecutorService executor = runelite.getExecutor();
+			ExecutorService executor = runelite.getNetworkExecutor();
 			executor.execute(this::lookup);
 		});
 		inputPanel.add(input, BorderLayout.CENTER);
@@ -231,7 +231,7 @@ public class HiscorePanel extends PluginPanel
 				button.setToolTipText(endpoint.getName() + " Hiscores");
 				button.addActionListener((e ->
 				{
-					ScheduledExecutorService executor = runelite.getExecutor();
+					ExecutorService executor = runelite.getNetworkExecutor();
 					executor.execute(this::lookup);
 				}));
 				endpointButtons.add(button);
@@ -45,7 +45,8 @@ import net.runelite.client.task.Schedule;
 import net.runelite.client.ui.ClientUI;
 
 @PluginDescriptor(
-	name = "Idle notifier"
+	name = "Idle notifier",
+	parallelStartup = true
 )
 public class IdleNotifier extends Plugin
 {
@@ -36,7 +36,8 @@ import net.runelite.client.ui.overlay.Overlay;
  * @author robin
  */
 @PluginDescriptor(
-	name = "Implings plugin"
+	name = "Implings plugin",
+	parallelStartup = true
 )
 public class Implings extends Plugin
 {
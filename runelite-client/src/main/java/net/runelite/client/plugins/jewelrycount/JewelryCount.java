@@ -30,7 +30,8 @@ import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.ui.overlay.Overlay;
 
 @PluginDescriptor(
-	name = "Jewelry plugin"
+	name = "Jewelry plugin",
+	parallelStartup = true
 )
 public class JewelryCount extends Plugin
 {
@@ -30,7 +30,8 @@ import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.ui.overlay.Overlay;
 
 @PluginDescriptor(
-	name = "Mouse highlight plugin"
+	name = "Mouse highlight plugin",
+	parallelStartup = true
 )
 public class MouseHighlight extends Plugin
 {
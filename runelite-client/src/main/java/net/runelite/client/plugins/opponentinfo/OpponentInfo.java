@@ -36,7 +36,8 @@ import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.ui.overlay.Overlay;
 
 @PluginDescriptor(
-	name = "Opponent information plugin"
+	name = "Opponent information plugin",
+	parallelStartup = true
 )
 public class OpponentInfo extends Plugin
 {
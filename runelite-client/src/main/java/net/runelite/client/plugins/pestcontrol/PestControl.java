@@ -31,7 +31,8 @@ import net.runelite.client.ui.FontManager;
 import net.runelite.client.ui.overlay.Overlay;
 
 @PluginDescriptor(
-	name = "Pest control plugin"
+	name = "Pest control plugin",
+	parallelStartup = true
 )
 public class PestControl extends Plugin
 {
@@ -33,7 +33,8 @@ import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 
 @PluginDescriptor(
-	name = "Remember username plugin"
+	name = "Remember username plugin",
+	parallelStartup = true
 )
 public class RememberUsername extends Plugin
 {
@@ -38,7 +38,8 @@ import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.ui.overlay.Overlay;
 
 @PluginDescriptor(
-	name = "Runecraft plugin"
+	name = "Runecraft plugin",
+	parallelStartup = true
 )
 public class Runecraft extends Plugin
 {
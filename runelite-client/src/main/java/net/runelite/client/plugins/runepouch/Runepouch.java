@@ -30,7 +30,8 @@ import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.ui.overlay.Overlay;
 
 @PluginDescriptor(
-	name = "Runepouch plugin"
+	name = "Runepouch plugin",
+	parallelStartup = true
 )
 public class Runepouch extends Plugin
 {
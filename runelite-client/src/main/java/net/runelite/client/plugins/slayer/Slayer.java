@@ -49,7 +49,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @PluginDescriptor(
-	name = "Slayer plugin"
+	name = "Slayer plugin",
+	parallelStartup = true
 )
 public class Slayer extends Plugin
 {
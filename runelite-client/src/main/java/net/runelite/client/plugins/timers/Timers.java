@@ -35,7 +35,8 @@ import static net.runelite.client.plugins.timers.GameTimer.*;
 import net.runelite.client.ui.overlay.infobox.InfoBoxManager;
 
 @PluginDescriptor(
-	name = "Timers plugin"
+	name = "Timers plugin",
+	parallelStartup = true
 )
 public class Timers extends Plugin
 {
@@ -37,7 +37,8 @@ import net.runelite.client.task.Schedule;
 import net.runelite.client.ui.overlay.Overlay;
 
 @PluginDescriptor(
-	name = "Woodcutting plugin"
+	name = "Woodcutting plugin",
+	parallelStartup = true
 )
 public class WoodcuttingPlugin extends Plugin
 {
@@ -40,7 +40,8 @@ import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.ui.overlay.Overlay;
 
 @PluginDescriptor(
-	name = "Xp Globes plugin"
+	name = "Xp Globes plugin",
+	parallelStartup = true
 )
 public class XpGlobes extends Plugin
 {
@@ -79,7 +79,7 @@ public class XPPanel extends PluginPanel
 		JButton resetButton = new JButton("Reset All");
 		resetButton.setPreferredSize(new Dimension(PANEL_WIDTH, 32));
 		resetButton.addActionListener((ActionEvent e) ->
-				runelite.getExecutor().execute(this::resetAllSkillXpHr));
+				runelite.getCpuExecutor().execute(this::resetAllSkillXpHr));
 
 		statsPanel.add(resetButton);
 		JScrollPane scroll = new JScrollPane(statsPanel);
@@ -28,7 +28,7 @@ import com.google.common.eventbus.Subscribe;
 import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ExecutorService;
 import net.runelite.api.Client;
 import net.runelite.client.RuneLite;
 import net.runelite.client.events.MapRegionChanged;
@@ -40,7 +40,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @PluginDescriptor(
-	name = "Xtea plugin"
+	name = "Xtea plugin",
+	parallelStartup = true
 )
 public class Xtea extends Plugin
 {
@@ -89,7 +90,7 @@ public class Xtea extends Plugin
 
 		sentRegions.add(region);
 
-		ScheduledExecutorService executor = runeLite.getExecutor();
+		ExecutorService executor = runeLite.getNetworkExecutor();
 		executor.execute(() ->
 		{
 			try (Response response = xteaClient.submit(revision, region, keys))
@@ -48,7 +48,8 @@ import org.slf4j.LoggerFactory;
 import java.time.temporal.ChronoUnit;
 
 @PluginDescriptor(
-	name = "Zulrah plugin"
+	name = "Zulrah plugin",
+	parallelStartup = true
 )
 public class Zulrah extends Plugin
 {
@@ -72,6 +72,8 @@ public class ZulrahOverlay extends Overlay
 	private final Image[] zulrahImages = new Image[3];
 	private final Image[] smallZulrahImages = new Image[3];
 	private final Image[] prayerImages = new Image[2];
+	private final Polygon northPoly = new Polygon();
+	private final Polygon southPoly = new Polygon();
 
 	ZulrahOverlay(Zulrah plugin)
 	{
@@ -126,12 +128,24 @@ public class ZulrahOverlay extends Overlay
 	{
 		Point localTile = Perspective.worldToLocal(client, currentPhase.getStandTile(startTile));
 		localTile = new Point(localTile.getX() + Perspective.LOCAL_TILE_SIZE / 2, localTile.getY() + Perspective.LOCAL_TILE_SIZE / 2);
-		Polygon northPoly = getCanvasTileNorthPoly(client, localTile);
-		Polygon southPoly = getCanvasTileSouthPoly(client, localTile);
+
+		// project the corners once and split the tile diagonally between them
 		Polygon poly = Perspective.getCanvasTilePoly(client, localTile);
 		Point textLoc = Perspective.getCanvasTextLocation(client, graphics, localTile, "Next", 0);
-		if (northPoly != null && southPoly != null && poly != null && textLoc != null)
+		if (poly != null && textLoc != null)
 		{
+			int[] x = poly.xpoints, y = poly.ypoints;
+
+			northPoly.reset();
+			northPoly.addPoint(x[0], y[0]);
+			northPoly.addPoint(x[1], y[1]);
+			northPoly.addPoint(x[2], y[2]);
+
+			southPoly.reset();
+			southPoly.addPoint(x[0], y[0]);
+			southPoly.addPoint(x[2], y[2]);
+			southPoly.addPoint(x[3], y[3]);
+
 			Color northColor = getBackgroundColor(currentPhase.getType());
 			Color southColor = getBackgroundColor(nextPhase.getType());
 			graphics.setColor(northColor);
@@ -314,50 +328,6 @@ public class ZulrahOverlay extends Overlay
 		}
 	}
 
-	private Polygon getCanvasTileNorthPoly(Client client, Point localLocation)
-	{
-		int plane = client.getPlane();
-		int halfTile = Perspective.LOCAL_TILE_SIZE / 2;
-
-		Point p1 = Perspective.worldToCanvas(client, localLocation.getX() - halfTile, localLocation.getY() - halfTile, plane);
-		Point p2 = Perspective.worldToCanvas(client, localLocation.getX() - halfTile, localLocation.getY() + halfTile, plane);
-		Point p3 = Perspective.worldToCanvas(client, localLocation.getX() + halfTile, localLocation.getY() + halfTile, plane);
-
-		if (p1 == null || p2 == null || p3 == null)
-		{
-			return null;
-		}
-
-		Polygon poly = new Polygon();
-		poly.addPoint(p1.getX(), p1.getY());
-		poly.addPoint(p2.getX(), p2.getY());
-		poly.addPoint(p3.getX(), p3.getY());
-
-		return poly;
-	}
-
-	private Polygon getCanvasTileSouthPoly(Client client, Point localLocation)
-	{
-		int plane = client.getPlane();
-		int halfTile = Perspective.LOCAL_TILE_SIZE / 2;
-
-		Point p1 = Perspective.worldToCanvas(client, localLocation.getX() - halfTile, localLocation.getY() - halfTile, plane);
-		Point p2 = Perspective.worldToCanvas(client, localLocation.getX() + halfTile, localLocation.getY() + halfTile, plane);
-		Point p3 = Perspective.worldToCanvas(client, localLocation.getX() + halfTile, localLocation.getY() - halfTile, plane);
-
-		if (p1 == null || p2 == null || p3 == null)
-		{
-			return null;
-		}
-
-		Polygon poly = new Polygon();
-		poly.addPoint(p1.getX(), p1.getY());
-		poly.addPoint(p2.getX(), p2.getY());
-		poly.addPoint(p3.getX(), p3.getY());
-
-		return poly;
-	}
-
 	private Color getBackgroundColor(ZulrahType type)
 	{
 		switch (type)
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.task;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for tasks run on an executor. Queue latency is the time between
+ * a task being submitted, or becoming due for scheduled tasks, and it
+ * starting to run.
+ */
+public class ExecutorMetrics
+{
+	private final String name;
+	private final LongAdder submitted = new LongAdder();
+	private final LongAdder completed = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder queueNanos = new LongAdder();
+	private final LongAccumulator maxQueueNanos = new LongAccumulator(Long::max, 0);
+	private final LongAdder runNanos = new LongAdder();
+
+	public ExecutorMetrics(String name)
+	{
+		this.name = name;
+	}
+
+	void submitted()
+	{
+		submitted.increment();
+	}
+
+	void rejected()
+	{
+		rejected.increment();
+	}
+
+	void completed(long queued, long ran)
+	{
+		completed.increment();
+		queueNanos.add(queued);
+		maxQueueNanos.accumulate(queued);
+		runNanos.add(ran);
+	}
+
+	public String getName()
+	{
+		return name;
+	}
+
+	public long getSubmitted()
+	{
+		return submitted.sum();
+	}
+
+	public long getCompleted()
+	{
+		return completed.sum();
+	}
+
+	public long getRejected()
+	{
+		return rejected.sum();
+	}
+
+	/**
+	 * Average time tasks spent waiting to run, in nanoseconds
+	 *
+	 * @return
+	 */
+	public long getAverageQueueLatency()
+	{
+		long count = completed.sum();
+		return count == 0 ? 0 : queueNanos.sum() / count;
+	}
+
+	/**
+	 * Longest time a task spent waiting to run, in nanoseconds
+	 *
+	 * @return
+	 */
+	public long getMaxQueueLatency()
+	{
+		return maxQueueNanos.get();
+	}
+
+	/**
+	 * Average time tasks took to run, in nanoseconds
+	 *
+	 * @return
+	 */
+	public long getAverageRunTime()
+	{
+		long count = completed.sum();
+		return count == 0 ? 0 : runNanos.sum() / count;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "ExecutorMetrics{" + "name=" + name
+			+ ", submitted=" + getSubmitted()
+			+ ", completed=" + getCompleted()
+			+ ", rejected=" + getRejected()
+			+ ", avgQueueMs=" + TimeUnit.NANOSECONDS.toMillis(getAverageQueueLatency())
+			+ ", maxQueueMs=" + TimeUnit.NANOSECONDS.toMillis(getMaxQueueLatency())
+			+ ", avgRunMs=" + TimeUnit.NANOSECONDS.toMillis(getAverageRunTime()) + '}';
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.task;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A fixed size thread pool with a bounded queue which records
+ * {@link ExecutorMetrics} for its tasks. Tasks submitted while the queue
+ * is full, or after shutdown, are rejected. Callers on the client thread
+ * which must not throw should use {@link #tryExecute(Runnable)}.
+ */
+public class MeteredExecutor extends ThreadPoolExecutor
+{
+	private static final Logger logger = LoggerFactory.getLogger(MeteredExecutor.class);
+
+	private final ExecutorMetrics metrics;
+
+	public MeteredExecutor(String name, int threads, int queueSize, ThreadFactory threadFactory)
+	{
+		super(threads, threads, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize), threadFactory);
+		this.metrics = new ExecutorMetrics(name);
+		allowCoreThreadTimeOut(true);
+	}
+
+	@Override
+	public void execute(Runnable command)
+	{
+		if (!tryExecute(command))
+		{
+			throw new RejectedExecutionException("Task rejected from " + this);
+		}
+	}
+
+	/**
+	 * Execute a task, returning instead of throwing if it is rejected
+	 *
+	 * @param command
+	 * @return false if the task was rejected
+	 */
+	public boolean tryExecute(Runnable command)
+	{
+		long submitted = System.nanoTime();
+
+		try
+		{
+			super.execute(() ->
+			{
+				long start = System.nanoTime();
+				try
+				{
+					command.run();
+				}
+				finally
+				{
+					metrics.completed(start - submitted, System.nanoTime() - start);
+				}
+			});
+		}
+		catch (RejectedExecutionException ex)
+		{
+			metrics.rejected();
+			if (isShutdown())
+			{
+				logger.debug("Rejected task submitted after shutdown: {}", this);
+			}
+			else
+			{
+				logger.warn("Queue is full, rejected task: {}", this);
+			}
+			return false;
+		}
+
+		metrics.submitted();
+		return true;
+	}
+
+	public int getQueueDepth()
+	{
+		return getQueue().size();
+	}
+
+	public ExecutorMetrics getMetrics()
+	{
+		return metrics;
+	}
+
+	@Override
+	public String toString()
+	{
+		return metrics + "{queueDepth=" + getQueueDepth() + ", active=" + getActiveCount() + '}';
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.task;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A scheduled executor which records {@link ExecutorMetrics} for its
+ * tasks. Queue latency is measured from when a task became due, so it
+ * shows how late tasks run.
+ */
+public class MeteredScheduledExecutor extends ScheduledThreadPoolExecutor
+{
+	private final ExecutorMetrics metrics;
+
+	public MeteredScheduledExecutor(String name, int threads, ThreadFactory threadFactory)
+	{
+		super(threads, threadFactory);
+		this.metrics = new ExecutorMetrics(name);
+	}
+
+	@Override
+	protected <V> RunnableScheduledFuture<V> decorateTask(Runnable runnable, RunnableScheduledFuture<V> task)
+	{
+		metrics.submitted();
+		return new MeteredTask<>(task);
+	}
+
+	@Override
+	protected <V> RunnableScheduledFuture<V> decorateTask(Callable<V> callable, RunnableScheduledFuture<V> task)
+	{
+		metrics.submitted();
+		return new MeteredTask<>(task);
+	}
+
+	public int getQueueDepth()
+	{
+		return getQueue().size();
+	}
+
+	public ExecutorMetrics getMetrics()
+	{
+		return metrics;
+	}
+
+	@Override
+	public String toString()
+	{
+		return metrics + "{queueDepth=" + getQueueDepth() + ", active=" + getActiveCount() + '}';
+	}
+
+	private class MeteredTask<V> implements RunnableScheduledFuture<V>
+	{
+		private final RunnableScheduledFuture<V> task;
+
+		MeteredTask(RunnableScheduledFuture<V> task)
+		{
+			this.task = task;
+		}
+
+		@Override
+		public void run()
+		{
+			long late = Math.max(0, -task.getDelay(TimeUnit.NANOSECONDS));
+			long start = System.nanoTime();
+			try
+			{
+				task.run();
+			}
+			finally
+			{
+				metrics.completed(late, System.nanoTime() - start);
+			}
+		}
+
+		@Override
+		public boolean isPeriodic()
+		{
+			return task.isPeriodic();
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit)
+		{
+			return task.getDelay(unit);
+		}
+
+		@Override
+		public int compareTo(Delayed o)
+		{
+			return task.compareTo(o instanceof MeteredTask ? ((MeteredTask<?>) o).task : o);
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning)
+		{
+			return task.cancel(mayInterruptIfRunning);
+		}
+
+		@Override
+		public boolean isCancelled()
+		{
+			return task.isCancelled();
+		}
+
+		@Override
+		public boolean isDone()
+		{
+			return task.isDone();
+		}
+
+		@Override
+		public V get() throws InterruptedException, ExecutionException
+		{
+			return task.get();
+		}
+
+		@Override
+		public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException
+		{
+			return task.get(timeout, unit);
+		}
+	}
+}
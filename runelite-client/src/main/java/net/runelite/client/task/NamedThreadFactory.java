@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.task;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates daemon threads named after the executor they belong to
+ */
+public class NamedThreadFactory implements ThreadFactory
+{
+	private static final Logger logger = LoggerFactory.getLogger(NamedThreadFactory.class);
+
+	private final String name;
+	private final AtomicInteger count = new AtomicInteger();
+
+	public NamedThreadFactory(String name)
+	{
+		this.name = name;
+	}
+
+	@Override
+	public Thread newThread(Runnable r)
+	{
+		Thread thread = new Thread(r, name + "-" + count.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	}
+
+	/**
+	 * Create a factory for virtual threads if the JVM supports them,
+	 * otherwise for platform threads. Virtual threads are looked up
+	 * reflectively since the client targets Java 8.
+	 *
+	 * @param name
+	 * @return
+	 */
+	public static ThreadFactory virtual(String name)
+	{
+		try
+		{
+			Class<?> ofVirtual = Class.forName("java.lang.Thread$Builder$OfVirtual");
+			Method nameMethod = ofVirtual.getMethod("name", String.class, long.class);
+			Method factoryMethod = ofVirtual.getMethod("factory");
+
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			builder = nameMethod.invoke(builder, name + "-", 1L);
+			return (ThreadFactory) factoryMethod.invoke(builder);
+		}
+		catch (ReflectiveOperationException ex)
+		{
+			// Not supported, or a preview feature which isn't enabled
+			logger.debug("Virtual threads are not available for {}", name);
+			return new NamedThreadFactory(name);
+		}
+	}
+}
@@ -24,21 +24,74 @@
  */
 package net.runelite.client.task;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
-import java.time.Instant;
+import java.time.Duration;
 
 public class ScheduledMethod
 {
 	private final Schedule schedule;
 	private final Method method;
 	private final Object object;
-	private Instant last = Instant.now();
+	private final long period;
+	private final Runnable invoker;
+	private long nextRun;
+	private volatile boolean cancelled;
 
 	public ScheduledMethod(Schedule schedule, Method method, Object object)
 	{
 		this.schedule = schedule;
 		this.method = method;
 		this.object = object;
+		this.period = Duration.of(schedule.period(), schedule.unit()).toNanos();
+		this.invoker = createInvoker(method, object);
+		this.nextRun = System.nanoTime() + period;
+	}
+
+	/**
+	 * Bind the scheduled method to a {@link Runnable} so it can be called
+	 * without going through reflection on every run
+	 *
+	 * @param method
+	 * @param object
+	 * @return
+	 */
+	private static Runnable createInvoker(Method method, Object object)
+	{
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+		try
+		{
+			MethodHandle handle = lookup.unreflect(method);
+
+			CallSite site = LambdaMetafactory.metafactory(lookup,
+				"run",
+				MethodType.methodType(Runnable.class, method.getDeclaringClass()),
+				MethodType.methodType(void.class),
+				handle,
+				MethodType.methodType(void.class));
+
+			return (Runnable) site.getTarget().invoke(object);
+		}
+		catch (Throwable ex)
+		{
+			// Fall back to invoking the method through reflection
+			return () ->
+			{
+				try
+				{
+					method.invoke(object);
+				}
+				catch (ReflectiveOperationException e)
+				{
+					throw new RuntimeException(e);
+				}
+			};
+		}
 	}
 
 	@Override
@@ -62,13 +115,43 @@ public class ScheduledMethod
 		return object;
 	}
 
-	public Instant getLast()
+	public Runnable getInvoker()
+	{
+		return invoker;
+	}
+
+	/**
+	 * Period of the schedule, in nanoseconds
+	 *
+	 * @return
+	 */
+	public long getPeriod()
+	{
+		return period;
+	}
+
+	/**
+	 * Time at which this method is next due, as a {@link System#nanoTime()} value
+	 *
+	 * @return
+	 */
+	public long getNextRun()
+	{
+		return nextRun;
+	}
+
+	public void setNextRun(long nextRun)
+	{
+		this.nextRun = nextRun;
+	}
+
+	public boolean isCancelled()
 	{
-		return last;
+		return cancelled;
 	}
 
-	public void setLast(Instant last)
+	public void setCancelled(boolean cancelled)
 	{
-		this.last = last;
+		this.cancelled = cancelled;
 	}
 }
@@ -24,14 +24,13 @@
  */
 package net.runelite.client.task;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.time.Duration;
-import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import net.runelite.client.RuneLite;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,7 +40,17 @@ public class Scheduler
 	private static final Logger logger = LoggerFactory.getLogger(Scheduler.class);
 
 	private final RuneLite runelite;
-	private final List<ScheduledMethod> scheduledMethods = new ArrayList<>();
+	private final List<ScheduledMethod> scheduledMethods = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Methods which have been added but not yet moved into the deadline queue.
+	 * Registration can happen from any thread, the deadline queue is only
+	 * touched from tick()
+	 */
+	private final Queue<ScheduledMethod> pending = new ConcurrentLinkedQueue<>();
+	private final PriorityQueue<ScheduledMethod> deadlines = new PriorityQueue<>(
+		Comparator.comparingLong(ScheduledMethod::getNextRun)
+	);
 
 	public Scheduler(RuneLite runelite)
 	{
@@ -50,11 +59,15 @@ public class Scheduler
 
 	public void addScheduledMethod(ScheduledMethod method)
 	{
+		method.setCancelled(false);
 		scheduledMethods.add(method);
+		pending.add(method);
 	}
 
 	public void removeScheduledMethod(ScheduledMethod method)
 	{
+		// removed from the deadline queue lazily the next time it is due
+		method.setCancelled(true);
 		scheduledMethods.remove(method);
 	}
 
@@ -65,47 +78,55 @@ public class Scheduler
 
 	public void tick()
 	{
-		Instant now = Instant.now();
+		tick(System.nanoTime());
+	}
+
+	void tick(long now)
+	{
+		ScheduledMethod scheduledMethod;
+
+		while ((scheduledMethod = pending.poll()) != null)
+		{
+			if (!scheduledMethod.isCancelled())
+			{
+				deadlines.add(scheduledMethod);
+			}
+		}
 
-		for (ScheduledMethod scheduledMethod : scheduledMethods)
+		while ((scheduledMethod = deadlines.peek()) != null
+			&& now - scheduledMethod.getNextRun() > 0)
 		{
-			Instant last = scheduledMethod.getLast();
+			deadlines.poll();
 
-			Duration difference = Duration.between(last, now);
+			if (scheduledMethod.isCancelled())
+			{
+				continue;
+			}
 
-			Schedule schedule = scheduledMethod.getSchedule();
-			Duration timeSinceRun = Duration.of(schedule.period(), schedule.unit());
+			logger.trace("Scheduled task triggered: {}", scheduledMethod);
 
-			if (difference.compareTo(timeSinceRun) > 0)
+			scheduledMethod.setNextRun(now + scheduledMethod.getPeriod());
+			deadlines.add(scheduledMethod);
+
+			if (scheduledMethod.getSchedule().asynchronous())
+			{
+				// this is the client thread, so a full queue skips this run rather than throwing
+				MeteredExecutor executor = runelite.getNetworkExecutor();
+				final ScheduledMethod method = scheduledMethod;
+				executor.tryExecute(() -> run(method));
+			}
+			else
 			{
-				logger.trace("Scheduled task triggered: {}", scheduledMethod);
-
-				scheduledMethod.setLast(now);
-
-				if (schedule.asynchronous())
-				{
-					ScheduledExecutorService executor = runelite.getExecutor();
-					executor.submit(() -> run(scheduledMethod));
-				}
-				else
-				{
-					run(scheduledMethod);
-				}
+				run(scheduledMethod);
 			}
 		}
 	}
 
 	private void run(ScheduledMethod scheduledMethod)
 	{
-		Method method = scheduledMethod.getMethod();
-
 		try
 		{
-			method.invoke(scheduledMethod.getObject());
-		}
-		catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException ex)
-		{
-			logger.warn("error invoking scheduled task", ex);
+			scheduledMethod.getInvoker().run();
 		}
 		catch (Exception ex)
 		{
@@ -25,8 +25,8 @@
 package net.runelite.client.ui.overlay;
 
 import java.awt.image.BufferedImage;
+import java.util.List;
 import net.runelite.client.RuneLite;
-import net.runelite.client.plugins.Plugin;
 import net.runelite.client.ui.overlay.infobox.InfoBoxOverlay;
 import net.runelite.client.ui.overlay.tooltips.TooltipRenderer;
 
@@ -35,38 +35,56 @@ public class OverlayRenderer
 	private final TooltipRenderer tooltipRenderer = new TooltipRenderer();
 	private final InfoBoxOverlay infoBoxOverlay = new InfoBoxOverlay(tooltipRenderer);
 
+	private List<Overlay> overlays;
+	private TopDownRendererLeft tdl;
+	private TopDownRendererRight tdr;
+	private DynamicRenderer dr;
+
 	public void render(BufferedImage clientBuffer)
+	{
+		List<Overlay> current = RuneLite.getRunelite().getPluginManager().getOverlays();
+		if (current != overlays)
+		{
+			// plugins have started or stopped since the last frame
+			rebuild(current);
+		}
+
+		tdl.render(clientBuffer);
+		tdr.render(clientBuffer);
+		dr.render(clientBuffer);
+
+		// tooltips are always rendered on top of other overlays
+		tooltipRenderer.render(clientBuffer);
+	}
+
+	private void rebuild(List<Overlay> overlays)
 	{
 		TopDownRendererLeft tdl = new TopDownRendererLeft();
 		TopDownRendererRight tdr = new TopDownRendererRight();
 		DynamicRenderer dr = new DynamicRenderer();
-		for (Plugin plugin : RuneLite.getRunelite().getPluginManager().getPlugins())
+
+		for (Overlay overlay : overlays)
 		{
-			for (Overlay overlay : plugin.getOverlays())
+			switch (overlay.getPosition())
 			{
-				switch (overlay.getPosition())
-				{
-					case TOP_RIGHT:
-						tdr.add(overlay);
-						break;
-					case TOP_LEFT:
-						tdl.add(overlay);
-						break;
-					case DYNAMIC:
-						dr.add(overlay);
-						break;
-				}
+				case TOP_RIGHT:
+					tdr.add(overlay);
+					break;
+				case TOP_LEFT:
+					tdl.add(overlay);
+					break;
+				case DYNAMIC:
+					dr.add(overlay);
+					break;
 			}
 		}
 
 		tdl.add(infoBoxOverlay);
 
-		tdl.render(clientBuffer);
-		tdr.render(clientBuffer);
-		dr.render(clientBuffer);
-
-		// tooltips are always rendered on top of other overlays
-		tooltipRenderer.render(clientBuffer);
+		this.tdl = tdl;
+		this.tdr = tdr;
+		this.dr = dr;
+		this.overlays = overlays;
 	}
 
 	public TooltipRenderer getTooltipRenderer()
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.callback;
+
+import com.google.common.reflect.ClassPath;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import net.runelite.mapping.Hook;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * The injector binds each hook directly to the Hooks method of the same
+ * name, so a misnamed hook would otherwise only fail at runtime with a
+ * NoSuchMethodError.
+ */
+public class HooksTest
+{
+	@Test
+	public void testHookMethodsExist() throws Exception
+	{
+		List<String> missing = new ArrayList<>();
+		int hooks = 0;
+
+		// the deobfuscated client is in the default package
+		ClassPath classPath = ClassPath.from(HooksTest.class.getClassLoader());
+		for (ClassPath.ClassInfo info : classPath.getTopLevelClasses(""))
+		{
+			Class<?> clazz = info.load();
+
+			for (Field field : clazz.getDeclaredFields())
+			{
+				Hook hook = field.getAnnotation(Hook.class);
+				if (hook == null)
+				{
+					continue;
+				}
+
+				++hooks;
+				if (!hasFieldHook(hook.value()))
+				{
+					missing.add(hook.value() + " on " + clazz.getName() + "." + field.getName());
+				}
+			}
+
+			for (Method method : clazz.getDeclaredMethods())
+			{
+				Hook hook = method.getAnnotation(Hook.class);
+				if (hook == null)
+				{
+					continue;
+				}
+
+				// instance method hooks are also passed the object
+				int arguments = method.getParameterCount() + (Modifier.isStatic(method.getModifiers()) ? 0 : 1);
+
+				++hooks;
+				if (!hasMethodHook(hook.value(), arguments))
+				{
+					missing.add(hook.value() + " on " + clazz.getName() + "." + method.getName());
+				}
+			}
+		}
+
+		Assert.assertTrue("no hooks found", hooks > 0);
+		Assert.assertTrue("no Hooks method for " + missing, missing.isEmpty());
+	}
+
+	private static boolean hasFieldHook(String name)
+	{
+		try
+		{
+			// InjectHook calls Hooks.<name>(ILjava/lang/Object;)V
+			Method method = Hooks.class.getMethod(name, int.class, Object.class);
+			return Modifier.isStatic(method.getModifiers()) && method.getReturnType() == void.class;
+		}
+		catch (NoSuchMethodException ex)
+		{
+			return false;
+		}
+	}
+
+	private static boolean hasMethodHook(String name, int arguments)
+	{
+		// InjectHookMethod passes the api types of the arguments
+		for (Method method : Hooks.class.getMethods())
+		{
+			if (method.getName().equals(name)
+				&& Modifier.isStatic(method.getModifiers())
+				&& method.getReturnType() == void.class
+				&& method.getParameterCount() == arguments)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+}
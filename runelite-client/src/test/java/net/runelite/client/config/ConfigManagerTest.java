@@ -24,14 +24,22 @@
  */
 package net.runelite.client.config;
 
-import com.google.common.eventbus.EventBus;
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 import net.runelite.client.account.AccountSession;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.http.api.config.ConfigClient;
+import net.runelite.http.api.config.Configuration;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.InOrder;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class ConfigManagerTest
 {
@@ -43,7 +51,7 @@ public class ConfigManagerTest
 		accountSession.setUsername("test");
 		accountSession.setCreated(Instant.now());
 
-		ConfigManager manager = new ConfigManager(mock(EventBus.class));
+		ConfigManager manager = new ConfigManager(mock(EventBus.class), Runnable::run);
 		manager.setConfiguration("test", "key", "moo");
 
 		TestConfig conf = manager.getConfig(TestConfig.class);
@@ -58,7 +66,7 @@ public class ConfigManagerTest
 		accountSession.setUsername("test");
 		accountSession.setCreated(Instant.now());
 
-		ConfigManager manager = new ConfigManager(mock(EventBus.class));
+		ConfigManager manager = new ConfigManager(mock(EventBus.class), Runnable::run);
 
 		TestConfig conf = manager.getConfig(TestConfig.class);
 		Assert.assertEquals("default", conf.key());
@@ -72,7 +80,7 @@ public class ConfigManagerTest
 		accountSession.setUsername("test");
 		accountSession.setCreated(Instant.now());
 
-		ConfigManager manager = new ConfigManager(mock(EventBus.class));
+		ConfigManager manager = new ConfigManager(mock(EventBus.class), Runnable::run);
 
 		TestConfig conf = manager.getConfig(TestConfig.class);
 		conf.key("new value");
@@ -88,10 +96,48 @@ public class ConfigManagerTest
 		accountSession.setUsername("test");
 		accountSession.setCreated(Instant.now());
 
-		ConfigManager manager = new ConfigManager(mock(EventBus.class));
+		ConfigManager manager = new ConfigManager(mock(EventBus.class), Runnable::run);
 
 		TestConfig conf = manager.getConfig(TestConfig.class);
 		ConfigDescriptor descriptor = manager.getConfigDescriptor(conf);
 		Assert.assertEquals(1, descriptor.getItems().size());
 	}
+
+	@Test
+	public void testSetConfigWithSession() throws IOException
+	{
+		AccountSession accountSession = new AccountSession();
+		accountSession.setUuid(UUID.randomUUID());
+		accountSession.setUsername("test");
+		accountSession.setCreated(Instant.now());
+
+		ConfigClient client = mock(ConfigClient.class);
+		when(client.get()).thenReturn(new Configuration(Collections.emptyList()));
+
+		List<Runnable> tasks = new ArrayList<>();
+		ConfigManager manager = new ConfigManager(mock(EventBus.class), tasks::add)
+		{
+			@Override
+			ConfigClient createClient(UUID uuid)
+			{
+				return client;
+			}
+		};
+		manager.switchSession(accountSession);
+
+		manager.setConfiguration("test", "key", "one");
+		manager.setConfiguration("test", "key", "two");
+		manager.unsetConfiguration("test", "key");
+
+		// the local config is updated immediately, the server asynchronously
+		Assert.assertNull(manager.getConfiguration("test", "key"));
+		Assert.assertEquals(3, tasks.size());
+
+		tasks.forEach(Runnable::run);
+
+		InOrder inOrder = inOrder(client);
+		inOrder.verify(client).set("test.key", "one");
+		inOrder.verify(client).set("test.key", "two");
+		inOrder.verify(client).unset("test.key");
+	}
 }
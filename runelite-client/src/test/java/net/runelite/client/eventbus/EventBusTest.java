@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.eventbus;
+
+import com.google.common.eventbus.Subscribe;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EventBusTest
+{
+	private final List<Runnable> queued = new ArrayList<>();
+	private final List<Throwable> exceptions = new ArrayList<>();
+	private EventBus eventBus;
+
+	public static class Listener
+	{
+		private final List<Object> events = new ArrayList<>();
+		private final List<Object> asyncEvents = new ArrayList<>();
+
+		@Subscribe
+		public void onString(String event)
+		{
+			events.add(event);
+		}
+
+		@Subscribe
+		public void onCharSequence(CharSequence event)
+		{
+			events.add(event);
+		}
+
+		@Subscribe
+		@Asynchronous
+		public void onInteger(Integer event)
+		{
+			asyncEvents.add(event);
+		}
+
+		@Subscribe
+		public void onLong(Long event)
+		{
+			throw new IllegalStateException();
+		}
+
+		@Subscribe
+		public void onBoolean(Boolean event)
+		{
+			throw new AssertionError();
+		}
+
+		@Subscribe
+		public void onObject(Object event)
+		{
+			events.add(event);
+		}
+	}
+
+	@Before
+	public void before()
+	{
+		eventBus = new EventBus(queued::add, (ex, subscriber) -> exceptions.add(ex));
+	}
+
+	@Test
+	public void testPost()
+	{
+		Listener listener = new Listener();
+		eventBus.register(listener);
+
+		eventBus.post("test");
+
+		// delivered to subscribers of the type and its supertypes
+		assertEquals(3, listener.events.size());
+		assertSame("test", listener.events.get(0));
+		assertSame("test", listener.events.get(1));
+		assertSame("test", listener.events.get(2));
+	}
+
+	@Test
+	public void testUnregister()
+	{
+		Listener listener = new Listener();
+		eventBus.register(listener);
+		eventBus.post("test");
+
+		eventBus.unregister(listener);
+		eventBus.post("test");
+
+		assertEquals(3, listener.events.size());
+		assertEquals(0, eventBus.getSubscribers(String.class).length);
+
+		// unregistering again is harmless
+		eventBus.unregister(listener);
+	}
+
+	@Test
+	public void testAsynchronous()
+	{
+		Listener listener = new Listener();
+		eventBus.register(listener);
+
+		eventBus.post(42);
+		assertTrue(listener.asyncEvents.isEmpty());
+		assertEquals(1, queued.size());
+
+		queued.get(0).run();
+		assertEquals(1, listener.asyncEvents.size());
+		assertEquals(42, listener.asyncEvents.get(0));
+	}
+
+	@Test
+	public void testException()
+	{
+		Listener listener = new Listener();
+		eventBus.register(listener);
+
+		eventBus.post(42L);
+
+		assertEquals(1, exceptions.size());
+		assertTrue(exceptions.get(0) instanceof IllegalStateException);
+	}
+
+	@Test
+	public void testError()
+	{
+		Listener listener = new Listener();
+		eventBus.register(listener);
+
+		eventBus.post(true);
+
+		assertEquals(1, exceptions.size());
+		assertTrue(exceptions.get(0) instanceof AssertionError);
+		// the remaining subscribers still get the event
+		assertEquals(1, listener.events.size());
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import net.runelite.client.task.MeteredExecutor;
+import net.runelite.client.task.NamedThreadFactory;
+import net.runelite.http.api.item.Item;
+import net.runelite.http.api.item.ItemClient;
+import net.runelite.http.api.item.ItemPrice;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ItemPriceLoaderTest
+{
+	private final ScheduledExecutorService timer = mock(ScheduledExecutorService.class);
+	private final ItemClient client = mock(ItemClient.class);
+	private MeteredExecutor executor;
+	private ItemPriceLoader loader;
+
+	@Before
+	public void before()
+	{
+		executor = new MeteredExecutor("test", 1, 16, new NamedThreadFactory("test"));
+		loader = new ItemPriceLoader(timer, executor, client);
+	}
+
+	@After
+	public void after()
+	{
+		executor.shutdownNow();
+	}
+
+	private void runBatch(int batch)
+	{
+		ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+		verify(timer, times(batch)).schedule(captor.capture(), anyLong(), any(TimeUnit.class));
+		captor.getValue().run();
+	}
+
+	private static ItemPrice price(int id, int price)
+	{
+		Item item = new Item();
+		item.setId(id);
+		ItemPrice itemPrice = new ItemPrice();
+		itemPrice.setItem(item);
+		itemPrice.setPrice(price);
+		return itemPrice;
+	}
+
+	@Test
+	public void testCoalesce() throws Exception
+	{
+		when(client.lookupItemPrices(any(int[].class))).thenReturn(new ItemPrice[]
+		{
+			price(1, 100)
+		});
+
+		ListenableFuture<ItemPrice> one = loader.reload(1, ItemManager.EMPTY);
+		ListenableFuture<ItemPrice> two = loader.reload(2, ItemManager.EMPTY);
+		Assert.assertSame(one, loader.reload(1, ItemManager.EMPTY));
+
+		runBatch(1);
+
+		Assert.assertEquals(100, one.get(5, TimeUnit.SECONDS).getPrice());
+		// missing from a successful response, so it has no price
+		Assert.assertSame(ItemManager.NONE, two.get(5, TimeUnit.SECONDS));
+
+		ArgumentCaptor<int[]> ids = ArgumentCaptor.forClass(int[].class);
+		verify(client).lookupItemPrices(ids.capture());
+		Assert.assertEquals(2, ids.getValue().length);
+	}
+
+	@Test
+	public void testFailure() throws Exception
+	{
+		when(client.lookupItemPrices(any(int[].class)))
+			.thenThrow(new IOException())
+			.thenReturn(new ItemPrice[]
+			{
+				price(1, 100)
+			});
+
+		ListenableFuture<ItemPrice> future = loader.reload(1, ItemManager.EMPTY);
+		runBatch(1);
+
+		try
+		{
+			future.get(5, TimeUnit.SECONDS);
+			Assert.fail();
+		}
+		catch (ExecutionException ex)
+		{
+			Assert.assertTrue(ex.getCause() instanceof IOException);
+		}
+
+		// the failed lookup is not cached, and is retried in a new batch
+		ListenableFuture<ItemPrice> retry = loader.reload(1, ItemManager.EMPTY);
+		Assert.assertNotSame(future, retry);
+		runBatch(2);
+
+		Assert.assertEquals(100, retry.get(5, TimeUnit.SECONDS).getPrice());
+		verify(client, times(2)).lookupItemPrices(eq(new int[]
+		{
+			1
+		}));
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.task;
+
+import java.lang.reflect.Method;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SchedulerTest
+{
+	private Scheduler scheduler;
+	private ScheduledTask task;
+
+	public static class ScheduledTask
+	{
+		private int count;
+
+		@Schedule(period = 600, unit = ChronoUnit.MILLIS)
+		public void run()
+		{
+			++count;
+		}
+	}
+
+	@Before
+	public void before()
+	{
+		scheduler = new Scheduler(null);
+		task = new ScheduledTask();
+	}
+
+	private ScheduledMethod schedule() throws NoSuchMethodException
+	{
+		Method method = ScheduledTask.class.getMethod("run");
+		ScheduledMethod scheduledMethod = new ScheduledMethod(method.getAnnotation(Schedule.class), method, task);
+		scheduler.addScheduledMethod(scheduledMethod);
+		return scheduledMethod;
+	}
+
+	@Test
+	public void testTick() throws Exception
+	{
+		ScheduledMethod scheduledMethod = schedule();
+		long start = scheduledMethod.getNextRun();
+
+		scheduler.tick(start);
+		assertEquals(0, task.count);
+
+		scheduler.tick(start + 1);
+		assertEquals(1, task.count);
+
+		// not due again until a full period has elapsed
+		scheduler.tick(start + TimeUnit.MILLISECONDS.toNanos(300));
+		assertEquals(1, task.count);
+
+		scheduler.tick(start + TimeUnit.MILLISECONDS.toNanos(601));
+		assertEquals(2, task.count);
+	}
+
+	@Test
+	public void testRemove() throws Exception
+	{
+		ScheduledMethod scheduledMethod = schedule();
+		long start = scheduledMethod.getNextRun();
+
+		scheduler.tick(start + 1);
+		assertEquals(1, task.count);
+
+		scheduler.removeScheduledMethod(scheduledMethod);
+		assertEquals(0, scheduler.getScheduledMethods().size());
+
+		scheduler.tick(start + TimeUnit.SECONDS.toNanos(10));
+		assertEquals(1, task.count);
+	}
+}
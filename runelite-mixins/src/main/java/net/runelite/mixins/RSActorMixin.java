@@ -36,6 +36,7 @@ import net.runelite.api.SpritePixels;
 import net.runelite.api.mixins.Inject;
 import net.runelite.api.mixins.Mixin;
 import net.runelite.api.mixins.Shadow;
+import net.runelite.api.model.ModelHulls;
 import net.runelite.rs.api.RSActor;
 import net.runelite.rs.api.RSClient;
 import net.runelite.rs.api.RSCombatInfo1;
@@ -138,6 +139,13 @@ public abstract class RSActorMixin implements RSActor
 		return Perspective.getCanvasTilePoly(client, getLocalLocation());
 	}
 
+	@Inject
+	@Override
+	public Polygon getConvexHull()
+	{
+		return ModelHulls.getConvexHull(client, this, this, getX(), getY(), getOrientation());
+	}
+
 	@Inject
 	@Override
 	public Point getCanvasTextLocation(Graphics2D graphics, String text, int zOffset)
@@ -26,6 +26,7 @@ package net.runelite.mixins;
 
 import java.util.ArrayList;
 import java.util.List;
+import net.runelite.api.EntityIndex;
 import net.runelite.api.GameState;
 import net.runelite.api.NPC;
 import net.runelite.api.Player;
@@ -43,6 +44,9 @@ import net.runelite.rs.api.RSWidget;
 @Mixin(RSClient.class)
 public abstract class RSClientMixin implements RSClient
 {
+	@Inject
+	private static EntityIndex entityIndex;
+
 	@Inject
 	@Override
 	public List<Player> getPlayers()
@@ -77,6 +81,18 @@ public abstract class RSClientMixin implements RSClient
 		return npcs;
 	}
 
+	@Inject
+	@Override
+	public EntityIndex getEntityIndex()
+	{
+		if (entityIndex == null)
+		{
+			entityIndex = new EntityIndex(this);
+		}
+
+		return entityIndex;
+	}
+
 	@Inject
 	@Override
 	public int getBoostedSkillLevel(Skill skill)
@@ -25,15 +25,20 @@
 package net.runelite.mixins;
 
 import java.awt.Polygon;
-import net.runelite.api.Model;
 import net.runelite.api.Renderable;
+import net.runelite.api.model.ModelHulls;
 import net.runelite.api.mixins.Inject;
 import net.runelite.api.mixins.Mixin;
+import net.runelite.api.mixins.Shadow;
+import net.runelite.rs.api.RSClient;
 import net.runelite.rs.api.RSDecorativeObject;
 
 @Mixin(RSDecorativeObject.class)
 public abstract class RSDecorativeObjectMixin implements RSDecorativeObject
 {
+	@Shadow("clientInstance")
+	private static RSClient client;
+
 	@Inject
 	@Override
 	public Polygon getConvexHull()
@@ -44,22 +49,8 @@ public abstract class RSDecorativeObjectMixin implements RSDecorativeObject
 			return null;
 		}
 
-		Model model;
-
-		if (renderable instanceof Model)
-		{
-			model = (Model) renderable;
-		}
-		else
-		{
-			model = renderable.getModel();
-		}
-
-		if (model == null)
-		{
-			return null;
-		}
-
-		return getConvexHull(model, getOrientation());
+		// the renderable is passed through so the cache is checked before
+		// dynamic renderables build a new model
+		return ModelHulls.getConvexHull(client, this, renderable, getX(), getY(), getOrientation());
 	}
 }
@@ -26,14 +26,11 @@ package net.runelite.mixins;
 
 import java.awt.Graphics2D;
 import java.awt.Polygon;
-import java.util.ArrayList;
-import java.util.List;
 import net.runelite.api.Model;
 import net.runelite.api.Perspective;
 import net.runelite.api.Point;
 import net.runelite.api.TileObject;
-import net.runelite.api.model.Jarvis;
-import net.runelite.api.model.Vertex;
+import net.runelite.api.model.ModelHulls;
 import net.runelite.api.mixins.Inject;
 import net.runelite.api.mixins.Mixin;
 import net.runelite.api.mixins.Mixins;
@@ -113,53 +110,6 @@ public abstract class TileObjectMixin implements TileObject
 	@Inject
 	public Polygon getConvexHull(Model model, int orientation)
 	{
-		int localX = getX();
-		int localY = getY();
-
-		// models are orientated north (1024) and there are 2048 angles total
-		orientation = (orientation + 1024) % 2048;
-
-		List<Vertex> verticies = model.getVertices();
-
-		if (orientation != 0)
-		{
-			// rotate verticies
-			for (int i = 0; i < verticies.size(); ++i)
-			{
-				Vertex v = verticies.get(i);
-				verticies.set(i, v.rotate(orientation));
-			}
-		}
-
-		List<Point> points = new ArrayList<Point>();
-
-		for (Vertex v : verticies)
-		{
-			// Compute canvas location of vertex
-			Point p = Perspective.worldToCanvas(client,
-				localX - v.getX(),
-				localY - v.getZ(),
-				-v.getY());
-			if (p != null)
-			{
-				points.add(p);
-			}
-		}
-
-		// Run Jarvis march algorithm
-		points = Jarvis.convexHull(points);
-		if (points == null)
-		{
-			return null;
-		}
-
-		// Convert to a polygon
-		Polygon p = new Polygon();
-		for (Point point : points)
-		{
-			p.addPoint(point.getX(), point.getY());
-		}
-
-		return p;
+		return ModelHulls.getConvexHull(client, this, model, getX(), getY(), orientation);
 	}
 }
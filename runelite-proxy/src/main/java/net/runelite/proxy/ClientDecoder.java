@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.proxy;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decodes the data sent by the client. The login packet is rewritten
+ * to be encrypted with the server's RSA key, and the xtea key it contains
+ * seeds the session ciphers. Everything else is passed through as is.
+ */
+public class ClientDecoder extends ByteToMessageDecoder
+{
+	private static final Logger logger = LoggerFactory.getLogger(ClientDecoder.class);
+
+	public static final int HANDSHAKE_LOGIN = 14;
+
+	private enum State
+	{
+		HANDSHAKE,
+		LOGIN,
+		RELAY
+	}
+
+	private final ProxySession session;
+	private final RSA clientRsa;
+	private final RSA serverRsa;
+
+	private State state = State.HANDSHAKE;
+
+	public ClientDecoder(ProxySession session, RSA clientRsa, RSA serverRsa)
+	{
+		this.session = session;
+		this.clientRsa = clientRsa;
+		this.serverRsa = serverRsa;
+	}
+
+	@Override
+	protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception
+	{
+		switch (state)
+		{
+			case HANDSHAKE:
+			{
+				int handshakeType = in.getUnsignedByte(in.readerIndex());
+				logger.info("Handshake from client: {}", handshakeType);
+
+				session.setHandshakeType(handshakeType);
+				state = handshakeType == HANDSHAKE_LOGIN ? State.LOGIN : State.RELAY;
+
+				out.add(in.readRetainedSlice(1));
+				break;
+			}
+			case LOGIN:
+			{
+				if (in.readableBytes() < 3)
+				{
+					return;
+				}
+
+				int length = in.getUnsignedShort(in.readerIndex() + 1); // length of remaining packet
+				if (in.readableBytes() < 3 + length)
+				{
+					return;
+				}
+
+				ByteBuf login = rewriteLogin(ctx, in, length);
+				if (login == null)
+				{
+					in.skipBytes(in.readableBytes());
+					session.close();
+					return;
+				}
+
+				state = State.RELAY;
+				out.add(login);
+				break;
+			}
+			case RELAY:
+				out.add(in.readRetainedSlice(in.readableBytes()));
+				break;
+		}
+	}
+
+	private ByteBuf rewriteLogin(ChannelHandlerContext ctx, ByteBuf in, int length)
+	{
+		// Now the client sends the login packet, some of it is rsa encrypted with a rsa key
+		// that is hardcoded into the client. In this data is the xtea key which is used later
+		// for the isaac cipher seeding and for encrypting the rest of the packet.
+		int gameState = in.readUnsignedByte(); // 18 or 16 depending on some game state
+		in.skipBytes(2); // length
+		int revision = in.readInt(); // client revision
+
+		logger.info("Client game state: {}, revision: {}", gameState, revision);
+
+		if (revision != Proxy.REVISION)
+		{
+			return null;
+		}
+
+		int encryptedDataLength = in.readUnsignedShort();
+		// total length - revision - rsa encrypted data length - rsa encrypted data
+		int xteaDataLength = length - 4 - 2 - encryptedDataLength;
+		if (xteaDataLength < 0)
+		{
+			logger.warn("Invalid rsa block length {} in login of length {}", encryptedDataLength, length);
+			return null;
+		}
+
+		byte[] rsaData = new byte[encryptedDataLength];
+		in.readBytes(rsaData);
+
+		rsaData = clientRsa.decrypt(rsaData);
+		if (rsaData.length < 18 || rsaData[0] != 1)
+		{
+			logger.warn("Unable to decrypt login rsa block");
+			return null;
+		}
+
+		// Reencrypt data
+		byte[] reencrypted = serverRsa.encrypt(rsaData);
+
+		// Extract xtea key
+		int[] keys = new int[4];
+		for (int i = 0; i < keys.length; i++)
+		{
+			int off = 2 + i * 4;
+			keys[i] = (rsaData[off] & 0xff) << 24 | (rsaData[off + 1] & 0xff) << 16
+				| (rsaData[off + 2] & 0xff) << 8 | (rsaData[off + 3] & 0xff);
+		}
+
+		logger.info("Xtea key is {} {} {} {}", keys[0], keys[1], keys[2], keys[3]);
+
+		session.initCiphers(keys);
+
+		// Following this is xtea encrypted data
+		ByteBuf buffer = ctx.alloc().buffer(3 + 4 + 2 + reencrypted.length + xteaDataLength);
+		buffer.writeByte(gameState);
+		buffer.writeShort(4 + 2 + reencrypted.length + xteaDataLength);
+		buffer.writeInt(revision);
+		buffer.writeShort(reencrypted.length);
+		buffer.writeBytes(reencrypted);
+		buffer.writeBytes(in, xteaDataLength);
+		return buffer;
+	}
+}
@@ -26,8 +26,7 @@ package net.runelite.proxy;
 
 import java.io.IOException;
 import java.math.BigInteger;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.nio.file.Paths;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,6 +36,9 @@ public class Proxy
 
 	public static final int REVISION = 140;
 
+	private static final String SERVER_HOST = "oldschool84.runescape.com";
+	private static final int PORT = 43594;
+
 	// For revision 140
 	public static final BigInteger SERVER_RSA_KEY_MODULUS = new BigInteger("9cb954af0865fabe3fcee77d0a91524f62b18e71b550fa614215edb36424cc57718697e30a7f074ed8bf30c15bb2fca615790d6b322606e48445c2b3393680f56874e5ae8a9f89cd7bbab8c2dd8d2b233b3731f5bb00e9ddb3eddc7a46db157ba848e3ba5fe1e71edde7e36d0976b7ba8dd2ad6c9712ccc9c788212347c3a517", 16);
 	public static final BigInteger SERVER_RSA_KEY_EXPONENT = new BigInteger("10001", 16);
@@ -50,14 +52,25 @@ public class Proxy
 
 	public static void main(String[] args) throws IOException
 	{
-		ServerSocket socket = new ServerSocket(43594);
+		int threads = args.length > 0 ? Integer.parseInt(args[0]) : 0;
 
 		logger.info("Running with RSA modulus {}", myRsa.getN().toString(16));
 
-		Socket s;
-		while ((s = socket.accept()) != null)
+		try (ProxyServer server = new ProxyServer(SERVER_HOST, PORT, myRsa, rsRsa, threads))
 		{
-			new ProxyRunner(s).start();
+			if (args.length > 1)
+			{
+				server.setCaptureDirectory(Paths.get(args[1]));
+			}
+
+			if (args.length > 2)
+			{
+				// written by the deobfuscator for the current revision
+				server.setPacketLengths(ProxyServer.readPacketLengths(Paths.get(args[2])));
+			}
+
+			server.start(PORT);
+			server.waitForClose();
 		}
 	}
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.proxy;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Relays client connections to a game server. Every session is served by
+ * a single event loop for both its client and server channel, so a small
+ * number of threads handles any number of sessions.
+ */
+public class ProxyServer implements AutoCloseable
+{
+	private static final Logger logger = LoggerFactory.getLogger(ProxyServer.class);
+
+	private final EventLoopGroup bossGroup = new NioEventLoopGroup(1);
+	private final EventLoopGroup workerGroup;
+
+	private final Set<ProxySession> sessions = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger nextSessionId = new AtomicInteger();
+
+	private final String remoteHost;
+	private final int remotePort;
+	private final RSA clientRsa;
+	private final RSA serverRsa;
+
+	private int[] packetLengths = Proxy.PACKET_LENGHTS;
+	private Path captureDirectory;
+
+	private Channel channel;
+
+	/**
+	 * @param remoteHost game server host
+	 * @param remotePort game server port
+	 * @param clientRsa key pair the client encrypts the login block with
+	 * @param serverRsa public key of the game server
+	 * @param threads number of event loop threads, or 0 for the netty default
+	 */
+	public ProxyServer(String remoteHost, int remotePort, RSA clientRsa, RSA serverRsa, int threads)
+	{
+		this.remoteHost = remoteHost;
+		this.remotePort = remotePort;
+		this.clientRsa = clientRsa;
+		this.serverRsa = serverRsa;
+		this.workerGroup = new NioEventLoopGroup(threads);
+	}
+
+	public void start(int port)
+	{
+		ServerBootstrap b = new ServerBootstrap();
+		b.group(bossGroup, workerGroup)
+			.channel(NioServerSocketChannel.class)
+			.childOption(ChannelOption.TCP_NODELAY, true)
+			.childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+			// reading starts once the server connection is up
+			.childOption(ChannelOption.AUTO_READ, false)
+			.childHandler(new ProxyServerInitializer(this));
+
+		channel = b.bind(port).syncUninterruptibly().channel();
+
+		logger.info("Proxy is now listening on {}", getPort());
+	}
+
+	public void waitForClose()
+	{
+		channel.closeFuture().awaitUninterruptibly();
+	}
+
+	@Override
+	public void close()
+	{
+		channel.close().syncUninterruptibly();
+		bossGroup.shutdownGracefully();
+		workerGroup.shutdownGracefully();
+	}
+
+	public int getPort()
+	{
+		return ((InetSocketAddress) channel.localAddress()).getPort();
+	}
+
+	/**
+	 * Sessions which are currently open
+	 *
+	 * @return
+	 */
+	public Collection<ProxySession> getSessions()
+	{
+		return Collections.unmodifiableSet(sessions);
+	}
+
+	int nextSessionId()
+	{
+		return nextSessionId.incrementAndGet();
+	}
+
+	void addSession(ProxySession session)
+	{
+		sessions.add(session);
+	}
+
+	void removeSession(ProxySession session)
+	{
+		sessions.remove(session);
+	}
+
+	public String getRemoteHost()
+	{
+		return remoteHost;
+	}
+
+	public int getRemotePort()
+	{
+		return remotePort;
+	}
+
+	public RSA getClientRsa()
+	{
+		return clientRsa;
+	}
+
+	public RSA getServerRsa()
+	{
+		return serverRsa;
+	}
+
+	public int[] getPacketLengths()
+	{
+		return packetLengths;
+	}
+
+	/**
+	 * Set the packet lengths used to frame the game packets, indexed by opcode
+	 *
+	 * @param packetLengths
+	 */
+	public void setPacketLengths(int[] packetLengths)
+	{
+		this.packetLengths = packetLengths;
+	}
+
+	/**
+	 * Read a packet length table, as comma separated values indexed by
+	 * opcode. This is the format the deobfuscator writes the table it
+	 * extracts from the client in.
+	 *
+	 * @param file
+	 * @return
+	 * @throws IOException
+	 */
+	public static int[] readPacketLengths(Path file) throws IOException
+	{
+		String table = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim();
+		if (table.isEmpty())
+		{
+			throw new IOException("empty packet length table " + file);
+		}
+
+		String[] values = table.split(",");
+		int[] packetLengths = new int[values.length];
+		for (int i = 0; i < values.length; ++i)
+		{
+			try
+			{
+				packetLengths[i] = Integer.parseInt(values[i].trim());
+			}
+			catch (NumberFormatException ex)
+			{
+				throw new IOException("invalid packet length table " + file, ex);
+			}
+		}
+		return packetLengths;
+	}
+
+	public Path getCaptureDirectory()
+	{
+		return captureDirectory;
+	}
+
+	/**
+	 * Set the directory to record the game packets of each session to,
+	 * or null to disable recording
+	 *
+	 * @param captureDirectory
+	 */
+	public void setCaptureDirectory(Path captureDirectory)
+	{
+		this.captureDirectory = captureDirectory;
+	}
+}
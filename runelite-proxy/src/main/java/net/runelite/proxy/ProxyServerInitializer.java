@@ -24,41 +24,30 @@
  */
 package net.runelite.proxy;
 
-import java.io.DataInputStream;
-import java.io.DataOutputStream;
-import java.io.IOException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.socket.SocketChannel;
 
-public class IOCopy extends Thread
+public class ProxyServerInitializer extends ChannelInitializer<SocketChannel>
 {
-	private static final Logger logger = LoggerFactory.getLogger(IOCopy.class);
+	private final ProxyServer server;
 
-	private final DataInputStream in;
-	private final DataOutputStream out;
-
-	public IOCopy(String name, DataInputStream in, DataOutputStream out)
+	public ProxyServerInitializer(ProxyServer server)
 	{
-		super(name);
-		this.in = in;
-		this.out = out;
+		this.server = server;
 	}
 
 	@Override
-	public void run()
+	protected void initChannel(SocketChannel ch) throws Exception
 	{
-		try
-		{
-			int i;
-			while ((i = in.read()) != -1)
-			{
-				out.write(i);
-			}
-		}
-		catch (IOException ex)
-		{
-			logger.error(null, ex);
-		}
-	}
+		ProxySession session = new ProxySession(server, ch);
 
+		ChannelPipeline p = ch.pipeline();
+		p.addLast(
+			new ClientDecoder(session, server.getClientRsa(), server.getServerRsa()),
+			new RelayHandler(session, true)
+		);
+
+		session.connect();
+	}
 }
@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.proxy;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.LongAdder;
+import net.runelite.proxy.capture.CaptureWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A client connection and its connection to the game server. Both channels
+ * are registered to the same event loop, so the session state is only ever
+ * touched by one thread. The counters may be read from any thread.
+ */
+public class ProxySession
+{
+	private static final Logger logger = LoggerFactory.getLogger(ProxySession.class);
+
+	private final ProxyServer proxy;
+	private final int id;
+	private final Channel client;
+	private Channel server;
+
+	private int handshakeType = -1;
+
+	private RLISAACCipher serverInCipher;
+	private RLISAACCipher clientOutCipher;
+
+	private CaptureWriter capture;
+
+	private final LongAdder clientBytes = new LongAdder();
+	private final LongAdder serverBytes = new LongAdder();
+	private final LongAdder serverPackets = new LongAdder();
+
+	public ProxySession(ProxyServer proxy, Channel client)
+	{
+		this.proxy = proxy;
+		this.id = proxy.nextSessionId();
+		this.client = client;
+	}
+
+	void connect()
+	{
+		proxy.addSession(this);
+		client.closeFuture().addListener(f ->
+		{
+			closeCapture();
+			proxy.removeSession(this);
+		});
+
+		Bootstrap b = new Bootstrap();
+		b.group(client.eventLoop())
+			.channel(NioSocketChannel.class)
+			.option(ChannelOption.TCP_NODELAY, true)
+			.option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+			.handler(new ChannelInitializer<SocketChannel>()
+			{
+				@Override
+				protected void initChannel(SocketChannel ch) throws Exception
+				{
+					ch.pipeline().addLast(
+						new ServerDecoder(ProxySession.this, proxy.getPacketLengths()),
+						new RelayHandler(ProxySession.this, false)
+					);
+				}
+			});
+
+		ChannelFuture f = b.connect(proxy.getRemoteHost(), proxy.getRemotePort());
+		server = f.channel();
+		f.addListener(future ->
+		{
+			if (future.isSuccess())
+			{
+				client.config().setAutoRead(true);
+			}
+			else
+			{
+				logger.warn("Unable to connect to {}:{}", proxy.getRemoteHost(), proxy.getRemotePort(), future.cause());
+				close();
+			}
+		});
+	}
+
+	/**
+	 * Seed the ciphers for the game packets sent by the server
+	 *
+	 * @param keys xtea key from the login block
+	 */
+	void initCiphers(int[] keys)
+	{
+		int[] isaacKeys = new int[keys.length];
+		for (int i = 0; i < keys.length; i++)
+		{
+			isaacKeys[i] = keys[i] + 50;
+		}
+
+		serverInCipher = new RLISAACCipher(isaacKeys);
+		clientOutCipher = new RLISAACCipher(isaacKeys);
+
+		Path captureDirectory = proxy.getCaptureDirectory();
+		if (captureDirectory != null && capture == null)
+		{
+			long now = System.currentTimeMillis();
+			Path path = captureDirectory.resolve("session-" + id + "-" + now + ".cap");
+			try
+			{
+				capture = new CaptureWriter(path, Proxy.REVISION, now);
+				logger.info("Recording session {} to {}", id, path);
+			}
+			catch (IOException ex)
+			{
+				logger.warn("Unable to create capture {}", path, ex);
+			}
+		}
+	}
+
+	/**
+	 * Record a game packet received from the server, if recording
+	 *
+	 * @param opcode decrypted opcode
+	 * @param buf
+	 * @param index index of the payload in buf
+	 * @param length payload length
+	 */
+	void capture(int opcode, ByteBuf buf, int index, int length)
+	{
+		if (capture == null)
+		{
+			return;
+		}
+
+		try
+		{
+			capture.write(System.currentTimeMillis(), opcode, buf, index, length);
+		}
+		catch (IOException ex)
+		{
+			logger.warn("Unable to record packet, no longer recording session {}", id, ex);
+			closeCapture();
+		}
+	}
+
+	private void closeCapture()
+	{
+		if (capture == null)
+		{
+			return;
+		}
+
+		try
+		{
+			capture.close();
+		}
+		catch (IOException ex)
+		{
+			logger.warn("Unable to close capture for session {}", id, ex);
+		}
+		capture = null;
+	}
+
+	public void close()
+	{
+		if (client.isOpen())
+		{
+			logger.debug("Closing {}", this);
+			client.close();
+		}
+		if (server != null && server.isOpen())
+		{
+			server.close();
+		}
+	}
+
+	public int getId()
+	{
+		return id;
+	}
+
+	public Channel getClient()
+	{
+		return client;
+	}
+
+	public Channel getServer()
+	{
+		return server;
+	}
+
+	public int getHandshakeType()
+	{
+		return handshakeType;
+	}
+
+	void setHandshakeType(int handshakeType)
+	{
+		this.handshakeType = handshakeType;
+	}
+
+	RLISAACCipher getServerInCipher()
+	{
+		return serverInCipher;
+	}
+
+	RLISAACCipher getClientOutCipher()
+	{
+		return clientOutCipher;
+	}
+
+	/**
+	 * Bytes received from the client
+	 *
+	 * @return
+	 */
+	public long getClientBytes()
+	{
+		return clientBytes.sum();
+	}
+
+	/**
+	 * Bytes received from the server
+	 *
+	 * @return
+	 */
+	public long getServerBytes()
+	{
+		return serverBytes.sum();
+	}
+
+	/**
+	 * Game packets received from the server
+	 *
+	 * @return
+	 */
+	public long getServerPackets()
+	{
+		return serverPackets.sum();
+	}
+
+	LongAdder getClientBytesCounter()
+	{
+		return clientBytes;
+	}
+
+	LongAdder getServerBytesCounter()
+	{
+		return serverBytes;
+	}
+
+	LongAdder getServerPacketsCounter()
+	{
+		return serverPackets;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "ProxySession{" + "id=" + id + ", client=" + client.remoteAddress() + ", handshakeType=" + handshakeType
+			+ ", clientBytes=" + clientBytes + ", serverBytes=" + serverBytes + ", serverPackets=" + serverPackets + '}';
+	}
+}
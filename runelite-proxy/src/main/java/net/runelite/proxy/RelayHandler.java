@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.proxy;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the buffers read from one side of a session to the other side.
+ * Writes are flushed once per read loop, and reading stops while the other
+ * side is not writable.
+ */
+public class RelayHandler extends ChannelInboundHandlerAdapter
+{
+	private static final Logger logger = LoggerFactory.getLogger(RelayHandler.class);
+
+	private final ProxySession session;
+	private final boolean fromClient;
+	private final LongAdder bytes;
+
+	public RelayHandler(ProxySession session, boolean fromClient)
+	{
+		this.session = session;
+		this.fromClient = fromClient;
+		this.bytes = fromClient ? session.getClientBytesCounter() : session.getServerBytesCounter();
+	}
+
+	private Channel peer()
+	{
+		return fromClient ? session.getServer() : session.getClient();
+	}
+
+	@Override
+	public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception
+	{
+		ByteBuf buf = (ByteBuf) msg;
+		Channel peer = peer();
+
+		if (peer == null || !peer.isActive())
+		{
+			buf.release();
+			return;
+		}
+
+		bytes.add(buf.readableBytes());
+		peer.write(buf, peer.voidPromise());
+
+		if (!peer.isWritable())
+		{
+			ctx.channel().config().setAutoRead(false);
+		}
+	}
+
+	@Override
+	public void channelReadComplete(ChannelHandlerContext ctx) throws Exception
+	{
+		Channel peer = peer();
+		if (peer != null)
+		{
+			peer.flush();
+		}
+	}
+
+	@Override
+	public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception
+	{
+		Channel peer = peer();
+		if (ctx.channel().isWritable() && peer != null)
+		{
+			peer.config().setAutoRead(true);
+		}
+
+		ctx.fireChannelWritabilityChanged();
+	}
+
+	@Override
+	public void channelInactive(ChannelHandlerContext ctx) throws Exception
+	{
+		session.close();
+	}
+
+	@Override
+	public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception
+	{
+		logger.warn("Error in {}", session, cause);
+		session.close();
+	}
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.proxy;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decodes the data sent by the server. Once logged in, game packets are
+ * framed using their ISAAC encrypted opcodes, which are reencrypted in place
+ * for the client. All complete packets of a read are passed on as a single
+ * slice of the read buffer.
+ */
+public class ServerDecoder extends ByteToMessageDecoder
+{
+	private static final Logger logger = LoggerFactory.getLogger(ServerDecoder.class);
+
+	private static final int HANDSHAKE_OK = 0;
+	private static final int LOGIN_OK = 2;
+
+	private enum State
+	{
+		HANDSHAKE,
+		NONCE,
+		LOGIN_RESPONSE,
+		LOGIN,
+		STATIC_MAP,
+		GAME,
+		RELAY
+	}
+
+	private final ProxySession session;
+	private final int[] packetLengths;
+	private final LongAdder packets;
+
+	private State state = State.HANDSHAKE;
+
+	private RLISAACCipher inCipher;
+	private RLISAACCipher outCipher;
+	/**
+	 * opcode of the packet being read, which has already been decrypted
+	 */
+	private int opcode = -1;
+
+	public ServerDecoder(ProxySession session, int[] packetLengths)
+	{
+		this.session = session;
+		this.packetLengths = packetLengths;
+		this.packets = session.getServerPacketsCounter();
+	}
+
+	@Override
+	protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception
+	{
+		switch (state)
+		{
+			case HANDSHAKE:
+			{
+				int handshakeResponse = in.getUnsignedByte(in.readerIndex());
+				logger.info("Handshake response from server: {}", handshakeResponse);
+
+				if (session.getHandshakeType() != ClientDecoder.HANDSHAKE_LOGIN || handshakeResponse != HANDSHAKE_OK)
+				{
+					state = State.RELAY;
+				}
+				else
+				{
+					state = State.NONCE;
+				}
+
+				out.add(in.readRetainedSlice(1));
+				break;
+			}
+			case NONCE:
+				if (in.readableBytes() < 8)
+				{
+					return;
+				}
+
+				logger.info("Nonce from server: {}", in.getLong(in.readerIndex()));
+				state = State.LOGIN_RESPONSE;
+				out.add(in.readRetainedSlice(8));
+				break;
+			case LOGIN_RESPONSE:
+			{
+				int loginResponse = in.getUnsignedByte(in.readerIndex());
+				logger.info("Login response: {}", loginResponse);
+
+				state = loginResponse == LOGIN_OK ? State.LOGIN : State.RELAY;
+				out.add(in.readRetainedSlice(1));
+				break;
+			}
+			case LOGIN:
+			{
+				// trusted (1), trusted value (4), permission (1), unknown (1), player index (2), world type (1)
+				if (in.readableBytes() < 10)
+				{
+					return;
+				}
+
+				int idx = in.readerIndex();
+				int isTrusted = in.getUnsignedByte(idx);
+				// if == 1 trusted value is decrypted using the cipher
+				assert isTrusted != 1;
+
+				logger.info("permission/B2/interactingIndex/worldType: {}/{}/{}/{}",
+					in.getUnsignedByte(idx + 5), in.getUnsignedByte(idx + 6),
+					in.getUnsignedShort(idx + 7), in.getUnsignedByte(idx + 9));
+
+				inCipher = session.getServerInCipher();
+				outCipher = session.getClientOutCipher();
+				if (inCipher == null || outCipher == null)
+				{
+					// login was accepted without the client sending the xtea key
+					logger.warn("Login ok without ciphers for {}", session);
+					state = State.RELAY;
+				}
+				else
+				{
+					state = State.STATIC_MAP;
+				}
+
+				out.add(in.readRetainedSlice(10));
+				break;
+			}
+			case STATIC_MAP:
+			{
+				// the first packet is always the static map, which has a short length
+				int end = decodePacket(in, in.readerIndex(), true);
+				if (end == -1)
+				{
+					return;
+				}
+
+				logger.info("staticMap opcode: {}", opcode);
+
+				opcode = -1;
+				state = State.GAME;
+				out.add(in.readRetainedSlice(end - in.readerIndex()));
+				break;
+			}
+			case GAME:
+			{
+				int start = in.readerIndex();
+				int end = start;
+				int next;
+
+				while ((next = decodePacket(in, end, false)) != -1)
+				{
+					opcode = -1;
+					end = next;
+				}
+
+				if (end > start)
+				{
+					out.add(in.readRetainedSlice(end - start));
+				}
+				break;
+			}
+			case RELAY:
+				out.add(in.readRetainedSlice(in.readableBytes()));
+				break;
+		}
+	}
+
+	/**
+	 * Decode the packet at the given offset, and reencrypt its opcode
+	 *
+	 * @param in
+	 * @param idx
+	 * @param staticMap
+	 * @return the offset after the packet, or -1 if the packet is not
+	 * complete yet
+	 */
+	private int decodePacket(ByteBuf in, int idx, boolean staticMap)
+	{
+		int available = in.writerIndex() - idx;
+		if (available < 1)
+		{
+			return -1;
+		}
+
+		if (opcode == -1)
+		{
+			opcode = (in.getUnsignedByte(idx) - inCipher.nextInt()) & 0xff;
+		}
+
+		int headerLength;
+		int packetLength = staticMap ? -2 : packetLengths[opcode];
+
+		switch (packetLength)
+		{
+			case -1:
+				if (available < 2)
+				{
+					return -1;
+				}
+				headerLength = 2;
+				packetLength = in.getUnsignedByte(idx + 1);
+				break;
+			case -2:
+				if (available < 3)
+				{
+					return -1;
+				}
+				headerLength = 3;
+				packetLength = in.getUnsignedShort(idx + 1);
+				break;
+			default:
+				headerLength = 1;
+				break;
+		}
+
+		if (available < headerLength + packetLength)
+		{
+			return -1;
+		}
+
+		if (logger.isDebugEnabled())
+		{
+			String hexdump = ByteBufUtil.prettyHexDump(in, idx + headerLength, packetLength);
+			logger.debug("Read packet opcode {} length {}\n{}", opcode, packetLength, hexdump);
+		}
+
+		session.capture(opcode, in, idx + headerLength, packetLength);
+
+		in.setByte(idx, opcode + outCipher.nextInt());
+		packets.increment();
+
+		return idx + headerLength + packetLength;
+	}
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.proxy.capture;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads a capture written by {@link CaptureWriter}. The file is memory mapped
+ * and indexed when opened, after which packets can be looked up by opcode
+ * or by time.
+ */
+public class CaptureReader
+{
+	/**
+	 * number of packets between entries of the time index
+	 */
+	private static final int TIME_INDEX_INTERVAL = 64;
+
+	private final ByteBuffer buffer;
+	private final int revision;
+	private final long startTime;
+
+	private int end;
+	private int count;
+
+	private final int[][] opcodeOffsets = new int[256][];
+	private final int[] opcodeCounts = new int[256];
+
+	private int[] timeOffsets = new int[16];
+	private long[] times = new long[16];
+	private int timeCount;
+
+	public CaptureReader(Path path) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			long size = channel.size();
+			if (size < CaptureWriter.HEADER_SIZE || size > Integer.MAX_VALUE)
+			{
+				throw new IOException("Invalid capture size " + size);
+			}
+
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).asReadOnlyBuffer();
+		}
+
+		if (buffer.getInt(0) != CaptureWriter.MAGIC)
+		{
+			throw new IOException("Not a capture");
+		}
+
+		int version = buffer.get(4) & 0xff;
+		if (version != CaptureWriter.VERSION)
+		{
+			throw new IOException("Unsupported capture version " + version);
+		}
+
+		revision = buffer.getInt(5);
+		startTime = buffer.getLong(9);
+
+		index();
+	}
+
+	private void index() throws IOException
+	{
+		int offset = CaptureWriter.HEADER_SIZE;
+		long[] header = new long[4];
+
+		while (readHeader(offset, header))
+		{
+			int opcode = (int) header[1];
+			int next = (int) header[3];
+
+			int[] offsets = opcodeOffsets[opcode];
+			if (offsets == null)
+			{
+				offsets = opcodeOffsets[opcode] = new int[16];
+			}
+			else if (opcodeCounts[opcode] == offsets.length)
+			{
+				offsets = opcodeOffsets[opcode] = Arrays.copyOf(offsets, offsets.length * 2);
+			}
+			offsets[opcodeCounts[opcode]++] = offset;
+
+			if (count % TIME_INDEX_INTERVAL == 0)
+			{
+				if (timeCount == timeOffsets.length)
+				{
+					timeOffsets = Arrays.copyOf(timeOffsets, timeCount * 2);
+					times = Arrays.copyOf(times, timeCount * 2);
+				}
+				timeOffsets[timeCount] = offset;
+				times[timeCount] = header[0];
+				++timeCount;
+			}
+
+			++count;
+			offset = next;
+		}
+
+		end = offset;
+	}
+
+	/**
+	 * Read the header of the packet at offset
+	 *
+	 * @param offset
+	 * @param header receives time, opcode, offset of the payload and offset
+	 * of the next packet
+	 * @return false if there is no packet at offset
+	 * @throws IOException if the packet is truncated
+	 */
+	private boolean readHeader(int offset, long[] header) throws IOException
+	{
+		if (offset >= buffer.limit())
+		{
+			return false;
+		}
+
+		int[] pos =
+		{
+			offset
+		};
+		long length = readVarInt(pos);
+		if (length == 0)
+		{
+			return false;
+		}
+
+		length -= 1;
+		int opcode = buffer.get(pos[0]++) & 0xff;
+		long time = readVarInt(pos);
+
+		if (pos[0] + length > buffer.limit())
+		{
+			throw new IOException("Truncated packet at " + offset);
+		}
+
+		header[0] = time;
+		header[1] = opcode;
+		header[2] = pos[0];
+		header[3] = pos[0] + length;
+		return true;
+	}
+
+	private long readVarInt(int[] pos) throws IOException
+	{
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7)
+		{
+			if (pos[0] >= buffer.limit())
+			{
+				throw new IOException("Truncated capture");
+			}
+
+			int b = buffer.get(pos[0]++);
+			value |= (long) (b & 0x7f) << shift;
+			if ((b & 0x80) == 0)
+			{
+				return value;
+			}
+		}
+		throw new IOException("Malformed varint");
+	}
+
+	/**
+	 * Read the packet at offset
+	 *
+	 * @param offset
+	 * @return the packet, or null if offset is the end of the capture
+	 * @throws IOException
+	 */
+	public CapturedPacket read(int offset) throws IOException
+	{
+		long[] header = new long[4];
+		if (offset >= end || !readHeader(offset, header))
+		{
+			return null;
+		}
+
+		int next = (int) header[3];
+
+		ByteBuffer payload = buffer.duplicate();
+		payload.limit(next);
+		payload.position((int) header[2]);
+		return new CapturedPacket(offset, next, header[0], (int) header[1], payload.slice());
+	}
+
+	/**
+	 * Offset of the first packet
+	 *
+	 * @return
+	 */
+	public int start()
+	{
+		return CaptureWriter.HEADER_SIZE;
+	}
+
+	/**
+	 * Offset of the end of the capture
+	 *
+	 * @return
+	 */
+	public int end()
+	{
+		return end;
+	}
+
+	/**
+	 * Find the offsets of all packets with the given opcode
+	 *
+	 * @param opcode
+	 * @return
+	 */
+	public int[] find(int opcode)
+	{
+		int[] offsets = opcodeOffsets[opcode & 0xff];
+		return offsets == null ? new int[0] : Arrays.copyOf(offsets, opcodeCounts[opcode & 0xff]);
+	}
+
+	/**
+	 * Find the first packet received at or after the given time
+	 *
+	 * @param time millis since the start of the capture
+	 * @return the offset of the packet, or {@link #end()} if there is none
+	 * @throws IOException
+	 */
+	public int seek(long time) throws IOException
+	{
+		int idx = Arrays.binarySearch(times, 0, timeCount, time);
+		if (idx < 0)
+		{
+			idx = -idx - 2; // last entry before time
+		}
+		else
+		{
+			// times are not unique, find the first entry with this time
+			while (idx > 0 && times[idx - 1] == time)
+			{
+				--idx;
+			}
+			// the packets before this entry may have the same time
+			--idx;
+		}
+
+		int offset = idx < 0 ? start() : timeOffsets[idx];
+		long[] header = new long[4];
+
+		while (offset < end && readHeader(offset, header) && header[0] < time)
+		{
+			offset = (int) header[3];
+		}
+
+		return offset;
+	}
+
+	/**
+	 * Number of packets in the capture
+	 *
+	 * @return
+	 */
+	public int size()
+	{
+		return count;
+	}
+
+	public int getRevision()
+	{
+		return revision;
+	}
+
+	/**
+	 * Time the capture was started, in epoch millis
+	 *
+	 * @return
+	 */
+	public long getStartTime()
+	{
+		return startTime;
+	}
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.proxy.capture;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import net.runelite.proxy.RLISAACCipher;
+
+/**
+ * Replays a capture as the server would send it after login, with the
+ * opcodes encrypted using the session cipher. The first packet is
+ * the static map, which always has a short length.
+ */
+public class CaptureReplayer
+{
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final CaptureReader reader;
+	private final int[] packetLengths;
+
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+	/**
+	 * @param reader capture to replay
+	 * @param packetLengths packet lengths for the revision of the capture
+	 */
+	public CaptureReplayer(CaptureReader reader, int[] packetLengths)
+	{
+		this.reader = reader;
+		this.packetLengths = packetLengths;
+	}
+
+	/**
+	 * Replay the capture
+	 *
+	 * @param cipher cipher to encrypt the opcodes with
+	 * @param out
+	 * @param paced wait between packets to match the time they were
+	 * captured, otherwise packets are written as fast as possible
+	 * @return number of packets written
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	public int replay(RLISAACCipher cipher, WritableByteChannel out, boolean paced) throws IOException, InterruptedException
+	{
+		long start = System.nanoTime();
+		int count = 0;
+
+		buffer.clear();
+
+		for (CapturedPacket packet = reader.read(reader.start()); packet != null; packet = reader.read(packet.getNext()))
+		{
+			if (paced)
+			{
+				long wait = packet.getTime() - (System.nanoTime() - start) / 1_000_000L;
+				if (wait > 0)
+				{
+					flush(out);
+					Thread.sleep(wait);
+				}
+			}
+
+			int opcode = packet.getOpcode();
+			int length = packet.getLength();
+			int size = count == 0 ? -2 : packetLengths[opcode];
+
+			switch (size)
+			{
+				case -1:
+					if (length > 0xff)
+					{
+						throw new IOException("Packet " + opcode + " is too long for a byte length: " + length);
+					}
+					break;
+				case -2:
+					if (length > 0xffff)
+					{
+						throw new IOException("Packet " + opcode + " is too long for a short length: " + length);
+					}
+					break;
+				default:
+					if (length != size)
+					{
+						throw new IOException("Packet " + opcode + " has length " + length + ", expected " + size);
+					}
+					break;
+			}
+
+			if (buffer.remaining() < 3)
+			{
+				flush(out);
+			}
+
+			buffer.put((byte) (opcode + cipher.nextInt()));
+			if (size == -1)
+			{
+				buffer.put((byte) length);
+			}
+			else if (size == -2)
+			{
+				buffer.putShort((short) length);
+			}
+
+			ByteBuffer payload = packet.getPayload();
+			while (payload.hasRemaining())
+			{
+				if (!buffer.hasRemaining())
+				{
+					flush(out);
+				}
+
+				int n = Math.min(buffer.remaining(), payload.remaining());
+				int limit = payload.limit();
+				payload.limit(payload.position() + n);
+				buffer.put(payload);
+				payload.limit(limit);
+			}
+
+			++count;
+		}
+
+		flush(out);
+		return count;
+	}
+
+	private void flush(WritableByteChannel out) throws IOException
+	{
+		buffer.flip();
+		while (buffer.hasRemaining())
+		{
+			out.write(buffer);
+		}
+		buffer.clear();
+	}
+}
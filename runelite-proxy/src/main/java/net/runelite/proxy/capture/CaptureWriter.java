@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.proxy.capture;
+
+import io.netty.buffer.ByteBuf;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Appends packets to a memory mapped capture file.
+ *
+ * The file starts with a header of magic (int), version (byte), revision
+ * (int) and start time in epoch millis (long). Each packet is then stored as
+ * varint length + 1, opcode (byte), varint millis since the start time,
+ * followed by the payload. A length of 0 marks the end of the capture,
+ * which is where the zero filled tail of an unfinished capture ends.
+ *
+ * This is not thread safe.
+ */
+public class CaptureWriter implements Closeable
+{
+	private static final Logger logger = LoggerFactory.getLogger(CaptureWriter.class);
+
+	static final int MAGIC = 0x524c5043; // RLPC
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 4 + 1 + 4 + 8;
+
+	private static final int REGION_SIZE = 8 * 1024 * 1024;
+
+	private final FileChannel channel;
+	private final long startTime;
+
+	private MappedByteBuffer region;
+	private long regionStart;
+	private long lastDelta;
+
+	public CaptureWriter(Path path, int revision, long startTime) throws IOException
+	{
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+			StandardOpenOption.READ, StandardOpenOption.WRITE);
+		this.startTime = startTime;
+
+		map(0, REGION_SIZE);
+		region.putInt(MAGIC);
+		region.put((byte) VERSION);
+		region.putInt(revision);
+		region.putLong(startTime);
+	}
+
+	/**
+	 * Append a packet
+	 *
+	 * @param time time the packet was received, in epoch millis
+	 * @param opcode decrypted packet opcode
+	 * @param buf buffer holding the payload
+	 * @param index index of the payload in the buffer
+	 * @param length payload length
+	 * @throws IOException
+	 */
+	public void write(long time, int opcode, ByteBuf buf, int index, int length) throws IOException
+	{
+		// keep the times ordered so the capture can be searched by time
+		long delta = Math.max(lastDelta, time - startTime);
+		lastDelta = delta;
+		int size = varIntSize(length + 1) + 1 + varIntSize(delta) + length;
+
+		if (region.remaining() < size + 1) // keep room for the end marker
+		{
+			map(regionStart + region.position(), Math.max(REGION_SIZE, size + 1));
+		}
+
+		putVarInt(length + 1);
+		region.put((byte) opcode);
+		putVarInt(delta);
+
+		int limit = region.limit();
+		region.limit(region.position() + length);
+		buf.getBytes(index, region);
+		region.limit(limit);
+	}
+
+	/**
+	 * Size of the capture so far, in bytes
+	 *
+	 * @return
+	 */
+	public long size()
+	{
+		return regionStart + region.position();
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		try
+		{
+			long size = size();
+			region.force();
+
+			// a mapped file can't be truncated on Windows
+			if (unmap(region))
+			{
+				channel.truncate(size);
+			}
+			else
+			{
+				logger.warn("Unable to unmap capture, leaving it untruncated");
+			}
+			region = null;
+		}
+		finally
+		{
+			channel.close();
+		}
+	}
+
+	private void map(long position, int size) throws IOException
+	{
+		if (position + size > Integer.MAX_VALUE)
+		{
+			throw new IOException("Capture is full");
+		}
+
+		if (region != null)
+		{
+			region.force();
+			unmap(region);
+		}
+
+		region = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+		regionStart = position;
+	}
+
+	/**
+	 * Release a mapping now rather than when it is garbage collected. The
+	 * buffer must not be used afterwards.
+	 *
+	 * @param buffer
+	 * @return true if the mapping was released
+	 */
+	private static boolean unmap(MappedByteBuffer buffer)
+	{
+		try
+		{
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Method invokeCleaner;
+			try
+			{
+				invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+			}
+			catch (NoSuchMethodException ex)
+			{
+				// Java 8
+				Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+				cleanerMethod.setAccessible(true);
+				Object cleaner = cleanerMethod.invoke(buffer);
+				cleaner.getClass().getMethod("clean").invoke(cleaner);
+				return true;
+			}
+
+			Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			invokeCleaner.invoke(theUnsafe.get(null), buffer);
+			return true;
+		}
+		catch (ReflectiveOperationException | RuntimeException ex)
+		{
+			logger.debug("Unable to unmap buffer", ex);
+			return false;
+		}
+	}
+
+	private void putVarInt(long value)
+	{
+		while ((value & ~0x7fL) != 0)
+		{
+			region.put((byte) ((value & 0x7f) | 0x80));
+			value >>>= 7;
+		}
+		region.put((byte) value);
+	}
+
+	private static int varIntSize(long value)
+	{
+		int size = 1;
+		while ((value & ~0x7fL) != 0)
+		{
+			++size;
+			value >>>= 7;
+		}
+		return size;
+	}
+}
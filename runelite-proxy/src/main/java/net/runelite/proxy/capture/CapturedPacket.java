@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.proxy.capture;
+
+import java.nio.ByteBuffer;
+
+public class CapturedPacket
+{
+	private final int offset;
+	private final int next;
+	private final long time;
+	private final int opcode;
+	private final ByteBuffer payload;
+
+	public CapturedPacket(int offset, int next, long time, int opcode, ByteBuffer payload)
+	{
+		this.offset = offset;
+		this.next = next;
+		this.time = time;
+		this.opcode = opcode;
+		this.payload = payload;
+	}
+
+	/**
+	 * Offset of this packet in the capture
+	 *
+	 * @return
+	 */
+	public int getOffset()
+	{
+		return offset;
+	}
+
+	/**
+	 * Offset of the packet following this one in the capture
+	 *
+	 * @return
+	 */
+	public int getNext()
+	{
+		return next;
+	}
+
+	/**
+	 * Time the packet was received, in millis since the start of the capture
+	 *
+	 * @return
+	 */
+	public long getTime()
+	{
+		return time;
+	}
+
+	public int getOpcode()
+	{
+		return opcode;
+	}
+
+	/**
+	 * Payload of the packet, which is a read only view of the capture
+	 *
+	 * @return
+	 */
+	public ByteBuffer getPayload()
+	{
+		return payload;
+	}
+
+	public int getLength()
+	{
+		return payload.remaining();
+	}
+
+	@Override
+	public String toString()
+	{
+		return "CapturedPacket{" + "offset=" + offset + ", time=" + time + ", opcode=" + opcode + ", length=" + getLength() + '}';
+	}
+}
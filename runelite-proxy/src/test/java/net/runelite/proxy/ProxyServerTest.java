@@ -0,0 +1,349 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.proxy;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import net.runelite.proxy.capture.CaptureReader;
+import net.runelite.proxy.capture.CapturedPacket;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ProxyServerTest
+{
+	private static final int SESSIONS = 256;
+
+	@ChannelHandler.Sharable
+	private static class EchoHandler extends ChannelInboundHandlerAdapter
+	{
+		@Override
+		public void channelRead(ChannelHandlerContext ctx, Object msg)
+		{
+			ctx.writeAndFlush(msg);
+		}
+	}
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(16);
+
+	@After
+	public void after()
+	{
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testRelay() throws Exception
+	{
+		EventLoopGroup group = new NioEventLoopGroup(1);
+		Channel echo = new ServerBootstrap()
+			.group(group)
+			.channel(NioServerSocketChannel.class)
+			.childHandler(new EchoHandler())
+			.bind("127.0.0.1", 0).syncUninterruptibly().channel();
+
+		int echoPort = ((InetSocketAddress) echo.localAddress()).getPort();
+
+		List<Socket> sockets = new ArrayList<>();
+		try (ProxyServer server = new ProxyServer("127.0.0.1", echoPort, Proxy.myRsa, Proxy.myRsa, 2))
+		{
+			server.start(0);
+
+			List<Future<Socket>> futures = new ArrayList<>();
+			for (int i = 0; i < SESSIONS; ++i)
+			{
+				int seed = i;
+				futures.add(executor.submit(() -> relay(server.getPort(), seed)));
+			}
+
+			for (Future<Socket> future : futures)
+			{
+				sockets.add(future.get(30, TimeUnit.SECONDS));
+			}
+
+			Assert.assertEquals(SESSIONS, server.getSessions().size());
+			for (ProxySession session : server.getSessions())
+			{
+				Assert.assertEquals(4097, session.getClientBytes());
+				Assert.assertEquals(4097, session.getServerBytes());
+				Assert.assertEquals(0, session.getServerPackets());
+			}
+		}
+		finally
+		{
+			for (Socket socket : sockets)
+			{
+				socket.close();
+			}
+			echo.close().syncUninterruptibly();
+			group.shutdownGracefully();
+		}
+	}
+
+	private static Socket relay(int port, int seed) throws IOException
+	{
+		byte[] data = new byte[4097];
+		new Random(seed).nextBytes(data);
+		data[0] = 15; // ondemand
+
+		Socket socket = new Socket("127.0.0.1", port);
+		socket.setSoTimeout(30_000);
+		socket.getOutputStream().write(data);
+
+		byte[] echoed = new byte[data.length];
+		new DataInputStream(socket.getInputStream()).readFully(echoed);
+		Assert.assertArrayEquals(data, echoed);
+		return socket;
+	}
+
+	@Test
+	public void testLogin() throws Exception
+	{
+		int[] keys =
+		{
+			1, 2, 3, 4
+		};
+		byte[] xteaData = "xtea encrypted data".getBytes();
+
+		try (ServerSocket gameServer = new ServerSocket(0);
+			ProxyServer server = new ProxyServer("127.0.0.1", gameServer.getLocalPort(), Proxy.myRsa, Proxy.myRsa, 1))
+		{
+			server.setCaptureDirectory(folder.getRoot().toPath());
+			server.start(0);
+
+			Future<?> serverFuture = executor.submit(() ->
+			{
+				try (Socket socket = gameServer.accept())
+				{
+					DataInputStream in = new DataInputStream(socket.getInputStream());
+					DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+
+					Assert.assertEquals(14, in.read());
+					out.write(0);
+					out.writeLong(42L);
+
+					Assert.assertEquals(16, in.read());
+					int length = in.readUnsignedShort();
+					Assert.assertEquals(Proxy.REVISION, in.readInt());
+					byte[] rsa = new byte[in.readUnsignedShort()];
+					in.readFully(rsa);
+					Assert.assertArrayEquals(loginBlock(keys), Proxy.myRsa.decrypt(rsa));
+					byte[] xtea = new byte[length - 4 - 2 - rsa.length];
+					in.readFully(xtea);
+					Assert.assertArrayEquals(xteaData, xtea);
+
+					out.write(2); // login ok
+					out.write(0); // trusted
+					out.writeInt(0);
+					out.write(0); // permission
+					out.write(0);
+					out.writeShort(1); // player index
+					out.write(1); // world type
+
+					RLISAACCipher cipher = new RLISAACCipher(isaacKeys(keys));
+					// static map
+					out.write(99 + cipher.nextInt());
+					out.writeShort(3);
+					out.write(new byte[]
+					{
+						7, 8, 9
+					});
+					// fixed length
+					out.write(0 + cipher.nextInt());
+					out.writeInt(0xcafebabe);
+					// var byte
+					out.write(2 + cipher.nextInt());
+					out.write(2);
+					out.writeShort(0x1234);
+					// var short
+					out.write(21 + cipher.nextInt());
+					out.writeShort(300);
+					out.write(new byte[300]);
+					out.flush();
+
+					Assert.assertEquals(-1, in.read());
+				}
+				return null;
+			});
+
+			try (Socket socket = new Socket("127.0.0.1", server.getPort()))
+			{
+				socket.setSoTimeout(30_000);
+				DataInputStream in = new DataInputStream(socket.getInputStream());
+				DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+
+				out.write(14);
+				Assert.assertEquals(0, in.read());
+				Assert.assertEquals(42L, in.readLong());
+
+				byte[] rsa = Proxy.myRsa.encrypt(loginBlock(keys));
+				ByteBuffer login = ByteBuffer.allocate(3 + 4 + 2 + rsa.length + xteaData.length);
+				login.put((byte) 16);
+				login.putShort((short) (login.capacity() - 3));
+				login.putInt(Proxy.REVISION);
+				login.putShort((short) rsa.length);
+				login.put(rsa);
+				login.put(xteaData);
+				out.write(login.array());
+
+				Assert.assertEquals(2, in.read());
+				byte[] loginOk = new byte[10];
+				in.readFully(loginOk);
+
+				RLISAACCipher cipher = new RLISAACCipher(isaacKeys(keys));
+				Assert.assertEquals(99, (in.read() - cipher.nextInt()) & 0xff);
+				Assert.assertEquals(3, in.readUnsignedShort());
+				in.readFully(new byte[3]);
+
+				Assert.assertEquals(0, (in.read() - cipher.nextInt()) & 0xff);
+				Assert.assertEquals(0xcafebabe, in.readInt());
+
+				Assert.assertEquals(2, (in.read() - cipher.nextInt()) & 0xff);
+				Assert.assertEquals(2, in.read());
+				Assert.assertEquals(0x1234, in.readUnsignedShort());
+
+				Assert.assertEquals(21, (in.read() - cipher.nextInt()) & 0xff);
+				Assert.assertEquals(300, in.readUnsignedShort());
+				in.readFully(new byte[300]);
+
+				ProxySession session = server.getSessions().iterator().next();
+				Assert.assertEquals(4, session.getServerPackets());
+				Assert.assertEquals(9 + 11 + 6 + 5 + 4 + 303, session.getServerBytes());
+			}
+
+			serverFuture.get(30, TimeUnit.SECONDS);
+
+			while (!server.getSessions().isEmpty())
+			{
+				Thread.sleep(10L);
+			}
+		}
+
+		List<Path> captures;
+		try (Stream<Path> files = Files.list(folder.getRoot().toPath()))
+		{
+			captures = files.collect(Collectors.toList());
+		}
+		Assert.assertEquals(1, captures.size());
+
+		CaptureReader reader = new CaptureReader(captures.get(0));
+		Assert.assertEquals(Proxy.REVISION, reader.getRevision());
+		Assert.assertEquals(4, reader.size());
+
+		CapturedPacket packet = reader.read(reader.start());
+		Assert.assertEquals(99, packet.getOpcode());
+		Assert.assertEquals(3, packet.getLength());
+		Assert.assertEquals(9, packet.getPayload().get(2));
+
+		packet = reader.read(packet.getNext());
+		Assert.assertEquals(0, packet.getOpcode());
+		Assert.assertEquals(0xcafebabe, packet.getPayload().getInt());
+
+		packet = reader.read(packet.getNext());
+		Assert.assertEquals(2, packet.getOpcode());
+		Assert.assertEquals(0x1234, packet.getPayload().getShort());
+
+		packet = reader.read(packet.getNext());
+		Assert.assertEquals(21, packet.getOpcode());
+		Assert.assertEquals(300, packet.getLength());
+
+		Assert.assertNull(reader.read(packet.getNext()));
+	}
+
+	@Test
+	public void testReadPacketLengths() throws IOException
+	{
+		Path file = folder.newFile().toPath();
+		Files.write(file, Arrays.asList("4, 0, -1, 0, -2"));
+
+		Assert.assertArrayEquals(new int[]
+		{
+			4, 0, -1, 0, -2
+		}, ProxyServer.readPacketLengths(file));
+	}
+
+	@Test(expected = IOException.class)
+	public void testReadPacketLengthsInvalid() throws IOException
+	{
+		Path file = folder.newFile().toPath();
+		Files.write(file, Arrays.asList("4, x"));
+
+		ProxyServer.readPacketLengths(file);
+	}
+
+	private static byte[] loginBlock(int[] keys)
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(24);
+		buffer.put((byte) 1);
+		buffer.put((byte) 0);
+		for (int key : keys)
+		{
+			buffer.putInt(key);
+		}
+		buffer.putInt(0x11223344);
+		buffer.putShort((short) 0x5566);
+		return buffer.array();
+	}
+
+	private static int[] isaacKeys(int[] keys)
+	{
+		int[] isaacKeys = Arrays.copyOf(keys, keys.length);
+		for (int i = 0; i < isaacKeys.length; i++)
+		{
+			isaacKeys[i] += 50;
+		}
+		return isaacKeys;
+	}
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.proxy.capture;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import net.runelite.proxy.Proxy;
+import net.runelite.proxy.RLISAACCipher;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CaptureTest
+{
+	private static final int PACKETS = 1000;
+	private static final int[] OPCODES =
+	{
+		0, 2, 21 // fixed length 4, byte length, short length
+	};
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path path;
+
+	@Before
+	public void before() throws IOException
+	{
+		path = folder.newFile().toPath();
+
+		try (CaptureWriter writer = new CaptureWriter(path, Proxy.REVISION, 1000L))
+		{
+			write(writer);
+		}
+	}
+
+	private static void write(CaptureWriter writer) throws IOException
+	{
+		// static map
+		writer.write(1000L, 99, Unpooled.wrappedBuffer(new byte[1024]), 0, 1024);
+
+		for (int i = 1; i < PACKETS; ++i)
+		{
+			ByteBuf buf = payload(i);
+			writer.write(1000L + i * 10, OPCODES[i % OPCODES.length], buf, 1, buf.readableBytes() - 1);
+		}
+	}
+
+	private static ByteBuf payload(int i)
+	{
+		int length = OPCODES[i % OPCODES.length] == 0 ? 4 : i % 200;
+		ByteBuf buf = Unpooled.buffer(length + 1);
+		buf.writeByte(-1); // not part of the payload
+		for (int j = 0; j < length; ++j)
+		{
+			buf.writeByte(i + j);
+		}
+		return buf;
+	}
+
+	@Test
+	public void testRead() throws IOException
+	{
+		CaptureReader reader = new CaptureReader(path);
+		Assert.assertEquals(Proxy.REVISION, reader.getRevision());
+		Assert.assertEquals(1000L, reader.getStartTime());
+		Assert.assertEquals(PACKETS, reader.size());
+
+		CapturedPacket packet = reader.read(reader.start());
+		Assert.assertEquals(99, packet.getOpcode());
+		Assert.assertEquals(1024, packet.getLength());
+
+		for (int i = 1; i < PACKETS; ++i)
+		{
+			packet = reader.read(packet.getNext());
+
+			ByteBuf expected = payload(i).skipBytes(1);
+			Assert.assertEquals(OPCODES[i % OPCODES.length], packet.getOpcode());
+			Assert.assertEquals(i * 10L, packet.getTime());
+			Assert.assertEquals(expected.nioBuffer(), packet.getPayload());
+		}
+
+		Assert.assertEquals(reader.end(), packet.getNext());
+		Assert.assertNull(reader.read(packet.getNext()));
+		Assert.assertEquals(reader.end(), Files.size(path));
+	}
+
+	@Test
+	public void testIndex() throws IOException
+	{
+		CaptureReader reader = new CaptureReader(path);
+
+		int[] offsets = reader.find(21);
+		Assert.assertEquals(PACKETS / OPCODES.length, offsets.length);
+		for (int offset : offsets)
+		{
+			Assert.assertEquals(21, reader.read(offset).getOpcode());
+		}
+		Assert.assertEquals(0, reader.find(42).length);
+
+		CapturedPacket packet = reader.read(reader.seek(5005L));
+		Assert.assertEquals(5010L, packet.getTime());
+
+		packet = reader.read(reader.seek(5000L));
+		Assert.assertEquals(5000L, packet.getTime());
+
+		Assert.assertEquals(reader.start(), reader.seek(0L));
+		Assert.assertEquals(reader.end(), reader.seek(PACKETS * 10L));
+	}
+
+	@Test
+	public void testUnfinished() throws IOException
+	{
+		Path unfinished = folder.newFile().toPath();
+
+		try (CaptureWriter writer = new CaptureWriter(unfinished, Proxy.REVISION, 1000L))
+		{
+			write(writer);
+
+			// the file is still the size of the mapped region
+			Assert.assertTrue(Files.size(unfinished) > writer.size());
+
+			CaptureReader reader = new CaptureReader(unfinished);
+			Assert.assertEquals(PACKETS, reader.size());
+			Assert.assertEquals(writer.size(), reader.end());
+		}
+	}
+
+	@Test
+	public void testReplay() throws Exception
+	{
+		int[] keys =
+		{
+			1, 2, 3, 4
+		};
+
+		CaptureReader reader = new CaptureReader(path);
+		CaptureReplayer replayer = new CaptureReplayer(reader, Proxy.PACKET_LENGHTS);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		int count = replayer.replay(new RLISAACCipher(keys), Channels.newChannel(out), false);
+		Assert.assertEquals(PACKETS, count);
+
+		RLISAACCipher cipher = new RLISAACCipher(keys);
+		ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+
+		for (CapturedPacket packet = reader.read(reader.start()); packet != null; packet = reader.read(packet.getNext()))
+		{
+			int opcode = (buffer.get() - cipher.nextInt()) & 0xff;
+			Assert.assertEquals(packet.getOpcode(), opcode);
+
+			int length = packet.getOffset() == reader.start() ? -2 : Proxy.PACKET_LENGHTS[opcode];
+			if (length == -1)
+			{
+				length = buffer.get() & 0xff;
+			}
+			else if (length == -2)
+			{
+				length = buffer.getShort() & 0xffff;
+			}
+
+			ByteBuffer payload = buffer.slice();
+			payload.limit(length);
+			Assert.assertEquals(packet.getPayload(), payload);
+			buffer.position(buffer.position() + length);
+		}
+
+		Assert.assertFalse(buffer.hasRemaining());
+	}
+
+	@Test
+	public void testReplayPaced() throws Exception
+	{
+		Path paced = folder.newFile().toPath();
+
+		try (CaptureWriter writer = new CaptureWriter(paced, Proxy.REVISION, 0L))
+		{
+			ByteBuf buf = Unpooled.buffer(4).writeInt(0);
+			writer.write(0L, 99, buf, 0, 0);
+			writer.write(50L, 0, buf, 0, 4);
+			writer.write(100L, 0, buf, 0, 4);
+		}
+
+		CaptureReplayer replayer = new CaptureReplayer(new CaptureReader(paced), Proxy.PACKET_LENGHTS);
+
+		long start = System.nanoTime();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Assert.assertEquals(3, replayer.replay(new RLISAACCipher(new int[4]), Channels.newChannel(out), true));
+
+		Assert.assertTrue(System.nanoTime() - start >= 100_000_000L);
+		Assert.assertEquals(3 + 5 + 5, out.size());
+	}
+
+	@Test(expected = IOException.class)
+	public void testReplayLengthMismatch() throws Exception
+	{
+		Path invalid = folder.newFile().toPath();
+
+		try (CaptureWriter writer = new CaptureWriter(invalid, Proxy.REVISION, 0L))
+		{
+			ByteBuf buf = Unpooled.buffer(8).writeLong(0L);
+			writer.write(0L, 99, buf, 0, 0);
+			writer.write(0L, 0, buf, 0, 8); // opcode 0 has length 4
+		}
+
+		CaptureReplayer replayer = new CaptureReplayer(new CaptureReader(invalid), Proxy.PACKET_LENGHTS);
+		replayer.replay(new RLISAACCipher(new int[4]), Channels.newChannel(new ByteArrayOutputStream()), false);
+	}
+}
@@ -55,11 +55,14 @@ public interface RSTile extends Tile
 	WallObject getWallObject();
 
 	@Import("x")
+	@Override
 	int getX();
 
 	@Import("y")
+	@Override
 	int getY();
 
 	@Import("plane")
+	@Override
 	int getPlane();
 }
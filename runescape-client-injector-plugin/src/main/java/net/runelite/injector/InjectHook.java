@@ -29,6 +29,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import javax.lang.model.SourceVersion;
 import net.runelite.asm.ClassFile;
 import net.runelite.asm.Field;
 import net.runelite.asm.Method;
@@ -56,8 +57,7 @@ public class InjectHook
 
 	public static final String HOOKS = "net/runelite/client/callback/Hooks";
 
-	private static final String HOOK_METHOD = "callHook";
-	private static final String HOOK_METHOD_SIGNATURE = "(Ljava/lang/String;ILjava/lang/Object;)V";
+	private static final String HOOK_METHOD_SIGNATURE = "(ILjava/lang/Object;)V";
 
 	private static final String CLINIT = "<clinit>";
 
@@ -71,14 +71,23 @@ public class InjectHook
 		this.inject = inject;
 	}
 
-	private void index()
+	private void index() throws InjectionException
 	{
 		for (ClassFile cf : inject.getDeobfuscated().getClasses())
 		{
 			for (Field f : cf.getFields())
 			{
-				if (DeobAnnotations.getHookName(f.getAnnotations()) != null)
+				String hookName = DeobAnnotations.getHookName(f.getAnnotations());
+				if (hookName != null)
 				{
+					// The hook is bound to the Hooks method of the same name. Hooks
+					// is built after the injected client so it can't be checked here,
+					// HooksTest in runelite-client checks that each hook has a method.
+					if (!SourceVersion.isIdentifier(hookName) || SourceVersion.isKeyword(hookName))
+					{
+						throw new InjectionException("Hook " + hookName + " on " + f + " is not a valid method name");
+					}
+
 					Field ob = inject.toObField(f);
 					hooked.put(ob, f);
 				}
@@ -86,7 +95,7 @@ public class InjectHook
 		}
 	}
 
-	public void run()
+	public void run() throws InjectionException
 	{
 		index();
 
@@ -240,23 +249,21 @@ public class InjectHook
 	private void injectCallback(Method method, Instructions ins, int idx, String hookName, InstructionContext indexPusher, Instruction objectPusher)
 	{
 		// Insert:
-		// ldc hookName
 		// <indexPusher>
 		// aload 0 (or aconst_null)
-		// invokestatic net/runelite/inject/callbacks/Hooks/callHook(Ljava/lang/String;ILjava/lang/Object;)V
-
-		// hook name
-		LDC ldc = new LDC(ins, hookName);
+		// invokestatic net/runelite/client/callback/Hooks/<hookName>(ILjava/lang/Object;)V
+		//
+		// Each hook gets its own method on Hooks, so the call is bound directly
+		// instead of being dispatched on the hook name at runtime
 
 		InvokeStatic invoke = new InvokeStatic(ins,
 			new net.runelite.asm.pool.Method(
 				new net.runelite.asm.pool.Class(HOOKS),
-				HOOK_METHOD,
+				hookName,
 				new Signature(HOOK_METHOD_SIGNATURE)
 			)
 		);
 
-		ins.getInstructions().add(idx++, ldc);
 		if (indexPusher != null)
 		{
 			idx = recursivelyPush(ins, idx, indexPusher);
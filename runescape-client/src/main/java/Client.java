@@ -660,6 +660,7 @@ public final class Client extends GameEngine {
       intValue = -1725609085
    )
    @Export("npcIndexesCount")
+   @Hook("npcIndexesChanged")
    static int npcIndexesCount;
    @ObfuscatedName("dz")
    @Export("npcIndices")
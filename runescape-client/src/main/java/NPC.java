@@ -1,4 +1,5 @@
 import net.runelite.mapping.Export;
+import net.runelite.mapping.Hook;
 import net.runelite.mapping.Implements;
 import net.runelite.mapping.ObfuscatedName;
 import net.runelite.mapping.ObfuscatedSignature;
@@ -11,6 +12,7 @@ public final class NPC extends Actor {
       signature = "Ljc;"
    )
    @Export("composition")
+   @Hook("npcCompositionChanged")
    NPCComposition composition;
 
    @ObfuscatedName("m")
@@ -1,4 +1,5 @@
 import net.runelite.mapping.Export;
+import net.runelite.mapping.Hook;
 import net.runelite.mapping.Implements;
 import net.runelite.mapping.ObfuscatedGetter;
 import net.runelite.mapping.ObfuscatedName;
@@ -35,6 +36,7 @@ public final class Tile extends Node {
       intValue = -1764460159
    )
    @Export("y")
+   @Hook("tileCreated")
    int y;
    @ObfuscatedName("j")
    @ObfuscatedGetter(
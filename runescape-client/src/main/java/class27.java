@@ -1,4 +1,5 @@
 import net.runelite.mapping.Export;
+import net.runelite.mapping.Hook;
 import net.runelite.mapping.ObfuscatedGetter;
 import net.runelite.mapping.ObfuscatedName;
 import net.runelite.mapping.ObfuscatedSignature;
@@ -183,6 +184,7 @@ public enum class27 implements RSEnum {
       garbageValue = "679012037"
    )
    @Export("groundItemSpawned")
+   @Hook("groundItemSpawned")
    static final void groundItemSpawned(int var0, int var1) {
       Deque var2 = Client.groundItemDeque[Ignore.plane][var0][var1];
       if(var2 == null) {
@@ -1,4 +1,5 @@
 import net.runelite.mapping.Export;
+import net.runelite.mapping.Hook;
 import net.runelite.mapping.ObfuscatedGetter;
 import net.runelite.mapping.ObfuscatedName;
 import net.runelite.mapping.ObfuscatedSignature;
@@ -19,6 +20,7 @@ public class class94 {
       intValue = -1607619437
    )
    @Export("playerIndexesCount")
+   @Hook("playerIndexesChanged")
    static int playerIndexesCount;
    @ObfuscatedName("e")
    @Export("playerIndices")